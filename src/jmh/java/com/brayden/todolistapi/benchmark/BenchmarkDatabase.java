@@ -0,0 +1,107 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.ToDoListApiApplication;
+import com.brayden.todolistapi.model.TaskIds;
+import org.flywaydb.core.api.callback.BaseCallback;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// boots the application against an in-memory H2 in MySQL mode, migrated by the real Flyway scripts;
+// pass -Dbenchmark.datasource.url (plus .username/.password) to the fork to run against a real MySQL instead
+public final class BenchmarkDatabase {
+    private static final int INSERT_BATCH_SIZE = 1_000;
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    private BenchmarkDatabase() {
+    }
+
+    public static ConfigurableApplicationContext start(String name, String... extraArgs) {
+        return new SpringApplicationBuilder(ToDoListApiApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .run(args(name, List.of(extraArgs)));
+    }
+
+    // the whole application on a random port, see local.server.port; the rows are inserted by a Flyway callback
+    // right after the migrations, so the cache and the stats counters start out on the seeded table
+    public static ConfigurableApplicationContext startServer(String name, int rows, String... extraArgs) {
+        List<String> args = new ArrayList<>(List.of("--server.port=0"));
+        args.addAll(List.of(extraArgs));
+        return new SpringApplicationBuilder(ToDoListApiApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .logStartupInfo(false)
+                .initializers(context -> context.getBeanFactory().registerSingleton("seedTasks", seedAfterMigrate(rows)))
+                .run(args(name, args));
+    }
+
+    public static void seed(JdbcTemplate jdbcTemplate, int rows) {
+        jdbcTemplate.update("DELETE FROM tasks");
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(i));
+            // every seventh task has no due date so null handling is exercised
+            Date dueDate = i % 7 == 0 ? null : Date.valueOf(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+            String status = STATUSES[i % STATUSES.length];
+            batch.add(new Object[]{TaskIds.toBytes(TaskIds.next()), "Task " + i, status, "Description for task " + i,
+                    i % 5 + 1, dueDate, "COMPLETED".equals(status), createdAt, createdAt});
+            if (batch.size() == INSERT_BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, status, description, priority_level, due_date, "
+                        + "is_completed, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // ids in the form the API uses, the column holds their 16 bytes
+    public static List<String> ids(JdbcTemplate jdbcTemplate) {
+        return jdbcTemplate.query("SELECT id FROM tasks ORDER BY id", (row, i) -> TaskIds.fromBytes(row.getBytes(1)));
+    }
+
+    private static String[] args(String name, List<String> extraArgs) {
+        String url = System.getProperty("benchmark.datasource.url");
+        List<String> args = new ArrayList<>(url == null
+                ? List.of(
+                        "--spring.datasource.url=jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        // Flyway connects on its own URL, so Boot can't tell it owns the schema and would let
+                        // Hibernate recreate the tables from the entities, without the migrations' defaults and indexes
+                        "--spring.jpa.hibernate.ddl-auto=none")
+                : List.of(
+                        "--spring.datasource.url=" + url,
+                        "--spring.datasource.username=" + System.getProperty("benchmark.datasource.username", "root"),
+                        "--spring.datasource.password=" + System.getProperty("benchmark.datasource.password", "")));
+        args.add("--logging.level.root=WARN");
+        args.addAll(extraArgs);
+        return args.toArray(String[]::new);
+    }
+
+    private static Callback seedAfterMigrate(int rows) {
+        return new BaseCallback() {
+            @Override
+            public boolean supports(Event event, Context context) {
+                return event == Event.AFTER_MIGRATE;
+            }
+
+            @Override
+            public void handle(Event event, Context context) {
+                seed(new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true)), rows);
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.exception.GlobalExceptionHandler;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+
+import java.util.concurrent.TimeUnit;
+
+// error responses including building the exception, since that is what a rejected request pays for
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GlobalExceptionHandlerBenchmark {
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+    private MethodParameter parameter;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        parameter = new MethodParameter(GlobalExceptionHandlerBenchmark.class.getDeclaredMethod("target", String.class), 0);
+    }
+
+    @Benchmark
+    public ResponseEntity<?> apiException() {
+        return handler.handleException(new ApiException("Invalid sort field: unknown", HttpStatus.BAD_REQUEST));
+    }
+
+    @Benchmark
+    public ResponseEntity<?> validationException() {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new Object(), "request");
+        bindingResult.addError(new FieldError("request", "title", "must not be blank"));
+        return handler.handleValidationException(new MethodArgumentNotValidException(parameter, bindingResult));
+    }
+
+    @SuppressWarnings("unused")
+    void target(String value) {
+    }
+}
@@ -0,0 +1,117 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.model.TaskIds;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.service.TaskService;
+import com.brayden.todolistapi.service.impl.TaskArchiver;
+import com.brayden.todolistapi.stats.TaskStats;
+import com.brayden.todolistapi.stats.TaskStatsGroup;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same seeded table before and after TaskArchiver moved its completed tasks, a third of them, to tasks_archive:
+ * lookups by id of open tasks and of completed ones, which after the move go through the archive fallback, the
+ * priority list, and the GROUP BY the stats reconcile runs. The row counts and sizes of both tables are printed at the
+ * end of each trial. The task cache is off so every lookup reaches the database; as in TaskIdLayoutBenchmark, sizes
+ * and plans are InnoDB's only against a real MySQL, see BenchmarkDatabase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskArchiveBenchmark {
+    private static final int ROWS = 100_000;
+
+    @Param({"false", "true"})
+    private boolean archived;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private List<String> openIds;
+    private List<String> completedIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("archive-" + archived, "--tasks.cache.maximum-size=0");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("DELETE FROM tasks_archive");
+        BenchmarkDatabase.seed(jdbcTemplate, ROWS);
+        openIds = ids("SELECT id FROM tasks WHERE is_completed = FALSE");
+        completedIds = ids("SELECT id FROM tasks WHERE is_completed = TRUE");
+        if (archived) {
+            // built here rather than enabled, the scheduled run would race the seeding; every seeded task was last
+            // updated in 2024, so an age of a year takes all the completed ones
+            new TaskArchiver(context.getBean(EntityManager.class), context.getBean(PlatformTransactionManager.class),
+                    context.getBean(TaskStats.class), context.getBean(TaskChangeStream.class), new SimpleMeterRegistry(),
+                    Duration.ofDays(365), 500).archive();
+            if (System.getProperty("benchmark.datasource.url") != null) {
+                // InnoDB keeps the freed pages for new rows, the file only shrinks once the table is rebuilt
+                jdbcTemplate.execute("OPTIMIZE TABLE tasks");
+            }
+        }
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println("\narchived=" + archived + ": tasks " + size("tasks") + "; tasks_archive "
+                + size("tasks_archive"));
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<TaskResponseDTO> findOpenById() {
+        return taskService.findTaskById(openIds.get(ThreadLocalRandom.current().nextInt(openIds.size())));
+    }
+
+    @Benchmark
+    public Optional<TaskResponseDTO> findCompletedById() {
+        return taskService.findTaskById(completedIds.get(ThreadLocalRandom.current().nextInt(completedIds.size())));
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> byPriorityLevel() {
+        return taskService.findTasksByPriorityLevel(ThreadLocalRandom.current().nextInt(5) + 1, true);
+    }
+
+    @Benchmark
+    public List<TaskStatsGroup> countStatsGroups() {
+        return taskRepository.countStatsGroups();
+    }
+
+    private List<String> ids(String sql) {
+        return jdbcTemplate.query(sql, (row, i) -> TaskIds.fromBytes(row.getBytes(1)));
+    }
+
+    private String size(String table) {
+        long rows = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+        if (System.getProperty("benchmark.datasource.url") == null) {
+            Long bytes = jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED(?)", Long.class, table);
+            return rows + " rows, table and indexes " + bytes / 1024 + " KiB (H2 DISK_SPACE_USED)";
+        }
+        jdbcTemplate.execute("ANALYZE TABLE " + table);
+        Map<String, Object> size = jdbcTemplate.queryForMap("SELECT data_length, index_length FROM "
+                + "information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?", table);
+        return rows + " rows, primary key and rows " + ((Number) size.get("data_length")).longValue() / 1024
+                + " KiB, secondary indexes " + ((Number) size.get("index_length")).longValue() / 1024 + " KiB";
+    }
+}
@@ -0,0 +1,72 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskBatchResultDTO;
+import com.brayden.todolistapi.dto.TaskRequestDTO;
+import com.brayden.todolistapi.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * N calls of createTask (what POST /tasks costs per item, minus HTTP) against one createTasks call (POST /tasks/batch).
+ * On H2 there is no network round trip per statement, so the gap on MySQL is larger; see BenchmarkDatabase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskBatchCreateBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private JdbcTemplate jdbcTemplate;
+    private List<TaskRequestDTO> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("batch-create");
+        taskService = context.getBean(TaskService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        requests = IntStream.range(0, rows).mapToObj(TaskBatchCreateBenchmark::request).toList();
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyTable() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleInserts() {
+        requests.forEach(taskService::createTask);
+        return requests.size();
+    }
+
+    @Benchmark
+    public TaskBatchResultDTO batchInsert() {
+        return taskService.createTasks(requests);
+    }
+
+    private static TaskRequestDTO request(int i) {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle("Task " + i);
+        request.setDescription("Description for task " + i);
+        request.setPriorityLevel(i % 5 + 1);
+        request.setStatus("PENDING");
+        request.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+        return request;
+    }
+}
@@ -0,0 +1,79 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes every seeded task one id at a time: the old existsById + deleteById path (three statements and an entity load)
+ * against deleteTask's single DELETE. Divide rows by the time per op for deletes per second.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskDeleteBenchmark {
+    @Param({"1000", "10000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private List<String> ids;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("delete");
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    @Setup(Level.Iteration)
+    public void seed() {
+        BenchmarkDatabase.seed(jdbcTemplate, rows);
+        ids = BenchmarkDatabase.ids(jdbcTemplate);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int existsThenDeleteById() {
+        int deleted = 0;
+        for (String id : ids) {
+            Boolean found = transactionTemplate.execute(status -> {
+                if (!taskRepository.existsById(id)) {
+                    return false;
+                }
+                taskRepository.deleteById(id);
+                return true;
+            });
+            deleted += Boolean.TRUE.equals(found) ? 1 : 0;
+        }
+        return deleted;
+    }
+
+    @Benchmark
+    public int singleDelete() {
+        int deleted = 0;
+        for (String id : ids) {
+            deleted += taskService.deleteTask(id, null) ? 1 : 0;
+        }
+        return deleted;
+    }
+}
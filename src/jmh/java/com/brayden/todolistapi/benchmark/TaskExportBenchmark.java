@@ -0,0 +1,128 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.mapper.MapperTask;
+import com.brayden.todolistapi.model.Task;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * GET /tasks (findAll into a list, then serialize) against the NDJSON export (map and write row by row).
+ * The rows come from a lazy stream standing in for the repository cursor, so only the app side is measured.
+ * Run with {@code -prof gc} to compare allocation; the small fork heap makes the list path's retention show up as GC time.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx256m")
+public class TaskExportBenchmark {
+    private static final FirstByteReached FIRST_BYTE_REACHED = new FirstByteReached();
+
+    @Param({"1000", "10000", "100000"})
+    private int rows;
+
+    private ObjectWriter listWriter;
+    private ObjectWriter rowWriter;
+
+    @Setup
+    public void setUp() {
+        JsonMapper jsonMapper = JsonMapper.builder().build();
+        listWriter = jsonMapper.writerFor(new TypeReference<List<TaskResponseDTO>>() {
+        });
+        rowWriter = jsonMapper.writerFor(TaskResponseDTO.class);
+    }
+
+    @Benchmark
+    public void listPathTotal() {
+        writeList(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void streamPathTotal() throws IOException {
+        writeStream(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    public void listPathTimeToFirstByte() {
+        try {
+            writeList(new FirstByteOutputStream());
+        } catch (RuntimeException ex) {
+            // Jackson may wrap the marker, either way the first byte has been produced
+        }
+    }
+
+    @Benchmark
+    public void streamPathTimeToFirstByte() throws IOException {
+        try {
+            writeStream(new FirstByteOutputStream());
+        } catch (FirstByteReached ex) {
+            // first row is out
+        }
+    }
+
+    private void writeList(OutputStream out) {
+        List<TaskResponseDTO> tasks = rows().toList()
+                .stream()
+                .map(MapperTask::modelToResponseDto)
+                .toList();
+        listWriter.writeValue(out, tasks);
+    }
+
+    private void writeStream(OutputStream out) throws IOException {
+        try (Stream<Task> tasks = rows()) {
+            for (Task task : (Iterable<Task>) tasks::iterator) {
+                out.write(rowWriter.writeValueAsBytes(MapperTask.modelToResponseDto(task)));
+                out.write('\n');
+            }
+        }
+    }
+
+    private Stream<Task> rows() {
+        return IntStream.range(0, rows).mapToObj(TaskExportBenchmark::task);
+    }
+
+    static Task task(int i) {
+        Task task = new Task();
+        task.setId("00000000-0000-0000-0000-" + String.format("%012d", i));
+        task.setTitle("Task " + i);
+        task.setDescription("Description for task " + i);
+        task.setPriorityLevel(i % 5 + 1);
+        task.setStatus("PENDING");
+        task.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+        task.setIsCompleted(false);
+        task.setCreatedAt(LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(i));
+        task.setUpdatedAt(task.getCreatedAt());
+        return task;
+    }
+
+    private static final class FirstByteOutputStream extends OutputStream {
+        @Override
+        public void write(int b) {
+            throw FIRST_BYTE_REACHED;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            throw FIRST_BYTE_REACHED;
+        }
+    }
+
+    private static final class FirstByteReached extends RuntimeException {
+        FirstByteReached() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.model.TaskIds;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The tasks table keyed by a random UUIDv4 in CHAR(36), as before V7, against a UUIDv7 in BINARY(16), as after it:
+ * batched inserts into an empty table, primary key lookups in a full one, and the table's size, printed at the end
+ * of each trial. Both layouts are created here with the real table's columns and secondary indexes, so they are
+ * compared in the same database. H2 keeps its B-trees in memory, InnoDB's page splits on random keys only show on
+ * MySQL, see BenchmarkDatabase.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TaskIdLayoutBenchmark {
+    private static final int ROWS = 100_000;
+    private static final int INSERT_BATCH_SIZE = 1_000;
+    private static final String INSERT_TABLE = "tasks_layout_insert";
+    private static final String LOOKUP_TABLE = "tasks_layout_lookup";
+
+    @Param({"char36-v4", "binary16-v7"})
+    private String layout;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private List<Object> lookupIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("id-layout");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        createTable(INSERT_TABLE);
+        createTable(LOOKUP_TABLE);
+        lookupIds = insert(LOOKUP_TABLE, ROWS);
+    }
+
+    @Setup(Level.Iteration)
+    public void emptyInsertTable() {
+        jdbcTemplate.update("DELETE FROM " + INSERT_TABLE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.println("\n" + layout + ", " + ROWS + " rows: " + size(LOOKUP_TABLE));
+        jdbcTemplate.execute("DROP TABLE " + INSERT_TABLE);
+        jdbcTemplate.execute("DROP TABLE " + LOOKUP_TABLE);
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int insertRows() {
+        return insert(INSERT_TABLE, ROWS).size();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    public Map<String, Object> findById() {
+        Object id = lookupIds.get(ThreadLocalRandom.current().nextInt(lookupIds.size()));
+        return jdbcTemplate.queryForMap("SELECT id, title, status, description, priority_level, due_date, is_completed, "
+                + "created_at, updated_at, version FROM " + LOOKUP_TABLE + " WHERE id = ?", id);
+    }
+
+    private boolean binary() {
+        return layout.startsWith("binary16");
+    }
+
+    private void createTable(String table) {
+        jdbcTemplate.execute("CREATE TABLE " + table + " (id " + (binary() ? "BINARY(16)" : "CHAR(36)")
+                + " NOT NULL PRIMARY KEY, title VARCHAR(255) NOT NULL, status VARCHAR(20) NOT NULL DEFAULT 'PENDING', "
+                + "description TEXT NULL, priority_level TINYINT UNSIGNED NOT NULL, due_date DATE NULL, "
+                + "is_completed BOOLEAN NOT NULL DEFAULT FALSE, created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, "
+                + "updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP, version BIGINT NOT NULL DEFAULT 0)");
+        for (String columns : List.of("created_at", "status, created_at", "priority_level, created_at",
+                "due_date, created_at", "is_completed, created_at")) {
+            jdbcTemplate.execute("CREATE INDEX idx_" + table + "_" + columns.replace(", ", "_") + " ON " + table
+                    + " (" + columns + ")");
+        }
+    }
+
+    // the ids as they are bound, so a lookup pays for the comparison but not for converting the id
+    private List<Object> insert(String table, int rows) {
+        List<Object> ids = new ArrayList<>(rows);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 0, 0);
+        for (int i = 0; i < rows; i++) {
+            Object id = binary() ? TaskIds.toBytes(TaskIds.next()) : UUID.randomUUID().toString();
+            ids.add(id);
+            Timestamp createdAt = Timestamp.valueOf(start.plusSeconds(i));
+            batch.add(new Object[]{id, "Task " + i, "PENDING", "Description for task " + i, i % 5 + 1,
+                    Date.valueOf(LocalDate.of(2026, 1, 1).plusDays(i % 365)), createdAt, createdAt});
+            if (batch.size() == INSERT_BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO " + table + " (id, title, status, description, priority_level, "
+                        + "due_date, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        return ids;
+    }
+
+    private String size(String table) {
+        if (System.getProperty("benchmark.datasource.url") == null) {
+            Long bytes = jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED(?)", Long.class, table);
+            return "table and indexes " + bytes / 1024 + " KiB (H2 DISK_SPACE_USED)";
+        }
+        jdbcTemplate.execute("ANALYZE TABLE " + table);
+        Map<String, Object> size = jdbcTemplate.queryForMap("SELECT data_length, index_length FROM "
+                + "information_schema.tables WHERE table_schema = DATABASE() AND table_name = ?", table);
+        return "primary key and rows " + ((Number) size.get("data_length")).longValue() / 1024 + " KiB, secondary indexes "
+                + ((Number) size.get("index_length")).longValue() / 1024 + " KiB";
+    }
+}
@@ -0,0 +1,249 @@
+package com.brayden.todolistapi.benchmark;
+
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+// one kind of request against /tasks, with its weight among the reads or among the writes of a workload;
+// tasks the callers create are due in 2025, before any seeded task, so BULK_DELETE sweeps only those up again
+enum TaskLoadOperation {
+    FIND_BY_ID(false, 30) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/" + target.seededId(random)).build();
+        }
+    },
+    REVALIDATE(false, 10) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            // seeded rows start at version 0, so this is a 304 until the row is updated
+            return target.request("/tasks/" + target.seededId(random)).header("If-None-Match", "\"0\"").build();
+        }
+
+        @Override
+        boolean succeeded(int status) {
+            return status == 304 || super.succeeded(status);
+        }
+    },
+    PAGE(false, 10) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/paged?page=" + random.nextInt(50) + "&size=20&sortBy=createdAt&direction=desc")
+                    .build();
+        }
+    },
+    CURSOR_PAGE(false, 10) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/paged/cursor?size=20&sortBy=" + (random.nextBoolean() ? "createdAt" : "dueDate"))
+                    .build();
+        }
+    },
+    SEARCH(false, 10) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            LocalDate dueFrom = dueDate(random);
+            return target.request("/tasks/search?status=PENDING&status=IN_PROGRESS&minPriority=" + (random.nextInt(5) + 1)
+                    + "&dueFrom=" + dueFrom + "&dueTo=" + dueFrom.plusDays(30) + "&summary=true").build();
+        }
+    },
+    SEARCH_TITLE(false, 5) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/search/title?title=Task%20" + random.nextInt(1_000) + "&size=20").build();
+        }
+
+        // MATCH ... AGAINST, which H2 doesn't have
+        @Override
+        boolean needsMySql() {
+            return true;
+        }
+    },
+    SEARCH_STATUS(false, 1) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/search/status?status=" + STATUSES[random.nextInt(STATUSES.length)]
+                    + "&summary=true").build();
+        }
+    },
+    SEARCH_PRIORITY(false, 1) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/search/priority?level=" + (random.nextInt(5) + 1) + "&summary=true").build();
+        }
+    },
+    SEARCH_DUE_DATE(false, 5) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/search/due-date?date=" + dueDate(random)).build();
+        }
+    },
+    STATS(false, 5) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/stats").build();
+        }
+    },
+    FIND_ALL(false, 1) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks?summary=true").build();
+        }
+    },
+    EXPORT(false, 1) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/export").build();
+        }
+    },
+    CACHE_STATS(false, 1) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/cache/stats").build();
+        }
+    },
+    WRITE_BEHIND_STATS(false, 1) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/async").build();
+        }
+    },
+    WRITE_STATUS(false, 2) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            String id = target.queuedIds().poll();
+            return target.request("/tasks/async/" + (id == null ? UUID.randomUUID().toString() : id)).build();
+        }
+
+        // a task that was never queued, or was swept up by BULK_DELETE, is a 404
+        @Override
+        boolean succeeded(int status) {
+            return status == 404 || super.succeeded(status);
+        }
+    },
+    CREATE(true, 25) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.json("POST", "/tasks", newTask(random));
+        }
+
+        @Override
+        void completed(TaskLoadTarget target, HttpResponse<byte[]> response) {
+            if (response.statusCode() == 201) {
+                target.createdIds().add(id(target, response));
+            }
+        }
+    },
+    CREATE_ASYNC(true, 10) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.json("POST", "/tasks/async", newTask(random));
+        }
+
+        @Override
+        void completed(TaskLoadTarget target, HttpResponse<byte[]> response) {
+            if (response.statusCode() == 202) {
+                target.queuedIds().add(id(target, response));
+            }
+        }
+    },
+    CREATE_BATCH(true, 5) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            StringBuilder body = new StringBuilder("[");
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                body.append(i == 0 ? "" : ",").append(newTask(random));
+            }
+            return target.json("POST", "/tasks/batch", body.append(']').toString());
+        }
+    },
+    UPDATE(true, 15) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            int n = random.nextInt(1_000_000);
+            return target.json("PUT", "/tasks/" + target.seededId(random), "{\"title\":\"Task " + n
+                    + "\",\"description\":\"Updated by the load test\",\"priorityLevel\":" + (n % 5 + 1)
+                    + ",\"status\":\"" + STATUSES[n % STATUSES.length] + "\",\"dueDate\":\"" + dueDate(random) + "\"}");
+        }
+    },
+    PATCH(true, 20) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.json("PATCH", "/tasks/" + target.seededId(random),
+                    "{\"priorityLevel\":" + (random.nextInt(5) + 1) + "}");
+        }
+    },
+    DELETE(true, 20) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            // nothing created yet, or all of it swept up: a delete that finds nothing, which still costs the lookup
+            String id = target.createdIds().poll();
+            return target.request("/tasks/" + (id == null ? UUID.randomUUID().toString() : id)).DELETE().build();
+        }
+    },
+    BULK_UPDATE(true, 2) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.json("PATCH", "/tasks/bulk", "{\"filter\":{\"status\":\"IN_PROGRESS\",\"dueBefore\":\""
+                    + LocalDate.of(2026, 1, 1).plusDays(random.nextInt(1, 15)) + "\"},\"priorityLevel\":"
+                    + (random.nextInt(5) + 1) + "}");
+        }
+    },
+    BULK_DELETE(true, 3) {
+        @Override
+        HttpRequest request(TaskLoadTarget target, SplittableRandom random) {
+            return target.request("/tasks/bulk?dueBefore=2026-01-01").DELETE().build();
+        }
+    };
+
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+    private static final int BATCH_SIZE = 20;
+
+    private final boolean write;
+    private final int weight;
+
+    TaskLoadOperation(boolean write, int weight) {
+        this.write = write;
+        this.weight = weight;
+    }
+
+    boolean isWrite() {
+        return write;
+    }
+
+    int weight() {
+        return weight;
+    }
+
+    boolean needsMySql() {
+        return false;
+    }
+
+    abstract HttpRequest request(TaskLoadTarget target, SplittableRandom random);
+
+    boolean succeeded(int status) {
+        return status >= 200 && status < 300;
+    }
+
+    void completed(TaskLoadTarget target, HttpResponse<byte[]> response) {
+    }
+
+    // seeded tasks are due over 2026, like BenchmarkDatabase.seed makes them
+    private static LocalDate dueDate(SplittableRandom random) {
+        return LocalDate.of(2026, 1, 1).plusDays(random.nextInt(365));
+    }
+
+    private static String newTask(SplittableRandom random) {
+        int n = random.nextInt(1_000_000);
+        return "{\"title\":\"Load task " + n + "\",\"description\":\"Created by the load test\",\"priorityLevel\":"
+                + (n % 5 + 1) + ",\"status\":\"PENDING\",\"dueDate\":\""
+                + LocalDate.of(2025, 1, 1).plusDays(n % 365) + "\"}";
+    }
+
+    private static String id(TaskLoadTarget target, HttpResponse<byte[]> response) {
+        return target.jsonMapper().readTree(new String(response.body(), StandardCharsets.UTF_8)).path("id").asString();
+    }
+}
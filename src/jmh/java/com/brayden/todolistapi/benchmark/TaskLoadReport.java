@@ -0,0 +1,100 @@
+package com.brayden.todolistapi.benchmark;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// one CSV line per workload, concurrency level and operation, plus an ALL line per run, after # lines with the
+// settings; the columns don't change, so reports from two builds can be diffed or compared with load.baseline
+final class TaskLoadReport {
+    static final String ALL = "ALL";
+    static final String HEADER = "workload,concurrency,operation,requests,errors,throughput_per_s,"
+            + "p50_ms,p90_ms,p99_ms,p999_ms,max_ms";
+
+    record Row(String workload, int concurrency, String operation, long requests, long errors, double throughput,
+               double p50, double p90, double p99, double p999, double max) {
+
+        String key() {
+            return workload + "," + concurrency + "," + operation;
+        }
+
+        String toCsv() {
+            return String.format(Locale.ROOT, "%s,%d,%s,%d,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%.3f", workload, concurrency,
+                    operation, requests, errors, throughput, p50, p90, p99, p999, max);
+        }
+
+        static Row parse(String line) {
+            String[] columns = line.split(",");
+            return new Row(columns[0], Integer.parseInt(columns[1]), columns[2], Long.parseLong(columns[3]),
+                    Long.parseLong(columns[4]), Double.parseDouble(columns[5]), Double.parseDouble(columns[6]),
+                    Double.parseDouble(columns[7]), Double.parseDouble(columns[8]), Double.parseDouble(columns[9]),
+                    Double.parseDouble(columns[10]));
+        }
+    }
+
+    private final List<String> settings;
+    private final List<Row> rows = new ArrayList<>();
+
+    TaskLoadReport(List<String> settings) {
+        this.settings = settings;
+    }
+
+    void add(List<Row> run) {
+        rows.addAll(run);
+    }
+
+    void write(Path file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        settings.forEach(setting -> lines.add("# " + setting));
+        lines.add(HEADER);
+        rows.forEach(row -> lines.add(row.toCsv()));
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, lines);
+    }
+
+    static Map<String, Row> read(Path file) throws IOException {
+        Map<String, Row> rows = new LinkedHashMap<>();
+        for (String line : Files.readAllLines(file)) {
+            if (!line.startsWith("#") && !line.equals(HEADER) && !line.isBlank()) {
+                Row row = Row.parse(line);
+                rows.put(row.key(), row);
+            }
+        }
+        return rows;
+    }
+
+    // the change against the baseline is in percent, positive is more throughput or a higher p99
+    void print(PrintStream out, Map<String, Row> baseline) {
+        settings.forEach(out::println);
+        String previousRun = null;
+        for (Row row : rows) {
+            String run = row.workload() + " x" + row.concurrency();
+            if (!run.equals(previousRun)) {
+                out.printf(Locale.ROOT, "%n%-20s %10s %7s %10s %9s %9s %9s %9s%s%n", run, "requests", "errors",
+                        "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms",
+                        baseline == null ? "" : String.format("%10s %9s", "req/s +-%", "p99 +-%"));
+                previousRun = run;
+            }
+            out.printf(Locale.ROOT, "%-20s %10d %7d %10.1f %9.3f %9.3f %9.3f %9.3f", row.operation(), row.requests(),
+                    row.errors(), row.throughput(), row.p50(), row.p90(), row.p99(), row.max());
+            Row before = baseline == null ? null : baseline.get(row.key());
+            if (before != null) {
+                out.printf(Locale.ROOT, "%10s %9s", change(before.throughput(), row.throughput()),
+                        change(before.p99(), row.p99()));
+            }
+            out.println();
+        }
+    }
+
+    private static String change(double before, double after) {
+        return before == 0 ? "-" : String.format(Locale.ROOT, "%+.1f", (after - before) * 100 / before);
+    }
+}
@@ -0,0 +1,56 @@
+package com.brayden.todolistapi.benchmark;
+
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// the running application as the load test's callers see it: where it listens, the seeded ids that reads and
+// updates pick from, and the ids of tasks the callers created, which deletes and status checks take
+final class TaskLoadTarget {
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final List<String> seededIds;
+    private final JsonMapper jsonMapper;
+    private final Queue<String> createdIds = new ConcurrentLinkedQueue<>();
+    private final Queue<String> queuedIds = new ConcurrentLinkedQueue<>();
+
+    TaskLoadTarget(URI baseUri, List<String> seededIds, JsonMapper jsonMapper) {
+        this.baseUri = baseUri;
+        this.seededIds = seededIds;
+        this.jsonMapper = jsonMapper;
+    }
+
+    String seededId(SplittableRandom random) {
+        return seededIds.get(random.nextInt(seededIds.size()));
+    }
+
+    JsonMapper jsonMapper() {
+        return jsonMapper;
+    }
+
+    Queue<String> createdIds() {
+        return createdIds;
+    }
+
+    Queue<String> queuedIds() {
+        return queuedIds;
+    }
+
+    HttpRequest.Builder request(String pathAndQuery) {
+        return HttpRequest.newBuilder(baseUri.resolve(pathAndQuery)).timeout(REQUEST_TIMEOUT);
+    }
+
+    HttpRequest json(String method, String pathAndQuery, String body) {
+        return request(pathAndQuery)
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+}
@@ -0,0 +1,184 @@
+package com.brayden.todolistapi.benchmark;
+
+import org.HdrHistogram.Histogram;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Load test of the whole application over HTTP. For every workload and concurrency level it boots the application
+ * on a random port against a fresh database seeded with load.rows tasks (see {@link BenchmarkDatabase#startServer}),
+ * lets load.concurrency callers send requests back to back for load.warmup seconds and then measures them for
+ * load.duration seconds. Each caller picks its operations from a random sequence seeded with load.seed, so two runs
+ * send the same mix. It is a closed loop: latencies are what a caller waits at that concurrency, not what an
+ * open arrival rate would see once the application falls behind.
+ * <p>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec@load-test}, settings go in
+ * {@code -Dload.args="-Dload.rows=20000 -Dload.concurrency=1,8,32 -Dload.baseline=src/jmh/load-test/baseline-h2.csv"}.
+ * The report is written to load.report in the {@link TaskLoadReport} format and printed, with the change in
+ * throughput and p99 against load.baseline when one is given.
+ */
+public final class TaskLoadTest {
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private TaskLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int rows = Integer.getInteger("load.rows", 10_000);
+        List<TaskLoadWorkload> workloads = Arrays.stream(System.getProperty("load.workloads", "READ_MOSTLY,MIXED,WRITE_HEAVY")
+                .split(",")).map(String::trim).map(TaskLoadWorkload::valueOf).toList();
+        List<Integer> levels = Arrays.stream(System.getProperty("load.concurrency", "1,8,32").split(","))
+                .map(String::trim).map(Integer::valueOf).toList();
+        long warmupSeconds = Long.getLong("load.warmup", 10);
+        long durationSeconds = Long.getLong("load.duration", 30);
+        long seed = Long.getLong("load.seed", 42);
+        Path reportFile = Path.of(System.getProperty("load.report", "target/load-test/report.csv"));
+        String baseline = System.getProperty("load.baseline");
+
+        TaskLoadReport report = new TaskLoadReport(List.of(
+                "rows=" + rows + " warmup=" + warmupSeconds + "s duration=" + durationSeconds + "s seed=" + seed,
+                "database=" + System.getProperty("benchmark.datasource.url", "h2 (MySQL mode)"),
+                "java=" + System.getProperty("java.version") + " cpus=" + Runtime.getRuntime().availableProcessors()));
+        for (TaskLoadWorkload workload : workloads) {
+            for (int concurrency : levels) {
+                report.add(run(workload, concurrency, rows, seed, TimeUnit.SECONDS.toNanos(warmupSeconds),
+                        TimeUnit.SECONDS.toNanos(durationSeconds)));
+            }
+        }
+        report.write(reportFile);
+        report.print(System.out, baseline == null ? null : TaskLoadReport.read(Path.of(baseline)));
+        System.out.println("\nReport written to " + reportFile.toAbsolutePath());
+    }
+
+    private static List<TaskLoadReport.Row> run(TaskLoadWorkload workload, int concurrency, int rows, long seed,
+                                                long warmupNanos, long durationNanos) throws InterruptedException {
+        try (ConfigurableApplicationContext context = BenchmarkDatabase.startServer(
+                "load-" + workload.name().toLowerCase() + "-" + concurrency, rows, "--tasks.write-behind.enabled=true")) {
+            TaskLoadTarget target = new TaskLoadTarget(
+                    URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")),
+                    BenchmarkDatabase.ids(context.getBean(JdbcTemplate.class)),
+                    context.getBean(JsonMapper.class));
+            TaskLoadWorkload.Mix mix = workload.mix(System.getProperty("benchmark.datasource.url") != null);
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            // every caller knows the window up front, so nothing has to tell them when measuring starts and stops
+            long measureFrom = System.nanoTime() + warmupNanos;
+            long measureUntil = measureFrom + durationNanos;
+            Caller[] callers = new Caller[concurrency];
+            Thread[] threads = new Thread[concurrency];
+            for (int i = 0; i < concurrency; i++) {
+                callers[i] = new Caller(client, target, mix, new SplittableRandom(seed * 1_000_003 + i),
+                        measureFrom, measureUntil);
+                threads[i] = new Thread(callers[i], "load-caller-" + i);
+                threads[i].start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            return rows(workload, concurrency, callers, durationNanos);
+        }
+    }
+
+    private static List<TaskLoadReport.Row> rows(TaskLoadWorkload workload, int concurrency, Caller[] callers,
+                                                 long durationNanos) {
+        Map<TaskLoadOperation, Histogram> latencies = new EnumMap<>(TaskLoadOperation.class);
+        Map<TaskLoadOperation, Long> errors = new EnumMap<>(TaskLoadOperation.class);
+        Histogram all = new Histogram(HIGHEST_MICROS, 3);
+        long allErrors = 0;
+        for (Caller caller : callers) {
+            caller.latencies.forEach((operation, histogram) -> {
+                latencies.computeIfAbsent(operation, o -> new Histogram(HIGHEST_MICROS, 3)).add(histogram);
+                all.add(histogram);
+            });
+            for (TaskLoadOperation operation : TaskLoadOperation.values()) {
+                errors.merge(operation, caller.errors[operation.ordinal()], Long::sum);
+                allErrors += caller.errors[operation.ordinal()];
+            }
+        }
+        double seconds = durationNanos / 1e9;
+        List<TaskLoadReport.Row> rows = new ArrayList<>();
+        rows.add(row(workload, concurrency, TaskLoadReport.ALL, all, allErrors, seconds));
+        latencies.forEach((operation, histogram) ->
+                rows.add(row(workload, concurrency, operation.name(), histogram, errors.get(operation), seconds)));
+        return rows;
+    }
+
+    private static TaskLoadReport.Row row(TaskLoadWorkload workload, int concurrency, String operation,
+                                          Histogram latencies, long errors, double seconds) {
+        return new TaskLoadReport.Row(workload.name(), concurrency, operation, latencies.getTotalCount(), errors,
+                latencies.getTotalCount() / seconds, millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(90)), millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue()));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    // one thread sending a request as soon as the last one is answered; only requests started inside the window count
+    private static final class Caller implements Runnable {
+        private final HttpClient client;
+        private final TaskLoadTarget target;
+        private final TaskLoadWorkload.Mix mix;
+        private final SplittableRandom random;
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<TaskLoadOperation, Histogram> latencies = new EnumMap<>(TaskLoadOperation.class);
+        private final long[] errors = new long[TaskLoadOperation.values().length];
+
+        Caller(HttpClient client, TaskLoadTarget target, TaskLoadWorkload.Mix mix, SplittableRandom random,
+               long measureFrom, long measureUntil) {
+            this.client = client;
+            this.target = target;
+            this.mix = mix;
+            this.random = random;
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+        }
+
+        @Override
+        public void run() {
+            long start;
+            while ((start = System.nanoTime()) < measureUntil) {
+                TaskLoadOperation operation = mix.next(random);
+                HttpRequest request = operation.request(target, random);
+                boolean succeeded;
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    succeeded = operation.succeeded(response.statusCode());
+                    operation.completed(target, response);
+                } catch (IOException ex) {
+                    succeeded = false;
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(10)); // don't spin on a refused connection
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (start >= measureFrom) {
+                    long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+                    latencies.computeIfAbsent(operation, o -> new Histogram(HIGHEST_MICROS, 3))
+                            .recordValue(Math.min(micros, HIGHEST_MICROS));
+                    if (!succeeded) {
+                        errors[operation.ordinal()]++;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.brayden.todolistapi.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// a share of writes, the rest reads; within each, operations are picked by their weight
+enum TaskLoadWorkload {
+    READ_MOSTLY(5),
+    MIXED(30),
+    WRITE_HEAVY(70);
+
+    private final int writePercent;
+
+    TaskLoadWorkload(int writePercent) {
+        this.writePercent = writePercent;
+    }
+
+    // without MySQL the operations that need it, the FULLTEXT title search, are left out
+    Mix mix(boolean mySql) {
+        return new Mix(writePercent, operations(false, mySql), operations(true, mySql));
+    }
+
+    // every operation appears weight times, so picking one is a single array index
+    private static TaskLoadOperation[] operations(boolean write, boolean mySql) {
+        List<TaskLoadOperation> operations = new ArrayList<>();
+        for (TaskLoadOperation operation : TaskLoadOperation.values()) {
+            if (operation.isWrite() == write && (mySql || !operation.needsMySql())) {
+                for (int i = 0; i < operation.weight(); i++) {
+                    operations.add(operation);
+                }
+            }
+        }
+        return operations.toArray(TaskLoadOperation[]::new);
+    }
+
+    static final class Mix {
+        private final int writePercent;
+        private final TaskLoadOperation[] reads;
+        private final TaskLoadOperation[] writes;
+
+        private Mix(int writePercent, TaskLoadOperation[] reads, TaskLoadOperation[] writes) {
+            this.writePercent = writePercent;
+            this.reads = reads;
+            this.writes = writes;
+        }
+
+        TaskLoadOperation next(SplittableRandom random) {
+            TaskLoadOperation[] operations = random.nextInt(100) < writePercent ? writes : reads;
+            return operations[random.nextInt(operations.length)];
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.mapper.MapperTask;
+import com.brayden.todolistapi.metrics.TimedJsonHttpMessageConverter;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.service.TaskService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same calls with the instrumentation on and off: @Timed on the service, the repository timers and the mapping
+ * timer for the service calls, the timed JSON converter for serialization; mapper() is the bare copy. A cached findTaskById is the cheapest
+ * call there is, so it shows the fixed cost per call at its largest relative to the work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskMetricsOverheadBenchmark {
+    private static final int ROWS = 5_000;
+
+    @Param({"true", "false"})
+    private boolean instrumented;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private String id;
+    private JacksonJsonHttpMessageConverter converter;
+    private List<TaskResponseDTO> page;
+    private Task task;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("metrics-" + instrumented,
+                "--management.metrics.enable.tasks=" + instrumented,
+                "--management.metrics.enable.spring.data=" + instrumented);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkDatabase.seed(jdbcTemplate, ROWS);
+        taskService = context.getBean(TaskService.class);
+        id = BenchmarkDatabase.ids(jdbcTemplate).get(0);
+
+        JsonMapper jsonMapper = context.getBean(JsonMapper.class);
+        converter = instrumented
+                ? new TimedJsonHttpMessageConverter(jsonMapper, context.getBean(MeterRegistry.class))
+                : new JacksonJsonHttpMessageConverter(jsonMapper);
+        page = taskService.findAllTasks(0, 20, "createdAt", "desc", false);
+        task = new Task();
+        task.setId(id);
+        task.setTitle("Task");
+        task.setCreatedAt(LocalDateTime.now());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponseDTO cachedFindById() {
+        return taskService.findTaskById(id).orElseThrow();
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> pageOfTwenty() {
+        return taskService.findAllTasks(0, 20, "createdAt", "desc", false);
+    }
+
+    @Benchmark
+    public TaskResponseDTO mapper() {
+        return MapperTask.modelToResponseDto(task);
+    }
+
+    @Benchmark
+    public MockHttpOutputMessage serializePageOfTwenty() throws IOException {
+        MockHttpOutputMessage output = new MockHttpOutputMessage();
+        converter.write(page, ResolvableType.forInstance(page), MediaType.APPLICATION_JSON, output, null);
+        return output;
+    }
+}
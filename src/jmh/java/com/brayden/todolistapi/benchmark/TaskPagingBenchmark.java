@@ -0,0 +1,62 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskCursorPageDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offset paging (/tasks/paged) against keyset paging (/tasks/paged/cursor) at increasing page depths.
+ * The cursor for a given depth is found once in setup by walking the pages, so each invocation reads one page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPagingBenchmark {
+    private static final int ROWS = 200_000;
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"0", "100", "1000", "9000"})
+    private int depth;
+
+    @Param({"createdAt", "dueDate"})
+    private String sortBy;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private String cursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("paging");
+        BenchmarkDatabase.seed(context.getBean(JdbcTemplate.class), ROWS);
+        taskService = context.getBean(TaskService.class);
+        cursor = null;
+        for (int page = 0; page < depth; page++) {
+            cursor = taskService.findAllTasksByCursor(cursor, PAGE_SIZE, sortBy, "desc", false).getNextCursor();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> offset() {
+        return taskService.findAllTasks(depth, PAGE_SIZE, sortBy, "desc", false);
+    }
+
+    @Benchmark
+    public TaskCursorPageDTO keyset() {
+        return taskService.findAllTasksByCursor(cursor, PAGE_SIZE, sortBy, "desc", false);
+    }
+}
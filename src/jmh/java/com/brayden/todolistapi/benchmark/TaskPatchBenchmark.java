@@ -0,0 +1,82 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskPatchDTO;
+import com.brayden.todolistapi.dto.TaskRequestDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.model.TaskIds;
+import com.brayden.todolistapi.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PUT /tasks/{id} (SELECT the row, copy every field, full-row UPDATE) against PATCH /tasks/{id}
+ * (one UPDATE of the changed columns, then a read of the new row) for the two common writes:
+ * a status change and a completion flip. The PUT side sends the whole representation, like a client would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskPatchBenchmark {
+    private static final int ROWS = 10_000;
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    @Param({"status", "completion"})
+    private String change;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private List<Map<String, Object>> rows;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("patch");
+        taskService = context.getBean(TaskService.class);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkDatabase.seed(jdbcTemplate, ROWS);
+        rows = jdbcTemplate.queryForList("SELECT id, title, description, priority_level, due_date FROM tasks");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Optional<TaskResponseDTO> put() {
+        Map<String, Object> row = rows.get(next++ % ROWS);
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle((String) row.get("title"));
+        request.setDescription((String) row.get("description"));
+        request.setPriorityLevel((Integer) row.get("priority_level"));
+        request.setDueDate(row.get("due_date") == null ? null : ((Date) row.get("due_date")).toLocalDate());
+        if ("status".equals(change)) {
+            request.setStatus(STATUSES[next % STATUSES.length]);
+        } else {
+            request.setIsCompleted(next % 2 == 0);
+        }
+        return taskService.updateTask(TaskIds.fromBytes((byte[]) row.get("id")), request, null);
+    }
+
+    @Benchmark
+    public Optional<TaskResponseDTO> patch() {
+        Map<String, Object> row = rows.get(next++ % ROWS);
+        TaskPatchDTO patch = new TaskPatchDTO();
+        if ("status".equals(change)) {
+            patch.setStatus(STATUSES[next % STATUSES.length]);
+        } else {
+            patch.setIsCompleted(next % 2 == 0);
+        }
+        return taskService.patchTask(TaskIds.fromBytes((byte[]) row.get("id")), patch);
+    }
+}
@@ -0,0 +1,74 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.mapper.MapperTask;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.repository.TaskSpecifications;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filtered read loading entities and mapping them (the old path) against the DTO projection, with and without description.
+ * The entity path runs in a read-only transaction like the service did, so it pays for hydration but not for a flush.
+ * Run with {@code -prof gc} to compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskReadBenchmark {
+    private static final int ROWS = 20_000;
+
+    @Param({"20", "500"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TaskRepository taskRepository;
+    private TransactionTemplate readOnly;
+    private Pageable page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("read");
+        BenchmarkDatabase.seed(context.getBean(JdbcTemplate.class), ROWS);
+        taskRepository = context.getBean(TaskRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        page = PageRequest.of(0, pageSize, Sort.by("createdAt").descending());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> entities() {
+        return readOnly.execute(status -> taskRepository.findBy(TaskSpecifications.hasStatus("PENDING"),
+                        query -> query.sortBy(page.getSort()).limit(pageSize).all())
+                .stream()
+                .map(MapperTask::modelToResponseDto)
+                .toList());
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> projection() {
+        return taskRepository.findResponses(TaskSpecifications.hasStatus("PENDING"), page, false);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> summary() {
+        return taskRepository.findResponses(TaskSpecifications.hasStatus("PENDING"), page, true);
+    }
+}
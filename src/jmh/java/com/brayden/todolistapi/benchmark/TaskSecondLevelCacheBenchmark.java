@@ -0,0 +1,100 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskPatchDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.metrics.SqlStatementCounter;
+import com.brayden.todolistapi.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * The dashboard reads, tasks by status and by priority level, with the second-level and query cache off and on, and
+ * with a write among every {@code readsPerWrite} reads that drops the cached results. The statements counter is the
+ * SQL sent per second next to the calls per second, so the load taken off the database shows directly.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class TaskSecondLevelCacheBenchmark {
+    private static final int ROWS = 3_000;
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    // 0 reads only
+    @Param({"0", "100"})
+    private int readsPerWrite;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private List<String> ids;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    public static class Statements {
+        public long statements;
+        private int calls;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            statements = 0;
+        }
+
+        <T> T count(Supplier<T> call) {
+            SqlStatementCounter.start();
+            try {
+                return call.get();
+            } finally {
+                statements += SqlStatementCounter.stop();
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("second-level-cache-" + cached + "-" + readsPerWrite,
+                "--tasks.second-level-cache.enabled=" + cached);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        BenchmarkDatabase.seed(jdbcTemplate, ROWS);
+        ids = BenchmarkDatabase.ids(jdbcTemplate);
+        taskService = context.getBean(TaskService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> byStatus(Statements statements) {
+        int call = next(statements);
+        return statements.count(() -> taskService.findTasksByStatus(STATUSES[call % STATUSES.length], true));
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> byPriorityLevel(Statements statements) {
+        int call = next(statements);
+        return statements.count(() -> taskService.findTasksByPriorityLevel(call % 5 + 1, true));
+    }
+
+    // writes a task's title, which no cached list filters on, so only the invalidation shows
+    private int next(Statements statements) {
+        int call = statements.calls++;
+        if (readsPerWrite > 0 && call % readsPerWrite == 0) {
+            TaskPatchDTO patch = new TaskPatchDTO();
+            patch.setTitle("Task " + call);
+            statements.count(() -> taskService.patchTask(ids.get(call % ids.size()), patch));
+        }
+        return call;
+    }
+}
@@ -0,0 +1,42 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.mapper.MapperTask;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Jackson cost of the list endpoints' response bodies
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskSerializationBenchmark {
+    @Param({"1", "10", "100", "1000"})
+    private int size;
+
+    private ObjectWriter writer;
+    private List<TaskResponseDTO> tasks;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder().build().writerFor(new TypeReference<List<TaskResponseDTO>>() {
+        });
+        tasks = IntStream.range(0, size)
+                .mapToObj(TaskExportBenchmark::task)
+                .map(MapperTask::modelToResponseDto)
+                .toList();
+    }
+
+    @Benchmark
+    public byte[] serializeList() {
+        return writer.writeValueAsBytes(tasks);
+    }
+}
@@ -0,0 +1,60 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.repository.TaskSpecifications;
+import com.brayden.todolistapi.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * FULLTEXT title search against the LIKE '%x%' query it replaced, both returning the first 20 matches.
+ * MATCH ... AGAINST is MySQL only, so this one needs a real database:
+ * {@code -Djmh.args="TaskTitleSearch -jvmArgsAppend -Dbenchmark.datasource.url=jdbc:mysql://localhost:3306/tasks_bench"}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskTitleSearchBenchmark {
+    private static final String FRAGMENT = "4242";
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private TaskRepository taskRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("title-search");
+        BenchmarkDatabase.seed(context.getBean(JdbcTemplate.class), rows);
+        taskService = context.getBean(TaskService.class);
+        taskRepository = context.getBean(TaskRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> fullText() {
+        return taskService.findTasksByTitle(FRAGMENT, false, 0, 20, false);
+    }
+
+    @Benchmark
+    public List<TaskResponseDTO> like() {
+        return taskRepository.findResponses(TaskSpecifications.titleContains(FRAGMENT),
+                PageRequest.of(0, 20, Sort.by("createdAt").descending()), false);
+    }
+}
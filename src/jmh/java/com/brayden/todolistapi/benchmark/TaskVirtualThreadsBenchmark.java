@@ -0,0 +1,83 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.threads.VirtualThreadPinningMonitor;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Requests on Tomcat's platform threads against requests on virtual threads, with five times as many requests in
+ * flight as Tomcat has threads: every invocation sends a wave of them at once and waits for the last answer.
+ * The page query goes to the database every time, so each request holds a connection for one statement.
+ * Virtual threads need Java 21, run the fork on it with {@code -jvm <jdk21>/bin/java}; the pinning monitor counts
+ * anything over 1 ms here and its count is printed at the end. On H2 a query never waits on a socket, so the threads are not idle while JDBC runs the way
+ * they are on MySQL, see BenchmarkDatabase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@OperationsPerInvocation(TaskVirtualThreadsBenchmark.IN_FLIGHT)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskVirtualThreadsBenchmark {
+    static final int IN_FLIGHT = 1_000;
+    private static final int ROWS = 20_000;
+
+    @Param({"platform", "virtual"})
+    private String threads;
+
+    private ConfigurableApplicationContext context;
+    private ExecutorService clientExecutor;
+    private HttpClient client;
+    private URI baseUri;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        boolean virtual = threads.equals("virtual");
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Virtual threads need Java 21, this fork runs " + Runtime.version());
+        }
+        context = BenchmarkDatabase.startServer("threads-" + threads, ROWS,
+                "--spring.threads.virtual.enabled=" + virtual, "--tasks.virtual-threads.pinned-threshold=1ms");
+        baseUri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port"));
+        // a few client threads are enough to keep every request in flight, the sockets do the waiting
+        clientExecutor = Executors.newFixedThreadPool(4);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(clientExecutor).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.getBeanProvider(VirtualThreadPinningMonitor.class).ifAvailable(monitor ->
+                System.out.println("\nVirtual thread pinned over the threshold: " + (long) monitor.getPinnedCount()));
+        context.close();
+        clientExecutor.shutdown();
+    }
+
+    @Benchmark
+    public int wave() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[IN_FLIGHT];
+        for (int i = 0; i < IN_FLIGHT; i++) {
+            int page = ThreadLocalRandom.current().nextInt(ROWS / 20);
+            HttpRequest request = HttpRequest.newBuilder(baseUri.resolve("/tasks/paged?page=" + page + "&size=20"))
+                    .build();
+            responses[i] = client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .thenAccept(response -> {
+                        if (response.statusCode() != 200) {
+                            throw new IllegalStateException("GET /tasks/paged answered " + response.statusCode());
+                        }
+                    });
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+}
@@ -0,0 +1,85 @@
+package com.brayden.todolistapi.benchmark;
+
+import com.brayden.todolistapi.dto.TaskRequestDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.dto.TaskWriteStatusDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.service.TaskService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * createTask (POST /tasks) against enqueueTask (POST /tasks/async) from several concurrent callers.
+ * An enqueue that gets a 429 backs off and retries, so once the queue is full the async throughput is what
+ * the writer sustains and its latency includes the wait, as it would for a client honouring the 429.
+ * Run the sample mode for percentiles; on H2 a commit is cheap, so the gap on MySQL is larger, see BenchmarkDatabase.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(4)
+@Fork(1)
+public class TaskWriteBehindBenchmark {
+    private static final long BACKOFF_NANOS = TimeUnit.MICROSECONDS.toNanos(200);
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkDatabase.start("write-behind", "--tasks.write-behind.enabled=true");
+        taskService = context.getBean(TaskService.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+    }
+
+    // what was accepted in the last iteration is written before the next starts, so iterations don't overlap
+    @TearDown(Level.Iteration)
+    public void drainAndEmptyTable() {
+        while (taskService.getWriteBehindStats().getPending() > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TaskResponseDTO synchronous() {
+        return taskService.createTask(request(sequence.incrementAndGet()));
+    }
+
+    @Benchmark
+    public TaskWriteStatusDTO writeBehind() {
+        TaskRequestDTO request = request(sequence.incrementAndGet());
+        while (true) {
+            try {
+                return taskService.enqueueTask(request);
+            } catch (ApiException ex) { // 429
+                LockSupport.parkNanos(BACKOFF_NANOS);
+            }
+        }
+    }
+
+    private static TaskRequestDTO request(int i) {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle("Task " + i);
+        request.setDescription("Description for task " + i);
+        request.setPriorityLevel(i % 5 + 1);
+        request.setStatus("PENDING");
+        request.setDueDate(LocalDate.of(2026, 1, 1).plusDays(i % 365));
+        return request;
+    }
+}
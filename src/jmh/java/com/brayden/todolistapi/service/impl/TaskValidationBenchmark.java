@@ -0,0 +1,53 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.exception.ApiException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// lives next to TaskServiceImpl so it can call the package-private validators directly
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskValidationBenchmark {
+    private final TaskServiceImpl taskService = new TaskServiceImpl(null, null, null, null, null, null, null, null, null, null,
+            null, false);
+
+    @Benchmark
+    public void validateStatus() {
+        taskService.validateStatus("in_progress");
+    }
+
+    @Benchmark
+    public ApiException validateStatusRejected() {
+        try {
+            taskService.validateStatus("BAD_STATUS");
+            return null;
+        } catch (ApiException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public void validateSort() {
+        taskService.validateSort("createdAt", "DESC");
+    }
+
+    @Benchmark
+    public ApiException validateSortRejected() {
+        try {
+            taskService.validateSort("unknown", "desc");
+            return null;
+        } catch (ApiException ex) {
+            return ex;
+        }
+    }
+
+    @Benchmark
+    public void validatePageAndSize() {
+        taskService.validatePageAndSize(3, 50);
+    }
+}
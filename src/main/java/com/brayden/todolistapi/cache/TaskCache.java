@@ -0,0 +1,79 @@
+package com.brayden.todolistapi.cache;
+
+import com.brayden.todolistapi.dto.TaskCacheStatsDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// read-through cache for findTaskById, empty results are cached too but for a shorter time
+@Component
+public class TaskCache {
+    private final Cache<String, Optional<TaskResponseDTO>> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    public TaskCache(@Value("${tasks.cache.maximum-size:10000}") long maximumSize,
+                     @Value("${tasks.cache.ttl:60s}") Duration ttl,
+                     @Value("${tasks.cache.negative-ttl:5s}") Duration negativeTtl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(Expiry.creating((String id, Optional<TaskResponseDTO> task) ->
+                        task.isPresent() ? ttl : negativeTtl))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<TaskResponseDTO> get(String id, Supplier<Optional<TaskResponseDTO>> loader) {
+        Optional<TaskResponseDTO> cached = cache.getIfPresent(id);
+        if (cached != null) {
+            return cached;
+        }
+        long seen = invalidations.get();
+        Optional<TaskResponseDTO> loaded = loader.get();
+        // a write that committed while we were loading means the value may already be stale, so don't keep it;
+        // compute() takes the key's lock, so this check can't interleave with invalidate()
+        cache.asMap().compute(id, (key, current) ->
+                current != null || invalidations.get() != seen ? current : loaded);
+        return loaded;
+    }
+
+    // the cached task without loading or counting a hit or miss; null when absent or cached as not found
+    public TaskResponseDTO peek(String id) {
+        Optional<TaskResponseDTO> cached = cache.asMap().get(id);
+        return cached == null ? null : cached.orElse(null);
+    }
+
+    public void invalidateAfterCommit(String id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(id);
+            }
+        });
+    }
+
+    public void invalidate(String id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    public TaskCacheStatsDTO stats() {
+        CacheStats stats = cache.stats();
+        return new TaskCacheStatsDTO(stats.hitCount(), stats.missCount(), stats.evictionCount(),
+                cache.estimatedSize(), stats.hitRate());
+    }
+}
@@ -0,0 +1,183 @@
+package com.brayden.todolistapi.changes;
+
+import com.brayden.todolistapi.dto.TaskChangeDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// GET /tasks/changes/stream: pushes each change as Server-Sent Events once it has committed. Every subscriber has a
+// buffer of its own, emptied by a few shared sender threads, so a write never waits on a client; a subscriber that
+// falls a whole buffer behind is disconnected instead of buffered for, and catches up with GET /tasks/changes.
+// Only writes made by this instance are pushed
+@Component
+public class TaskChangeStream implements DisposableBean {
+    private static final Log log = LogFactory.getLog(TaskChangeStream.class);
+    // queued like a change, sent as an SSE comment; keeps proxies from closing an idle stream and finds gone clients
+    private static final TaskChangeDTO HEARTBEAT = new TaskChangeDTO();
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final Duration timeout;
+    private final ExecutorService senders;
+    private final Counter dropped;
+
+    public TaskChangeStream(@Value("${tasks.changes.stream.buffer-size:256}") int bufferSize,
+                            @Value("${tasks.changes.stream.max-subscribers:1000}") int maxSubscribers,
+                            @Value("${tasks.changes.stream.senders:2}") int senders,
+                            @Value("${tasks.changes.stream.timeout:30m}") Duration timeout,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.timeout = timeout;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senders, runnable -> {
+            Thread thread = new Thread(runnable, "task-change-stream-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        MeterRegistry registry = meterRegistry.getIfAvailable(SimpleMeterRegistry::new);
+        Gauge.builder("tasks.changes.stream.subscribers", subscribers, Set::size)
+                .description("Clients subscribed to the task change stream")
+                .register(registry);
+        this.dropped = Counter.builder("tasks.changes.stream.dropped")
+                .description("Subscribers disconnected for falling a whole buffer behind")
+                .register(registry);
+    }
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ApiException("Too many change stream subscribers, poll GET /tasks/changes instead",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete); // the client reconnects, that's a normal end rather than a 503
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    public boolean hasSubscribers() {
+        return !subscribers.isEmpty();
+    }
+
+    // with nobody subscribed nothing is registered, so writes pay nothing for the stream
+    public void publishAfterCommit(TaskChangeDTO change) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publish(List.of(change));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publish(List.of(change));
+            }
+        });
+    }
+
+    // for changes that have already committed
+    public void publish(List<TaskChangeDTO> changes) {
+        for (Subscriber subscriber : subscribers) {
+            for (TaskChangeDTO change : changes) {
+                if (!subscriber.queue.offer(change)) {
+                    drop(subscriber);
+                    break;
+                }
+            }
+            send(subscriber);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${tasks.changes.stream.heartbeat-interval:15s}")
+    void heartbeat() {
+        publish(List.of(HEARTBEAT));
+    }
+
+    @Override
+    public void destroy() {
+        subscribers.forEach(this::close);
+        senders.shutdownNow();
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // one sender per subscriber at a time keeps its events in order
+    private void send(Subscriber subscriber) {
+        if (subscribers.contains(subscriber) && subscriber.sending.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        try {
+            TaskChangeDTO change;
+            while ((change = subscriber.queue.poll()) != null) {
+                subscriber.emitter.send(change == HEARTBEAT
+                        ? SseEmitter.event().comment("heartbeat")
+                        : SseEmitter.event().data(change, MediaType.APPLICATION_JSON));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            close(subscriber); // the client went away, or the emitter was completed by a drop or a timeout
+            return;
+        } finally {
+            subscriber.sending.set(false);
+        }
+        if (!subscriber.queue.isEmpty()) {
+            send(subscriber); // queued after the last poll, while sending was still set
+        }
+    }
+
+    private void drop(Subscriber subscriber) {
+        if (subscribers.contains(subscriber)) {
+            dropped.increment();
+            log.debug("Disconnected a change stream subscriber " + bufferSize + " changes behind");
+            close(subscriber);
+        }
+    }
+
+    private void close(Subscriber subscriber) {
+        if (subscribers.remove(subscriber)) {
+            subscriber.queue.clear();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private record Subscriber(SseEmitter emitter, BlockingQueue<TaskChangeDTO> queue, AtomicBoolean sending) {
+        Subscriber(SseEmitter emitter, BlockingQueue<TaskChangeDTO> queue) {
+            this(emitter, queue, new AtomicBoolean());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.brayden.todolistapi.changes;
+
+import com.brayden.todolistapi.dto.TaskChangeDTO;
+import com.brayden.todolistapi.service.TasksOverdueEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// pushes each batch TaskOverdueScanner finds to the change stream's subscribers as OVERDUE changes, so only to those
+// of the instance that scans. They aren't in GET /tasks/changes, nothing was written; a subscriber that missed them
+// can ask GET /tasks/overdue
+@Component
+@ConditionalOnProperty(name = "tasks.overdue.enabled", havingValue = "true")
+public class TaskOverdueNotifier {
+    private final TaskChangeStream taskChangeStream;
+    private final DistributionSummary batchSize;
+
+    public TaskOverdueNotifier(TaskChangeStream taskChangeStream, MeterRegistry meterRegistry) {
+        this.taskChangeStream = taskChangeStream;
+        this.batchSize = DistributionSummary.builder("tasks.overdue.notified")
+                .description("Newly overdue tasks per batch handed to the change stream, subscribed to or not")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    public void onOverdue(TasksOverdueEvent event) {
+        batchSize.record(event.tasks().size());
+        if (!taskChangeStream.hasSubscribers()) {
+            return;
+        }
+        taskChangeStream.publish(event.tasks().stream()
+                .map(task -> new TaskChangeDTO(TaskChangeDTO.OVERDUE, task.getId(), task, event.asOf().atStartOfDay()))
+                .toList());
+    }
+}
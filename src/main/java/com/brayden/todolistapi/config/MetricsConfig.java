@@ -0,0 +1,61 @@
+package com.brayden.todolistapi.config;
+
+import com.brayden.todolistapi.metrics.SqlStatementCounter;
+import com.brayden.todolistapi.metrics.SqlStatementsInterceptor;
+import com.brayden.todolistapi.metrics.TimedJsonHttpMessageConverter;
+import com.brayden.todolistapi.metrics.TimedMethodInterceptor;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.http.converter.autoconfigure.ServerHttpMessageConvertersCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.databind.json.JsonMapper;
+
+// the metrics Actuator doesn't record on its own: @Timed controller and service methods, statements per request
+// and JSON serialization time; repository timers come from spring.data.repository.invocations
+@Configuration
+public class MetricsConfig {
+
+    // static, so creating the advisor early does not create this configuration class with it
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    public static Advisor timedAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Timed.class, true),
+                new TimedMethodInterceptor(meterRegistry));
+    }
+
+    // leaves an inspector that is already configured alone, the SQL tests bring their own
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementCounter() {
+        return properties -> properties.putIfAbsent(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementCounter());
+    }
+
+    @Bean
+    public WebMvcConfigurer sqlStatementsInterceptor(MeterRegistry meterRegistry) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new SqlStatementsInterceptor(meterRegistry));
+            }
+        };
+    }
+
+    // after Boot's own customizer, so this converter replaces the plain one
+    @Bean
+    @Order(Ordered.LOWEST_PRECEDENCE)
+    public ServerHttpMessageConvertersCustomizer timedJsonConverter(JsonMapper jsonMapper, MeterRegistry meterRegistry) {
+        return builder -> builder.withJsonConverter(new TimedJsonHttpMessageConverter(jsonMapper, meterRegistry));
+    }
+}
@@ -0,0 +1,110 @@
+package com.brayden.todolistapi.config;
+
+import com.brayden.todolistapi.replicas.ReadYourWrites;
+import com.brayden.todolistapi.replicas.Replica;
+import com.brayden.todolistapi.replicas.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// only with tasks.datasource.replicas.urls set; takes the place of Boot's single pool with one pool for the primary
+// and one per replica, all configured by spring.datasource.hikari.*. They are beans of their own, so Boot's pool
+// metrics and health checks and the virtual-thread connection permits apply to each of them
+@Configuration
+@ConditionalOnProperty("tasks.datasource.replicas.urls")
+public class ReplicaRoutingConfig {
+    private static final String REPLICA_BEAN_PREFIX = "replicaDataSource";
+
+    // static, the replica beans have to be registered before any bean is created
+    @Bean
+    public static BeanDefinitionRegistryPostProcessor replicaDataSources(Environment environment) {
+        return new BeanDefinitionRegistryPostProcessor() {
+            @Override
+            public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) {
+                String[] urls = environment.getRequiredProperty("tasks.datasource.replicas.urls", String[].class);
+                for (int i = 0; i < urls.length; i++) {
+                    String name = "replica-" + i;
+                    String url = urls[i].trim();
+                    RootBeanDefinition definition = new RootBeanDefinition(HikariDataSource.class,
+                            () -> pool(environment, name, url,
+                                    environment.getProperty("tasks.datasource.replicas.username",
+                                            environment.getProperty("spring.datasource.username")),
+                                    environment.getProperty("tasks.datasource.replicas.password",
+                                            environment.getProperty("spring.datasource.password")),
+                                    true));
+                    definition.setDestroyMethodName(AbstractBeanDefinition.INFER_METHOD);
+                    registry.registerBeanDefinition(REPLICA_BEAN_PREFIX + i, definition);
+                }
+            }
+
+            @Override
+            public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+            }
+        };
+    }
+
+    @Bean
+    public HikariDataSource primaryDataSource(Environment environment) {
+        return pool(environment, "primary", environment.getRequiredProperty("spring.datasource.url"),
+                environment.getProperty("spring.datasource.username"),
+                environment.getProperty("spring.datasource.password"), false);
+    }
+
+    // looked up by name, the virtual-thread permits may have wrapped the pools
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            ListableBeanFactory beanFactory, MeterRegistry meterRegistry,
+            @Value("${tasks.datasource.replicas.stickiness:5s}") Duration stickiness,
+            @Value("${tasks.datasource.replicas.max-lag:2s}") Duration maxLag,
+            @Value("${tasks.datasource.replicas.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${tasks.datasource.replicas.lag-column:Seconds_Behind_Source}") String lagColumn) {
+        List<Replica> replicas = new ArrayList<>();
+        for (int i = 0; beanFactory.containsBean(REPLICA_BEAN_PREFIX + i); i++) {
+            replicas.add(new Replica("replica-" + i, beanFactory.getBean(REPLICA_BEAN_PREFIX + i, DataSource.class)));
+        }
+        return new ReplicaRoutingDataSource(beanFactory.getBean("primaryDataSource", DataSource.class), replicas,
+                new ReadYourWrites(stickiness), lagQuery, lagColumn, maxLag, meterRegistry);
+    }
+
+    // the one JPA, JdbcTemplate and the transaction manager use
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+    }
+
+    private static HikariDataSource pool(Environment environment, String name, String url, String username,
+                                         String password, boolean readOnly) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setJdbcUrl(url);
+        pool.setUsername(username);
+        pool.setPassword(password);
+        String driverClassName = environment.getProperty("spring.datasource.driver-class-name");
+        if (driverClassName != null) {
+            pool.setDriverClassName(driverClassName);
+        }
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name); // after the binding, every pool needs its own name
+        pool.setReadOnly(readOnly);
+        return pool;
+    }
+}
@@ -0,0 +1,81 @@
+package com.brayden.todolistapi.config;
+
+import com.brayden.todolistapi.model.Task;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+// Hibernate's second-level cache on Caffeine through JCache: Task entities by id, and the results of the queries
+// marked cacheable. Every region is created here with its own size and time limits, Hibernate fails on one it
+// doesn't know rather than making an unbounded one. Hit and miss counts are under cache.gets in /actuator/metrics
+@Configuration
+@ConditionalOnProperty(name = "tasks.second-level-cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+    private static final List<String> REGIONS = List.of(Task.ENTITY_REGION, Task.QUERY_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+            RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(
+            @Value("${tasks.second-level-cache.entity.maximum-size:10000}") long entityMaximumSize,
+            @Value("${tasks.second-level-cache.entity.ttl:10m}") Duration entityTtl,
+            @Value("${tasks.second-level-cache.query.maximum-size:200}") long queryMaximumSize,
+            @Value("${tasks.second-level-cache.query.ttl:60s}") Duration queryTtl) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        cacheManager.createCache(Task.ENTITY_REGION, region(entityMaximumSize, entityTtl));
+        cacheManager.createCache(Task.QUERY_REGION, region(queryMaximumSize, queryTtl));
+        // only used by a query marked cacheable without a region of its own
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                region(queryMaximumSize, queryTtl));
+        // one entry per table, holding when it was last written; a lost entry would let stale query results through
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStoreByValue(false);
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCache(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> REGIONS.forEach(region ->
+                JCacheMetrics.monitor(registry, secondLevelCacheManager.<Object, Object>getCache(region), Tags.empty()));
+    }
+
+    // entries are held as they are rather than copied in and out, Hibernate never changes a cached entry
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> region = new CaffeineConfiguration<>();
+        region.setMaximumSize(OptionalLong.of(maximumSize));
+        region.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        region.setStoreByValue(false);
+        region.setStatisticsEnabled(true);
+        return region;
+    }
+}
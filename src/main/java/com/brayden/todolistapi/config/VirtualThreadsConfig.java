@@ -0,0 +1,41 @@
+package com.brayden.todolistapi.config;
+
+import com.brayden.todolistapi.threads.ConnectionPermitDataSource;
+import com.brayden.todolistapi.threads.VirtualThreadPinningMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+// only with spring.threads.virtual.enabled on Java 21 or later, when Boot runs requests on virtual threads
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadsConfig {
+
+    // permits default to the pool size, so no caller ever waits inside the pool itself
+    @Bean
+    public static BeanPostProcessor connectionPermits(@Value("${tasks.datasource.connection-permits:0}") int permits) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                return new ConnectionPermitDataSource(hikari, permits > 0 ? permits : hikari.getMaximumPoolSize(),
+                        Duration.ofMillis(hikari.getConnectionTimeout()));
+            }
+        };
+    }
+
+    @Bean
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${tasks.virtual-threads.pinned-threshold:20ms}") Duration threshold, MeterRegistry meterRegistry) {
+        return new VirtualThreadPinningMonitor(threshold, meterRegistry);
+    }
+}
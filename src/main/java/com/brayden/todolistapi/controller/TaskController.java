@@ -1,8 +1,24 @@
 package com.brayden.todolistapi.controller;
 
+import com.brayden.todolistapi.dto.TaskBatchResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkUpdateDTO;
+import com.brayden.todolistapi.dto.TaskCacheStatsDTO;
+import com.brayden.todolistapi.dto.TaskChangePageDTO;
+import com.brayden.todolistapi.dto.TaskCursorPageDTO;
+import com.brayden.todolistapi.dto.TaskFilterDTO;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
 import com.brayden.todolistapi.dto.TaskRequestDTO;
 import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.dto.TaskSearchDTO;
+import com.brayden.todolistapi.dto.TaskStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteBehindStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteStatusDTO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.InputStream;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
@@ -10,21 +26,58 @@ import java.util.Optional;
 public interface TaskController {
     TaskResponseDTO createTask(TaskRequestDTO task);
 
-    List<TaskResponseDTO> findAllTasks();
+    ResponseEntity<TaskWriteStatusDTO> enqueueTask(TaskRequestDTO task);
 
-    List<TaskResponseDTO> findAllTasks(int page, int size, String sortBy, String direction);
+    Optional<TaskWriteStatusDTO> findWriteStatus(String id);
 
-    Optional<TaskResponseDTO> findTaskById(String id);
+    TaskWriteBehindStatsDTO getWriteBehindStats();
 
-    List<TaskResponseDTO> findTasksByTitle(String title);
+    TaskBatchResultDTO createTasks(List<TaskRequestDTO> tasks);
 
-    List<TaskResponseDTO> findTasksByStatus(String status);
+    TaskBatchResultDTO createTasksFromStream(InputStream body);
 
-    List<TaskResponseDTO> findTasksByPriorityLevel(Integer level);
+    List<TaskResponseDTO> findAllTasks(boolean summary);
 
-    List<TaskResponseDTO> findTasksByDueDate(LocalDate date);
+    ResponseEntity<StreamingResponseBody> exportTasks();
 
-    Optional<TaskResponseDTO> updateTask(String id, TaskRequestDTO task);
+    List<TaskResponseDTO> findAllTasks(int page, int size, String sortBy, String direction, boolean summary);
 
-    boolean deleteTask(String id);
+    TaskCursorPageDTO findAllTasksByCursor(String cursor, int size, String sortBy, String direction, boolean summary);
+
+    TaskChangePageDTO findChanges(String since, int size);
+
+    SseEmitter streamChanges();
+
+    ResponseEntity<TaskResponseDTO> findTaskById(String id, String ifNoneMatch);
+
+    TaskCacheStatsDTO getCacheStats();
+
+    TaskStatsDTO getStats();
+
+    List<TaskResponseDTO> findTasksByTitle(String title, boolean includeDescription, int page, int size,
+                                           boolean summary);
+
+    List<TaskResponseDTO> searchTasks(TaskSearchDTO search, int page, int size, String sortBy, String direction,
+                                      boolean summary);
+
+    List<TaskResponseDTO> findTasksByStatus(String status, boolean summary);
+
+    List<TaskResponseDTO> findTasksByPriorityLevel(Integer level, boolean summary);
+
+    List<TaskResponseDTO> findTasksByDueDate(LocalDate date, boolean summary);
+
+    List<TaskResponseDTO> findTasksDueBetween(LocalDate from, LocalDate to, boolean includeCompleted, int page,
+                                              int size, boolean summary);
+
+    List<TaskResponseDTO> findOverdueTasks(int page, int size, boolean summary);
+
+    ResponseEntity<TaskResponseDTO> updateTask(String id, TaskRequestDTO task, String ifMatch);
+
+    Optional<TaskResponseDTO> patchTask(String id, TaskPatchDTO patch);
+
+    TaskBulkResultDTO updateTasks(TaskBulkUpdateDTO update);
+
+    TaskBulkResultDTO deleteTasks(TaskFilterDTO filter);
+
+    boolean deleteTask(String id, String ifMatch);
 }
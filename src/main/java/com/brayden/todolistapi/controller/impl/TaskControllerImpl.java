@@ -1,30 +1,64 @@
 package com.brayden.todolistapi.controller.impl;
 
+import com.brayden.todolistapi.changes.TaskChangeStream;
 import com.brayden.todolistapi.controller.TaskController;
+import com.brayden.todolistapi.dto.TaskBatchResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkUpdateDTO;
+import com.brayden.todolistapi.dto.TaskCacheStatsDTO;
+import com.brayden.todolistapi.dto.TaskChangePageDTO;
+import com.brayden.todolistapi.dto.TaskCursorPageDTO;
+import com.brayden.todolistapi.dto.TaskFilterDTO;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
 import com.brayden.todolistapi.dto.TaskRequestDTO;
 import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.dto.TaskSearchDTO;
+import com.brayden.todolistapi.dto.TaskStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteBehindStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteStatusDTO;
+import com.brayden.todolistapi.exception.ApiException;
 import com.brayden.todolistapi.service.TaskService;
+import io.micrometer.core.annotation.Timed;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
 @RestController
+@Timed(value = "tasks.controller", description = "Time spent in a task endpoint, before the body is written", histogram = true)
 @RequestMapping("/tasks")
 @Tag(name = "Tasks", description = "Task management APIs")
 public class TaskControllerImpl implements TaskController {
+    private static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
     private final TaskService taskService;
+    private final JsonMapper jsonMapper;
+    private final TaskChangeStream taskChangeStream;
 
-    public TaskControllerImpl(TaskService taskService) {
+    public TaskControllerImpl(TaskService taskService, JsonMapper jsonMapper, TaskChangeStream taskChangeStream) {
         this.taskService = taskService;
+        this.jsonMapper = jsonMapper;
+        this.taskChangeStream = taskChangeStream;
     }
 
     @Override
@@ -39,17 +73,89 @@ public class TaskControllerImpl implements TaskController {
         return taskService.createTask(task);
     }
 
+    @Override
+    @PostMapping("/async")
+    @Operation(summary = "Queue a new task to be inserted in the background, needs tasks.write-behind.enabled")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "202", description = "Task queued, poll the Location for its status"),
+            @ApiResponse(responseCode = "400", description = "Invalid request"),
+            @ApiResponse(responseCode = "404", description = "Asynchronous creation is not enabled"),
+            @ApiResponse(responseCode = "429", description = "Queue is full, retry later"),
+            @ApiResponse(responseCode = "503", description = "Shutting down")
+    })
+    public ResponseEntity<TaskWriteStatusDTO> enqueueTask(@Valid @RequestBody TaskRequestDTO task) {
+        TaskWriteStatusDTO status = taskService.enqueueTask(task);
+        return ResponseEntity.accepted().location(URI.create("/tasks/async/" + status.getId())).body(status);
+    }
+
+    @Override
+    @GetMapping("/async/{id}")
+    @Operation(summary = "Get whether a queued task is still queued, created or failed")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status found, empty when the id is unknown"),
+            @ApiResponse(responseCode = "400", description = "Invalid id")
+    })
+    public Optional<TaskWriteStatusDTO> findWriteStatus(@PathVariable String id) {
+        return taskService.findWriteStatus(id);
+    }
+
+    @Override
+    @GetMapping("/async")
+    @Operation(summary = "Get the write-behind queue depth and counters")
+    @ApiResponse(responseCode = "200", description = "Counters retrieved")
+    public TaskWriteBehindStatsDTO getWriteBehindStats() {
+        return taskService.getWriteBehindStats();
+    }
+
+    @Override
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Create many tasks from a JSON array, inserted in chunks")
+    @ApiResponse(responseCode = "200", description = "Per-item results, invalid items are reported and skipped")
+    public TaskBatchResultDTO createTasks(@RequestBody List<TaskRequestDTO> tasks) {
+        return taskService.createTasks(tasks);
+    }
+
+    @Override
+    @PostMapping(value = "/batch", consumes = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create many tasks from newline-delimited JSON, read and inserted chunk by chunk")
+    @ApiResponse(responseCode = "200", description = "Per-item results, invalid items are reported and skipped")
+    public TaskBatchResultDTO createTasksFromStream(InputStream body) {
+        try (MappingIterator<TaskRequestDTO> tasks = jsonMapper.readerFor(TaskRequestDTO.class).readValues(body)) {
+            return taskService.createTasks(() -> tasks);
+        }
+    }
+
     @Override
     @GetMapping
-    @Operation(summary = "Get all tasks")
+    @Operation(summary = "Get all tasks, summary=true leaves out the description")
     @ApiResponse(responseCode = "200", description = "Tasks retrieved")
-    public List<TaskResponseDTO> findAllTasks() {
-        return taskService.findAllTasks();
+    public List<TaskResponseDTO> findAllTasks(@RequestParam(defaultValue = "false") boolean summary) {
+        return taskService.findAllTasks(summary);
+    }
+
+    @Override
+    @GetMapping(value = {"", "/export"}, produces = APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream all tasks as newline-delimited JSON")
+    @ApiResponse(responseCode = "200", description = "Tasks streamed")
+    public ResponseEntity<StreamingResponseBody> exportTasks() {
+        ObjectWriter writer = jsonMapper.writerFor(TaskResponseDTO.class);
+        // rows go into the servlet buffer, which decides when to flush, so nothing is held back per row
+        StreamingResponseBody body = outputStream -> taskService.exportTasks(task -> {
+            try {
+                outputStream.write(writer.writeValueAsBytes(task));
+                outputStream.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(APPLICATION_NDJSON_VALUE))
+                .body(body);
     }
 
     @Override
     @GetMapping("/paged")
-    @Operation(summary = "Get tasks with pagination and sorting")
+    @Operation(summary = "Get tasks with pagination and sorting, summary=true leaves out the description")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Paged tasks retrieved"),
             @ApiResponse(responseCode = "400", description = "Invalid paging or sort parameters")
@@ -58,9 +164,54 @@ public class TaskControllerImpl implements TaskController {
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
-            @RequestParam(defaultValue = "desc") String direction
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        return taskService.findAllTasks(page, size, sortBy, direction, summary);
+    }
+
+    @Override
+    @GetMapping("/paged/cursor")
+    @Operation(summary = "Get tasks with keyset pagination, pass nextCursor back to get the following page; "
+            + "summary=true leaves out the description")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Page of tasks retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor, size or sort parameters")
+    })
+    public TaskCursorPageDTO findAllTasksByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        return taskService.findAllTasksByCursor(cursor, size, sortBy, direction, summary);
+    }
+
+    @Override
+    @GetMapping("/changes")
+    @Operation(summary = "Get tasks created, updated or deleted since a cursor, pass nextCursor back as since")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Changes retrieved, oldest first"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or size"),
+            @ApiResponse(responseCode = "410", description = "Cursor older than the deletes kept, sync again without since")
+    })
+    public TaskChangePageDTO findChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(defaultValue = "100") int size
     ) {
-        return taskService.findAllTasks(page, size, sortBy, direction);
+        return taskService.findChanges(since, size);
+    }
+
+    @Override
+    @GetMapping(value = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream changes as Server-Sent Events as they commit, a client too far behind is disconnected")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Streaming, catch up with GET /tasks/changes after a reconnect"),
+            @ApiResponse(responseCode = "503", description = "Too many subscribers, poll GET /tasks/changes instead")
+    })
+    public SseEmitter streamChanges() {
+        return taskChangeStream.subscribe();
     }
 
     @Override
@@ -68,21 +219,72 @@ public class TaskControllerImpl implements TaskController {
     @Operation(summary = "Get task by id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task found"),
+            @ApiResponse(responseCode = "304", description = "Task unchanged since the If-None-Match ETag"),
             @ApiResponse(responseCode = "400", description = "Invalid id")
     })
-    public Optional<TaskResponseDTO> findTaskById(@PathVariable String id) {
-        return taskService.findTaskById(id);
+    public ResponseEntity<TaskResponseDTO> findTaskById(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            // revalidation only needs the version, the task is loaded when it has changed
+            Optional<Long> version = taskService.findTaskVersion(id);
+            if (version.isPresent() && TaskETags.matches(ifNoneMatch, TaskETags.of(version.get()))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(TaskETags.of(version.get())).build();
+            }
+        }
+        return withETag(taskService.findTaskById(id));
+    }
+
+    @Override
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get hit, miss and eviction counts of the task lookup cache")
+    @ApiResponse(responseCode = "200", description = "Cache statistics retrieved")
+    public TaskCacheStatsDTO getCacheStats() {
+        return taskService.getCacheStats();
+    }
+
+    @Override
+    @GetMapping("/stats")
+    @Operation(summary = "Get task counts by status and priority, overdue count and completion rate")
+    @ApiResponse(responseCode = "200", description = "Task statistics retrieved")
+    public TaskStatsDTO getStats() {
+        return taskService.getStats();
     }
 
     @Override
     @GetMapping("/search/title")
-    @Operation(summary = "Search tasks by title")
+    @Operation(summary = "Search tasks by title, and optionally description, best matches first")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Tasks filtered by title"),
-            @ApiResponse(responseCode = "400", description = "Invalid title filter")
+            @ApiResponse(responseCode = "400", description = "Invalid title filter or paging parameters")
     })
-    public List<TaskResponseDTO> findTasksByTitle(@RequestParam String title) {
-        return taskService.findTasksByTitle(title);
+    public List<TaskResponseDTO> findTasksByTitle(
+            @RequestParam String title,
+            @RequestParam(defaultValue = "false") boolean includeDescription,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        return taskService.findTasksByTitle(title, includeDescription, page, size, summary);
+    }
+
+    @Override
+    @GetMapping("/search")
+    @Operation(summary = "Search tasks by any mix of status, priority range, due date range, completion and title")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks matching every given criterion"),
+            @ApiResponse(responseCode = "400", description = "Invalid criteria, paging or sort parameters")
+    })
+    public List<TaskResponseDTO> searchTasks(
+            @Valid @ModelAttribute TaskSearchDTO search,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String direction,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        return taskService.searchTasks(search, page, size, sortBy, direction, summary);
     }
 
     @Override
@@ -92,8 +294,11 @@ public class TaskControllerImpl implements TaskController {
             @ApiResponse(responseCode = "200", description = "Tasks filtered by status"),
             @ApiResponse(responseCode = "400", description = "Invalid status filter")
     })
-    public List<TaskResponseDTO> findTasksByStatus(@RequestParam String status) {
-        return taskService.findTasksByStatus(status);
+    public List<TaskResponseDTO> findTasksByStatus(
+            @RequestParam String status,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        return taskService.findTasksByStatus(status, summary);
     }
 
     @Override
@@ -103,8 +308,11 @@ public class TaskControllerImpl implements TaskController {
             @ApiResponse(responseCode = "200", description = "Tasks filtered by priority"),
             @ApiResponse(responseCode = "400", description = "Invalid priority filter")
     })
-    public List<TaskResponseDTO> findTasksByPriorityLevel(@RequestParam Integer level) {
-        return taskService.findTasksByPriorityLevel(level);
+    public List<TaskResponseDTO> findTasksByPriorityLevel(
+            @RequestParam Integer level,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        return taskService.findTasksByPriorityLevel(level, summary);
     }
 
     @Override
@@ -114,8 +322,44 @@ public class TaskControllerImpl implements TaskController {
             @ApiResponse(responseCode = "200", description = "Tasks filtered by due date"),
             @ApiResponse(responseCode = "400", description = "Invalid due date filter")
     })
-    public List<TaskResponseDTO> findTasksByDueDate(@RequestParam LocalDate date) {
-        return taskService.findTasksByDueDate(date);
+    public List<TaskResponseDTO> findTasksByDueDate(
+            @RequestParam LocalDate date,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        return taskService.findTasksByDueDate(date, summary);
+    }
+
+    @Override
+    @GetMapping("/search/due-range")
+    @Operation(summary = "Search tasks due between two dates, inclusive, soonest first; open tasks unless includeCompleted")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tasks due in the range"),
+            @ApiResponse(responseCode = "400", description = "No bound, from after to, or invalid paging parameters")
+    })
+    public List<TaskResponseDTO> findTasksDueBetween(
+            @RequestParam(required = false) LocalDate from,
+            @RequestParam(required = false) LocalDate to,
+            @RequestParam(defaultValue = "false") boolean includeCompleted,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        return taskService.findTasksDueBetween(from, to, includeCompleted, page, size, summary);
+    }
+
+    @Override
+    @GetMapping("/overdue")
+    @Operation(summary = "Get open tasks due before today, longest overdue first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Overdue tasks retrieved"),
+            @ApiResponse(responseCode = "400", description = "Invalid paging parameters")
+    })
+    public List<TaskResponseDTO> findOverdueTasks(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size,
+            @RequestParam(defaultValue = "false") boolean summary
+    ) {
+        return taskService.findOverdueTasks(page, size, summary);
     }
 
     @Override
@@ -123,10 +367,54 @@ public class TaskControllerImpl implements TaskController {
     @Operation(summary = "Update a task by id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task updated"),
-            @ApiResponse(responseCode = "400", description = "Invalid id or request")
+            @ApiResponse(responseCode = "400", description = "Invalid id or request"),
+            @ApiResponse(responseCode = "410", description = "Task archived, it can only be read"),
+            @ApiResponse(responseCode = "412", description = "Task changed since the If-Match ETag, or doesn't exist")
     })
-    public Optional<TaskResponseDTO> updateTask(@PathVariable String id, @Valid @RequestBody TaskRequestDTO task) {
-        return taskService.updateTask(id, task);
+    public ResponseEntity<TaskResponseDTO> updateTask(
+            @PathVariable String id,
+            @Valid @RequestBody TaskRequestDTO task,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        Optional<TaskResponseDTO> updated = taskService.updateTask(id, task, TaskETags.expectedVersion(ifMatch));
+        if (updated.isEmpty() && ifMatch != null) {
+            throw missingForIfMatch(id);
+        }
+        return withETag(updated);
+    }
+
+    @Override
+    @PatchMapping("/{id}")
+    @Operation(summary = "Change only the given fields of a task, a null description or dueDate clears it")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Task updated"),
+            @ApiResponse(responseCode = "400", description = "Invalid id, empty patch or invalid values"),
+            @ApiResponse(responseCode = "410", description = "Task archived, it can only be read")
+    })
+    public Optional<TaskResponseDTO> patchTask(@PathVariable String id, @Valid @RequestBody TaskPatchDTO patch) {
+        return taskService.patchTask(id, patch);
+    }
+
+    @Override
+    @PatchMapping("/bulk")
+    @Operation(summary = "Update every task matching a filter, in chunks of set-based UPDATEs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of tasks updated"),
+            @ApiResponse(responseCode = "400", description = "Empty filter, no changes or invalid values")
+    })
+    public TaskBulkResultDTO updateTasks(@Valid @RequestBody TaskBulkUpdateDTO update) {
+        return taskService.updateTasks(update);
+    }
+
+    @Override
+    @DeleteMapping("/bulk")
+    @Operation(summary = "Delete every task matching a filter, in chunks of set-based DELETEs")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Number of tasks deleted"),
+            @ApiResponse(responseCode = "400", description = "Empty or invalid filter")
+    })
+    public TaskBulkResultDTO deleteTasks(@Valid @ModelAttribute TaskFilterDTO filter) {
+        return taskService.deleteTasks(filter);
     }
 
     @Override
@@ -134,9 +422,32 @@ public class TaskControllerImpl implements TaskController {
     @Operation(summary = "Delete a task by id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Task deleted"),
-            @ApiResponse(responseCode = "400", description = "Invalid id")
+            @ApiResponse(responseCode = "400", description = "Invalid id"),
+            @ApiResponse(responseCode = "410", description = "Task archived, it can only be read"),
+            @ApiResponse(responseCode = "412", description = "Task changed since the If-Match ETag, or doesn't exist")
     })
-    public boolean deleteTask(@PathVariable String id) {
-        return taskService.deleteTask(id);
+    public boolean deleteTask(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+    ) {
+        boolean deleted = taskService.deleteTask(id, TaskETags.expectedVersion(ifMatch));
+        if (!deleted && ifMatch != null) {
+            throw missingForIfMatch(id);
+        }
+        return deleted;
+    }
+
+    // If-Match, * included, only holds for a current representation (RFC 9110 13.1.1); the service has already
+    // looked for the task, so an empty result means there is none
+    private static ApiException missingForIfMatch(String id) {
+        return new ApiException("Task " + id + " does not exist, so If-Match can't match", HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // a missing task is still an empty 200 without If-Match, as it was before ETags
+    private static ResponseEntity<TaskResponseDTO> withETag(Optional<TaskResponseDTO> task) {
+        return task.map(found -> found.getVersion() == null
+                        ? ResponseEntity.ok().body(found)
+                        : ResponseEntity.ok().eTag(TaskETags.of(found.getVersion())).body(found))
+                .orElseGet(() -> ResponseEntity.ok().build());
     }
 }
@@ -0,0 +1,65 @@
+package com.brayden.todolistapi.controller.impl;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+// a single task's ETag is its quoted @Version; a list's is a weak hash of the ids and versions it holds and of the
+// query that shaped it, so neither needs the JSON body to be produced
+final class TaskETags {
+    private static final String WEAK_PREFIX = "W/";
+
+    private TaskETags() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    // the same rows as a summary or in another order are another representation, so the query goes into the hash
+    static String ofList(String query, List<TaskResponseDTO> tasks, String nextCursor) {
+        StringBuilder content = new StringBuilder(query.length() + tasks.size() * 48);
+        content.append(query).append('\n');
+        for (TaskResponseDTO task : tasks) {
+            content.append(task.getId()).append(':').append(task.getVersion()).append(';');
+        }
+        content.append(nextCursor);
+        return WEAK_PREFIX + "\"" + DigestUtils.md5DigestAsHex(content.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    // If-None-Match uses the weak comparison, so W/ on either side is ignored
+    static boolean matches(String ifNoneMatch, String eTag) {
+        String opaque = stripWeak(eTag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // null for a missing If-Match or *; anything else must be one strong ETag from this API, or nothing can match
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            try {
+                return Long.valueOf(tag.substring(1, tag.length() - 1));
+            } catch (NumberFormatException ex) {
+                // falls through to the 412 below
+            }
+        }
+        throw new ApiException("If-Match must be a single ETag returned by this API", HttpStatus.PRECONDITION_FAILED);
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+}
@@ -0,0 +1,60 @@
+package com.brayden.todolistapi.controller.impl;
+
+import com.brayden.todolistapi.dto.TaskCursorPageDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import java.util.List;
+import java.util.TreeMap;
+
+// validators for the list and page endpoints; runs before the body is written, so a 304 skips serialization
+@ControllerAdvice(assignableTypes = TaskControllerImpl.class)
+class TaskListETagAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        Class<?> type = returnType.getParameterType();
+        return List.class.isAssignableFrom(type) || TaskCursorPageDTO.class.equals(type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!HttpMethod.GET.equals(request.getMethod()) || body == null) {
+            return body;
+        }
+        String eTag;
+        if (body instanceof TaskCursorPageDTO page) {
+            eTag = TaskETags.ofList(query(request), page.getTasks(), page.getNextCursor());
+        } else if (body instanceof List<?> tasks && tasks.stream().allMatch(TaskResponseDTO.class::isInstance)) {
+            eTag = TaskETags.ofList(query(request), (List<TaskResponseDTO>) tasks, null);
+        } else {
+            return body;
+        }
+        response.getHeaders().setETag(eTag);
+        String ifNoneMatch = request.getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch != null && TaskETags.matches(ifNoneMatch, eTag)) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return null;
+        }
+        return body;
+    }
+
+    // path and parameters, summary and sort among them; sorted, so their order in the URL doesn't matter
+    private static String query(ServerHttpRequest request) {
+        return request.getURI().getPath() + new TreeMap<>(
+                UriComponentsBuilder.fromUri(request.getURI()).build().getQueryParams());
+    }
+}
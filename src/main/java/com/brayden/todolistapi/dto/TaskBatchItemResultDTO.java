@@ -0,0 +1,15 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchItemResultDTO {
+    private int index; // position in the submitted batch
+    private String id; // set when the task was created
+    private boolean created;
+    private String error;
+}
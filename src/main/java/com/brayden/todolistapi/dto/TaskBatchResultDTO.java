@@ -0,0 +1,16 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBatchResultDTO {
+    private int created;
+    private int failed;
+    private List<TaskBatchItemResultDTO> items;
+}
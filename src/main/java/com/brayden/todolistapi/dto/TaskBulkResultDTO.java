@@ -0,0 +1,13 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskBulkResultDTO {
+    private long affected;
+    private int chunks;
+}
@@ -0,0 +1,24 @@
+package com.brayden.todolistapi.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+
+@Data
+public class TaskBulkUpdateDTO {
+    @NotNull
+    @Valid
+    private TaskFilterDTO filter;
+
+    @Pattern(regexp = "PENDING|IN_PROGRESS|COMPLETED")
+    private String status;
+
+    @Min(1)
+    @Max(5)
+    private Integer priorityLevel;
+
+    private Boolean isCompleted;
+}
@@ -0,0 +1,16 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCacheStatsDTO {
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long size;
+    private double hitRate;
+}
@@ -0,0 +1,23 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangeDTO {
+    public static final String CREATED = "CREATED";
+    public static final String UPDATED = "UPDATED";
+    public static final String DELETED = "DELETED";
+    // only on the stream, when a task falls due; its task is a summary, without the description
+    public static final String OVERDUE = "OVERDUE";
+
+    private String type; // CREATED, UPDATED or DELETED; apply CREATED and UPDATED alike, as an upsert
+    private String id;
+    private TaskResponseDTO task; // the task as it is now, null when DELETED
+    private LocalDateTime changedAt;
+}
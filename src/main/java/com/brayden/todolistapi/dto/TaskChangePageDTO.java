@@ -0,0 +1,16 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskChangePageDTO {
+    private List<TaskChangeDTO> changes;
+    private String nextCursor; // the since of the next call; the given one again when nothing has changed
+    private boolean hasMore; // more changes are ready, ask again right away instead of waiting for the next poll
+}
@@ -0,0 +1,15 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskCursorPageDTO {
+    private List<TaskResponseDTO> tasks;
+    private String nextCursor; // null on the last page
+}
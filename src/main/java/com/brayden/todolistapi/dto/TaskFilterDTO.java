@@ -0,0 +1,28 @@
+package com.brayden.todolistapi.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+public class TaskFilterDTO {
+    @Pattern(regexp = "PENDING|IN_PROGRESS|COMPLETED")
+    private String status;
+
+    @Min(1)
+    @Max(5)
+    private Integer priorityLevel;
+
+    private Boolean isCompleted;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueBefore;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdBefore;
+}
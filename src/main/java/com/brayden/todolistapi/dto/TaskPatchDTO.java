@@ -0,0 +1,86 @@
+package com.brayden.todolistapi.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.Getter;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+// fields missing from the request are not changed; a field sent as null is cleared, which only description and
+// dueDate allow
+@Data
+public class TaskPatchDTO {
+    public static final String TITLE = "title";
+    public static final String DESCRIPTION = "description";
+    public static final String PRIORITY_LEVEL = "priorityLevel";
+    public static final String STATUS = "status";
+    public static final String DUE_DATE = "dueDate";
+    public static final String IS_COMPLETED = "isCompleted";
+
+    @Size(max = 255)
+    private String title;
+
+    @Size(max = 5000)
+    private String description;
+
+    @Min(1)
+    @Max(5)
+    private Integer priorityLevel;
+
+    @Pattern(regexp = "PENDING|IN_PROGRESS|COMPLETED")
+    private String status;
+
+    private LocalDate dueDate;
+
+    private Boolean isCompleted;
+
+    // the fields the request carried, null or not: Jackson calls the setter of every property it reads
+    @Getter(AccessLevel.NONE)
+    private final Set<String> present = new HashSet<>();
+
+    public boolean has(String field) {
+        return present.contains(field);
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return present.isEmpty();
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+        present.add(TITLE);
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+        present.add(DESCRIPTION);
+    }
+
+    public void setPriorityLevel(Integer priorityLevel) {
+        this.priorityLevel = priorityLevel;
+        present.add(PRIORITY_LEVEL);
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+        present.add(STATUS);
+    }
+
+    public void setDueDate(LocalDate dueDate) {
+        this.dueDate = dueDate;
+        present.add(DUE_DATE);
+    }
+
+    public void setIsCompleted(Boolean isCompleted) {
+        this.isCompleted = isCompleted;
+        present.add(IS_COMPLETED);
+    }
+}
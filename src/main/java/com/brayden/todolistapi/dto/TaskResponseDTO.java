@@ -1,12 +1,16 @@
 package com.brayden.todolistapi.dto;
 
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 @JsonPropertyOrder({
         "id",
         "title",
@@ -16,7 +20,8 @@ import java.time.LocalDateTime;
         "dueDate",
         "isCompleted",
         "createdAt",
-        "updatedAt"
+        "updatedAt",
+        "version"
 })// this will make the values show in this order
 public class TaskResponseDTO {
     private String id;
@@ -28,4 +33,11 @@ public class TaskResponseDTO {
     private Boolean isCompleted;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
+
+    // summary projections select every column except the description
+    public TaskResponseDTO(String id, String title, Integer priorityLevel, String status, LocalDate dueDate,
+                           Boolean isCompleted, LocalDateTime createdAt, LocalDateTime updatedAt, Long version) {
+        this(id, title, null, priorityLevel, status, dueDate, isCompleted, createdAt, updatedAt, version);
+    }
 }
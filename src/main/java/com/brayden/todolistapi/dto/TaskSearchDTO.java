@@ -0,0 +1,35 @@
+package com.brayden.todolistapi.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// every criterion is optional, the ones given are combined with AND
+@Data
+public class TaskSearchDTO {
+    private List<String> status;
+
+    @Min(1)
+    @Max(5)
+    private Integer minPriority;
+
+    @Min(1)
+    @Max(5)
+    private Integer maxPriority;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dueTo;
+
+    private Boolean isCompleted;
+
+    @Size(max = 255)
+    private String title;
+}
@@ -0,0 +1,21 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsDTO {
+    private long total;
+    private Map<String, Long> byStatus;
+    private Map<Integer, Long> byPriority;
+    private long completed;
+    private long overdue;
+    private double completionRate;
+    private LocalDateTime reconciledAt;
+}
@@ -0,0 +1,18 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskWriteBehindStatsDTO {
+    private boolean enabled;
+    private int capacity;
+    private int pending; // queued or being written
+    private long accepted;
+    private long written;
+    private long failed;
+    private long rejected; // turned away with 429 because the queue was full
+}
@@ -0,0 +1,14 @@
+package com.brayden.todolistapi.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskWriteStatusDTO {
+    private String id;
+    private String status; // QUEUED, CREATED or FAILED
+    private String error; // set when FAILED
+}
@@ -2,16 +2,50 @@ package com.brayden.todolistapi.mapper;
 
 import com.brayden.todolistapi.dto.TaskRequestDTO;
 import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.model.ArchivedTask;
 import com.brayden.todolistapi.model.Task;
-import org.modelmapper.ModelMapper;
 
 
+// plain field copies, nulls are copied too (status/isCompleted defaults are filled in by Task.onCreate)
 public class MapperTask {
-    private static final ModelMapper mapper = new ModelMapper();
     public static Task dtoRequestToModel(TaskRequestDTO dto){
-        return mapper.map(dto, Task.class);
+        Task task = new Task();
+        task.setTitle(dto.getTitle());
+        task.setDescription(dto.getDescription());
+        task.setPriorityLevel(dto.getPriorityLevel());
+        task.setStatus(dto.getStatus());
+        task.setDueDate(dto.getDueDate());
+        task.setIsCompleted(dto.getIsCompleted());
+        return task;
     }
     public static TaskResponseDTO modelToResponseDto(Task task) {
-        return mapper.map(task, TaskResponseDTO.class);
+        TaskResponseDTO dto = new TaskResponseDTO();
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setPriorityLevel(task.getPriorityLevel());
+        dto.setStatus(task.getStatus());
+        dto.setDueDate(task.getDueDate());
+        dto.setIsCompleted(task.getIsCompleted());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setVersion(task.getVersion());
+        return dto;
+    }
+
+    // same response as before the move, version included, so a client's ETag still matches
+    public static TaskResponseDTO archivedToResponseDto(ArchivedTask task) {
+        TaskResponseDTO dto = new TaskResponseDTO();
+        dto.setId(task.getId());
+        dto.setTitle(task.getTitle());
+        dto.setDescription(task.getDescription());
+        dto.setPriorityLevel(task.getPriorityLevel());
+        dto.setStatus(task.getStatus());
+        dto.setDueDate(task.getDueDate());
+        dto.setIsCompleted(task.getIsCompleted());
+        dto.setCreatedAt(task.getCreatedAt());
+        dto.setUpdatedAt(task.getUpdatedAt());
+        dto.setVersion(task.getVersion());
+        return dto;
     }
 }
@@ -0,0 +1,29 @@
+package com.brayden.todolistapi.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// counts the statements Hibernate prepares on this thread between start() and stop();
+// threads that never called start(), like the schedulers and the write-behind writer, are not counted
+public class SqlStatementCounter implements StatementInspector {
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    // -1 when start() wasn't called on this thread
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? -1 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,37 @@
+package com.brayden.todolistapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.JacksonJsonHttpMessageConverter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.util.Map;
+
+// the JSON converter with the time spent writing each response body recorded, tagged with the body's type;
+// http.server.requests includes this, the controller and service timers don't
+public class TimedJsonHttpMessageConverter extends JacksonJsonHttpMessageConverter {
+    private final MeterRegistry meterRegistry;
+
+    public TimedJsonHttpMessageConverter(JsonMapper jsonMapper, MeterRegistry meterRegistry) {
+        super(jsonMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, ResolvableType resolvableType, HttpOutputMessage outputMessage,
+                                 Map<String, Object> hints) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            super.writeInternal(object, resolvableType, outputMessage, hints);
+        } finally {
+            sample.stop(Timer.builder("tasks.serialization")
+                    .description("Time spent writing a response body as JSON")
+                    .tag("type", object.getClass().getSimpleName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
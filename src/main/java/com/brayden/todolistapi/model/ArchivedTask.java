@@ -0,0 +1,56 @@
+package com.brayden.todolistapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// a completed task as it was when TaskArchiver moved it out of tasks; rows are only inserted by the move and read by id
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "tasks_archive")
+public class ArchivedTask {
+    @Id
+    @Type(TaskIdType.class)
+    @Column(columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private String id;
+
+    @Column(nullable = false, length = 255)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    @Column(name = "priority_level", nullable = false)
+    private Integer priorityLevel;
+
+    @Column(name = "due_date")
+    private LocalDate dueDate;
+
+    @Column(name = "is_completed", nullable = false)
+    private Boolean isCompleted;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Column(nullable = false) // the task's last version, kept so its ETag stays the same
+    private Long version;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -3,6 +3,9 @@ package com.brayden.todolistapi.model;
 import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -11,10 +14,15 @@ import java.time.LocalDateTime;
 @Setter
 @Entity
 @Table(name = "tasks")
+@Cacheable // only used while tasks.second-level-cache.enabled is on
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Task.ENTITY_REGION)
 public class Task {
-    @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    @Column(length = 36, nullable = false, updatable = false)
+    public static final String ENTITY_REGION = "tasks";
+    public static final String QUERY_REGION = "tasks-queries";
+
+    @Id // assigned rather than generated, so a write-behind create can hand the id out before the insert
+    @Type(TaskIdType.class)
+    @Column(columnDefinition = "BINARY(16)", nullable = false, updatable = false)
     private String id;
 
     @Column(nullable = false, length = 255)
@@ -41,8 +49,15 @@ public class Task {
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
+    @Version // null until persisted, which is also how save() tells a new task from an existing one
+    @Column(nullable = false)
+    private Long version;
+
     @PrePersist // only runs when a new task is made
     void onCreate() {
+        if (id == null) {
+            id = TaskIds.next();
+        }
         LocalDateTime now = LocalDateTime.now();
         createdAt = now; // set the createdAt timeStamp to be just before it is added to the table so that the time is correct
         updatedAt = now; // same as createdAt
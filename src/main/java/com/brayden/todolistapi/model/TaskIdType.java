@@ -0,0 +1,54 @@
+package com.brayden.todolistapi.model;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.usertype.UserType;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+
+// the id column is BINARY(16); from the entity up it stays the canonical string, so nothing above it changes.
+// a UserType rather than an AttributeConverter, Hibernate does not allow converters on an @Id
+public class TaskIdType implements UserType<String> {
+
+    @Override
+    public int getSqlType() {
+        return Types.BINARY;
+    }
+
+    @Override
+    public Class<String> returnedClass() {
+        return String.class;
+    }
+
+    @Override
+    public String nullSafeGet(ResultSet rs, int position, WrapperOptions options) throws SQLException {
+        byte[] column = rs.getBytes(position);
+        return column == null ? null : TaskIds.fromBytes(column);
+    }
+
+    @Override
+    public void nullSafeSet(PreparedStatement st, String id, int index, WrapperOptions options) throws SQLException {
+        if (id == null) {
+            st.setNull(index, Types.BINARY);
+        } else {
+            st.setBytes(index, TaskIds.toBytes(id));
+        }
+    }
+
+    @Override
+    public String deepCopy(String id) {
+        return id;
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public long getDefaultSqlLength() {
+        return 16;
+    }
+}
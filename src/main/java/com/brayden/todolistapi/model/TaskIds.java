@@ -0,0 +1,56 @@
+package com.brayden.todolistapi.model;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+// task ids are UUIDv7 (RFC 9562): the first 48 bits are the creation time in milliseconds, so ids made one after
+// another sort one after another, and an insert lands on the last page of the primary key instead of a random one;
+// they are stored as 16 bytes and shown in the canonical 36 character form
+public final class TaskIds {
+    private static final Pattern CANONICAL = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}");
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MASK = (1L << COUNTER_BITS) - 1;
+
+    // milliseconds shifted left by COUNTER_BITS, plus a counter, of the last id handed out
+    private static final AtomicLong last = new AtomicLong();
+
+    private TaskIds() {
+    }
+
+    public static String next() {
+        // the 12 bits after the version count up within a millisecond (RFC 9562 6.2, method 1), so ids from this
+        // process never go backwards; 4096 in one millisecond borrow from the next one
+        long now = System.currentTimeMillis() << COUNTER_BITS;
+        long stamp = last.updateAndGet(previous -> Math.max(previous + 1, now));
+        long mostSignificant = (stamp >>> COUNTER_BITS) << 16 | 0x7000L | (stamp & COUNTER_MASK);
+        long leastSignificant = ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+        return new UUID(mostSignificant, leastSignificant).toString();
+    }
+
+    // UUID.fromString also takes shortened groups like 1-2-3-4-5, which would not survive the round trip
+    public static boolean isValid(String id) {
+        return id != null && CANONICAL.matcher(id).matches();
+    }
+
+    // isValid takes either case, the ids handed out are lower case
+    public static String canonical(String id) {
+        return UUID.fromString(id).toString();
+    }
+
+    public static byte[] toBytes(String id) {
+        UUID uuid = UUID.fromString(id);
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
@@ -0,0 +1,28 @@
+package com.brayden.todolistapi.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Type;
+
+import java.time.LocalDateTime;
+
+// what is left of a deleted task for the change feed; written in the transaction that deletes the task
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "task_tombstones")
+public class TaskTombstone {
+    @Id // the deleted task's id, never reused since ids are UUIDv7
+    @Type(TaskIdType.class)
+    @Column(columnDefinition = "BINARY(16)", nullable = false, updatable = false)
+    private String id;
+
+    @Column(name = "deleted_at", nullable = false, updatable = false)
+    private LocalDateTime deletedAt;
+}
@@ -0,0 +1,78 @@
+package com.brayden.todolistapi.replicas;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+
+// a request that writes gets a cookie with the time until which its client's reads go to the primary, long enough
+// for the replicas to have applied the write; the rest of the request reads from the primary too. A client that
+// drops cookies may read from a replica that hasn't caught up yet. Zero stickiness turns this off
+public class ReadYourWrites {
+    public static final String COOKIE = "tasks-read-primary-until";
+    private static final String WROTE = ReadYourWrites.class.getName() + ".WROTE";
+
+    private final Duration stickiness;
+
+    public ReadYourWrites(Duration stickiness) {
+        this.stickiness = stickiness;
+    }
+
+    public boolean isPinned() {
+        HttpServletRequest request = currentRequest();
+        if (request == null || stickiness.isZero()) {
+            return false;
+        }
+        if (request.getAttribute(WROTE) != null) {
+            return true;
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    // outside a request (write-behind, the scheduled jobs) there is no client to stick to
+    public void wrote() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servlet) || stickiness.isZero()
+                || servlet.getRequest().getAttribute(WROTE) != null) {
+            return;
+        }
+        servlet.getRequest().setAttribute(WROTE, Boolean.TRUE);
+        HttpServletResponse response = servlet.getResponse();
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        long until = System.currentTimeMillis() + stickiness.toMillis();
+        ResponseCookie cookie = ResponseCookie.from(COOKIE, Long.toString(until))
+                .path("/")
+                .maxAge(stickiness)
+                .httpOnly(true)
+                .sameSite("Lax")
+                .build();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    private static HttpServletRequest currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes servlet
+                ? servlet.getRequest()
+                : null;
+    }
+}
@@ -0,0 +1,81 @@
+package com.brayden.todolistapi.replicas;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+
+// one replica's pool and what its last check found; it takes reads only while that check found it reachable and
+// no further behind than the allowed lag
+public class Replica {
+    private static final Log log = LogFactory.getLog(Replica.class);
+
+    private final String name;
+    private final DataSource dataSource;
+    // down until the first check has passed
+    private volatile boolean healthy;
+    private volatile double lagSeconds = Double.NaN;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    public double getLagSeconds() {
+        return lagSeconds;
+    }
+
+    // the query reports the lag in seconds in lagColumn, no row or a null means replication isn't running
+    public void check(String lagQuery, String lagColumn, Duration maxLag) {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery(lagQuery)) {
+            Long lag = result.next() ? result.getObject(lagColumn, Long.class) : null;
+            if (lag == null) {
+                lagSeconds = Double.NaN;
+                down("replication is not running");
+            } else if (lag * 1000 > maxLag.toMillis()) {
+                lagSeconds = lag;
+                down(lag + " s behind, more than the allowed " + maxLag.toMillis() + " ms");
+            } else {
+                lagSeconds = lag;
+                up();
+            }
+        } catch (SQLException | RuntimeException ex) {
+            lagSeconds = Double.NaN;
+            down(ex.getMessage());
+        }
+    }
+
+    // a failed connection takes the replica out right away instead of at the next check
+    public void down(String reason) {
+        if (healthy) {
+            log.warn("Replica " + name + " taken out of the read rotation: " + reason);
+        }
+        healthy = false;
+    }
+
+    private void up() {
+        if (!healthy) {
+            log.info("Replica " + name + " is taking reads");
+        }
+        healthy = true;
+    }
+}
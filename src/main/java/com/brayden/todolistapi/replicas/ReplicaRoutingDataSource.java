@@ -0,0 +1,150 @@
+package com.brayden.todolistapi.replicas;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// read-only transactions go to the healthy replicas in turn; writes, statements outside a transaction, a client that
+// wrote within the stickiness window and reads inside onPrimary go to the primary, and so does everything while no
+// replica is healthy. Sits behind a LazyConnectionDataSourceProxy, so the connection is only asked for at the first
+// statement, when the transaction's read-only flag has been set
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final Duration maxLag;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, ReadYourWrites readYourWrites,
+                                    String lagQuery, String lagColumn, Duration maxLag, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLag = maxLag;
+        this.meterRegistry = meterRegistry;
+        for (Replica replica : this.replicas) {
+            Gauge.builder("tasks.datasource.replica.lag", replica, Replica::getLagSeconds)
+                    .description("How far the replica was behind the primary at its last check")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("tasks.datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .description("1 while the replica takes reads, 0 while they go to the primary")
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+        }
+    }
+
+    // for reads whose result outlives the request, a cached task or the stats counters, which would keep a
+    // replica's lag around for longer than the lag itself
+    public static <T> T onPrimary(Supplier<T> reads) {
+        Boolean outer = PINNED.get();
+        PINNED.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            if (outer == null) {
+                PINNED.remove();
+            }
+        }
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PINNED.get() != null;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        String reason = primaryReason();
+        if (reason == null) {
+            Replica replica = nextHealthy();
+            if (replica != null) {
+                try {
+                    Connection connection = replica.getDataSource().getConnection();
+                    count(replica.getName(), "read-only");
+                    return connection;
+                } catch (SQLException ex) {
+                    replica.down(ex.getMessage()); // back in once the next check passes
+                }
+            }
+            reason = "fallback";
+        }
+        count("primary", reason);
+        return primary.getConnection();
+    }
+
+    // every pool brings its own credentials
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections are routed to pools with their own credentials");
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tasks.datasource.replicas.check-interval:1s}")
+    public void checkReplicas() {
+        replicas.forEach(replica -> replica.check(lagQuery, lagColumn, maxLag));
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    // null when a replica may serve the connection
+    private String primaryReason() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                return "no-transaction";
+            }
+            readYourWrites.wrote();
+            return "write";
+        }
+        if (PINNED.get() != null) {
+            return "pinned";
+        }
+        if (readYourWrites.isPinned()) {
+            return "sticky";
+        }
+        return null;
+    }
+
+    private Replica nextHealthy() {
+        if (replicas.isEmpty()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.isHealthy()) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private void count(String target, String reason) {
+        Counter.builder("tasks.datasource.connections")
+                .description("Connections handed out, by the pool they came from and why it was that one")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,10 @@
+package com.brayden.todolistapi.repository;
+
+import com.brayden.todolistapi.dto.TaskPatchDTO;
+
+import java.time.LocalDateTime;
+
+public interface TaskPatchRepository {
+    // UPDATE of only the non-null fields, without loading the row; returns the affected row count
+    int patch(String id, TaskPatchDTO patch, LocalDateTime updatedAt);
+}
@@ -0,0 +1,58 @@
+package com.brayden.todolistapi.repository;
+
+import com.brayden.todolistapi.dto.TaskPatchDTO;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.model.TaskIds;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class TaskPatchRepositoryImpl implements TaskPatchRepository {
+    private final EntityManager entityManager;
+
+    TaskPatchRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public int patch(String id, TaskPatchDTO patch, LocalDateTime updatedAt) {
+        // the service has rejected a null for the columns that can't be cleared
+        Map<String, Object> changes = new LinkedHashMap<>();
+        if (patch.has(TaskPatchDTO.TITLE)) {
+            changes.put("title", patch.getTitle());
+        }
+        if (patch.has(TaskPatchDTO.DESCRIPTION)) {
+            changes.put("description", patch.getDescription());
+        }
+        if (patch.has(TaskPatchDTO.PRIORITY_LEVEL)) {
+            changes.put("priority_level", patch.getPriorityLevel());
+        }
+        if (patch.has(TaskPatchDTO.STATUS)) {
+            changes.put("status", patch.getStatus().toUpperCase());
+        }
+        if (patch.has(TaskPatchDTO.DUE_DATE)) {
+            changes.put("due_date", patch.getDueDate());
+        }
+        if (patch.has(TaskPatchDTO.IS_COMPLETED)) {
+            changes.put("is_completed", patch.getIsCompleted());
+        }
+        changes.put("updated_at", updatedAt); // bulk statements skip @PreUpdate
+
+        // native SQL because Hibernate translates a JPQL or criteria UPDATE again on every execution;
+        // there are at most 64 column sets, so the driver's statement cache keeps them all
+        StringBuilder sql = new StringBuilder("UPDATE tasks SET ");
+        changes.keySet().forEach(column -> sql.append(column).append(" = :").append(column).append(", "));
+        sql.append("version = version + 1 WHERE id = :id"); // @Version only covers entity updates
+
+        // native SQL skips the entity's converter, so the id is bound as the column's 16 bytes
+        Query query = entityManager.createNativeQuery(sql.toString()).setParameter("id", TaskIds.toBytes(id));
+        changes.forEach(query::setParameter);
+        // only the tasks table is touched, so Hibernate doesn't need to invalidate any other cached data
+        query.unwrap(NativeQuery.class).addSynchronizedEntityClass(Task.class);
+        return query.executeUpdate();
+    }
+}
@@ -0,0 +1,22 @@
+package com.brayden.todolistapi.repository;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.model.Task;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+// reads that select straight into TaskResponseDTO, so no entity is hydrated or snapshotted for dirty checking;
+// with summary the description TEXT column is left out of the SELECT
+public interface TaskProjectionRepository {
+    List<TaskResponseDTO> findResponses(Specification<Task> specification, Pageable pageable, boolean summary);
+
+    // the same, kept in the query cache's Task.QUERY_REGION while tasks.second-level-cache.enabled is on; for
+    // low-cardinality filters that are asked for over and over
+    List<TaskResponseDTO> findCachedResponses(Specification<Task> specification, Pageable pageable, boolean summary);
+
+    // FULLTEXT (ngram) title search, MySQL only, best matches first
+    List<TaskResponseDTO> searchResponses(String phrase, String pattern, boolean inDescription, Pageable pageable,
+                                          boolean summary);
+}
@@ -0,0 +1,110 @@
+package com.brayden.todolistapi.repository;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.model.TaskIds;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+class TaskProjectionRepositoryImpl implements TaskProjectionRepository {
+    private static final String TITLE_MATCH = "MATCH(title) AGAINST (:phrase IN BOOLEAN MODE)";
+    private static final String TITLE_DESCRIPTION_MATCH = "MATCH(title, description) AGAINST (:phrase IN BOOLEAN MODE)";
+    private static final String SUMMARY_COLUMNS = "id, title, priority_level, status, due_date, is_completed, created_at, updated_at, version";
+    private static final String RESPONSE_COLUMNS = SUMMARY_COLUMNS + ", description";
+
+    private final EntityManager entityManager;
+
+    TaskProjectionRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<TaskResponseDTO> findResponses(Specification<Task> specification, Pageable pageable, boolean summary) {
+        return page(responses(specification, pageable, summary), pageable).getResultList();
+    }
+
+    // Hibernate drops the cached results whenever the tasks table is written through it, bulk statements included
+    @Override
+    public List<TaskResponseDTO> findCachedResponses(Specification<Task> specification, Pageable pageable,
+                                                     boolean summary) {
+        return page(responses(specification, pageable, summary), pageable)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, Task.QUERY_REGION)
+                .getResultList();
+    }
+
+    private TypedQuery<TaskResponseDTO> responses(Specification<Task> specification, Pageable pageable,
+                                                  boolean summary) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponseDTO> query = cb.createQuery(TaskResponseDTO.class);
+        Root<Task> root = query.from(Task.class);
+        query.select(summary
+                ? cb.construct(TaskResponseDTO.class, root.get("id"), root.get("title"), root.get("priorityLevel"),
+                        root.get("status"), root.get("dueDate"), root.get("isCompleted"), root.get("createdAt"),
+                        root.get("updatedAt"), root.get("version"))
+                : cb.construct(TaskResponseDTO.class, root.get("id"), root.get("title"), root.get("description"),
+                        root.get("priorityLevel"), root.get("status"), root.get("dueDate"), root.get("isCompleted"),
+                        root.get("createdAt"), root.get("updatedAt"), root.get("version")));
+        Predicate predicate = specification.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        return entityManager.createQuery(query);
+    }
+
+    // the FULLTEXT index narrows the candidates, LIKE keeps exact substring semantics on what is left
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TaskResponseDTO> searchResponses(String phrase, String pattern, boolean inDescription, Pageable pageable,
+                                                 boolean summary) {
+        String sql = inDescription
+                ? "SELECT " + (summary ? SUMMARY_COLUMNS : RESPONSE_COLUMNS) + " FROM tasks WHERE " + TITLE_DESCRIPTION_MATCH
+                + " AND (title LIKE :pattern OR description LIKE :pattern)"
+                + " ORDER BY title LIKE :pattern DESC, " + TITLE_DESCRIPTION_MATCH + " DESC, created_at DESC"
+                : "SELECT " + (summary ? SUMMARY_COLUMNS : RESPONSE_COLUMNS) + " FROM tasks WHERE " + TITLE_MATCH
+                + " AND title LIKE :pattern ORDER BY " + TITLE_MATCH + " DESC, created_at DESC";
+        Query query = entityManager.createNativeQuery(sql)
+                .setParameter("phrase", phrase)
+                .setParameter("pattern", pattern);
+        NativeQuery<TaskResponseDTO> nativeQuery = query.unwrap(NativeQuery.class);
+        nativeQuery.addScalar("id", byte[].class)
+                .addScalar("title", String.class)
+                .addScalar("priority_level", Integer.class)
+                .addScalar("status", String.class)
+                .addScalar("due_date", LocalDate.class)
+                .addScalar("is_completed", Boolean.class)
+                .addScalar("created_at", LocalDateTime.class)
+                .addScalar("updated_at", LocalDateTime.class)
+                .addScalar("version", Long.class);
+        if (!summary) {
+            nativeQuery.addScalar("description", String.class);
+        }
+        nativeQuery.setTupleTransformer((tuple, aliases) -> new TaskResponseDTO(TaskIds.fromBytes((byte[]) tuple[0]), (String) tuple[1],
+                summary ? null : (String) tuple[9], (Integer) tuple[2], (String) tuple[3], (LocalDate) tuple[4],
+                (Boolean) tuple[5], (LocalDateTime) tuple[6], (LocalDateTime) tuple[7], (Long) tuple[8]));
+        return page(query, pageable).getResultList();
+    }
+
+    private static <Q extends Query> Q page(Q query, Pageable pageable) {
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return query;
+    }
+}
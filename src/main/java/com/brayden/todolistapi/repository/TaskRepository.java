@@ -1,19 +1,56 @@
 package com.brayden.todolistapi.repository;
 
 import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.stats.TaskStatsGroup;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, String> {
-    List<Task> findByTitleContainingIgnoreCase(String title);
+public interface TaskRepository extends JpaRepository<Task, String>, JpaSpecificationExecutor<Task>,
+        TaskPatchRepository, TaskProjectionRepository {
+    String EXPORT_FETCH_SIZE = "500";
 
-    List<Task> findByStatusIgnoreCase(String status);
+    // one DELETE round trip, unlike deleteById which loads the entity first; returns the affected row count
+    @Modifying
+    @Query("delete from Task t where t.id = :id")
+    int deleteByIdReturningCount(@Param("id") String id);
 
-    List<Task> findByPriorityLevel(Integer priorityLevel);
+    // conditional delete for If-Match, a changed version leaves the row alone
+    @Modifying
+    @Query("delete from Task t where t.id = :id and t.version = :version")
+    int deleteByIdAndVersion(@Param("id") String id, @Param("version") long version);
 
-    List<Task> findByDueDate(LocalDate dueDate);
+    // answers If-None-Match without loading or serializing the task
+    @Query("select t.version from Task t where t.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
+    // no lock: deleteByIdAndVersion only succeeds if the row is still the one this read
+    @Query("select new com.brayden.todolistapi.stats.TaskStatsGroup(t.status, t.priorityLevel, t.isCompleted, t.dueDate, 1L) "
+            + "from Task t where t.id = :id and t.version = :version")
+    Optional<TaskStatsGroup> findStatsGroupByIdAndVersion(@Param("id") String id, @Param("version") long version);
+
+    @Query("select new com.brayden.todolistapi.stats.TaskStatsGroup(t.status, t.priorityLevel, t.isCompleted, t.dueDate, "
+            + "count(t)) from Task t group by t.status, t.priorityLevel, t.isCompleted, t.dueDate")
+    List<TaskStatsGroup> countStatsGroups();
+
+    // forward-only cursor, the driver only holds EXPORT_FETCH_SIZE rows at a time (needs useCursorFetch=true on MySQL)
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "IGNORE") // an export would flush the entity cache
+    })
+    @Query("select t from Task t")
+    Stream<Task> streamAll();
 }
@@ -0,0 +1,84 @@
+package com.brayden.todolistapi.repository;
+
+import com.brayden.todolistapi.model.Task;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Locale;
+
+public final class TaskSpecifications {
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TaskSpecifications() {
+    }
+
+    // status is stored upper case, a plain equality keeps idx_tasks_status_created_at usable
+    public static Specification<Task> hasStatus(String status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static Specification<Task> hasPriorityLevel(Integer priorityLevel) {
+        return (root, query, cb) -> cb.equal(root.get("priorityLevel"), priorityLevel);
+    }
+
+    public static Specification<Task> hasDueDate(LocalDate dueDate) {
+        return (root, query, cb) -> cb.equal(root.get("dueDate"), dueDate);
+    }
+
+    public static Specification<Task> hasIdIn(Collection<String> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Task> hasStatusIn(Collection<String> statuses) {
+        return (root, query, cb) -> root.get("status").in(statuses);
+    }
+
+    // either bound may be null for an open range
+    public static Specification<Task> hasPriorityLevelBetween(Integer min, Integer max) {
+        return (root, query, cb) -> {
+            if (min == null) {
+                return cb.lessThanOrEqualTo(root.get("priorityLevel"), max);
+            }
+            return max == null
+                    ? cb.greaterThanOrEqualTo(root.get("priorityLevel"), min)
+                    : cb.between(root.get("priorityLevel"), min, max);
+        };
+    }
+
+    public static Specification<Task> hasDueDateBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from == null) {
+                return cb.lessThanOrEqualTo(root.get("dueDate"), to);
+            }
+            return to == null
+                    ? cb.greaterThanOrEqualTo(root.get("dueDate"), from)
+                    : cb.between(root.get("dueDate"), from, to);
+        };
+    }
+
+    public static Specification<Task> isCompleted(Boolean completed) {
+        return (root, query, cb) -> cb.equal(root.get("isCompleted"), completed);
+    }
+
+    // lower() on both sides, so the match ignores case whatever the column's collation
+    public static Specification<Task> titleContains(String fragment) {
+        return (root, query, cb) -> cb.like(cb.lower(root.get("title")), lowerContainsPattern(fragment), LIKE_ESCAPE);
+    }
+
+    public static Specification<Task> titleOrDescriptionContains(String fragment) {
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), lowerContainsPattern(fragment), LIKE_ESCAPE),
+                cb.like(cb.lower(root.get("description")), lowerContainsPattern(fragment), LIKE_ESCAPE));
+    }
+
+    // %fragment% with the LIKE wildcards in the fragment matched literally
+    public static String containsPattern(String fragment) {
+        String escaped = fragment.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+        return "%" + escaped + "%";
+    }
+
+    private static String lowerContainsPattern(String fragment) {
+        return containsPattern(fragment.toLowerCase(Locale.ROOT));
+    }
+}
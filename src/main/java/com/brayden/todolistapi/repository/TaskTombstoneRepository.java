@@ -0,0 +1,20 @@
+package com.brayden.todolistapi.repository;
+
+import com.brayden.todolistapi.model.TaskTombstone;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+// tombstones are written with EntityManager.persist, save() would look each id up first to decide on a merge
+@Repository
+public interface TaskTombstoneRepository extends JpaRepository<TaskTombstone, String>,
+        JpaSpecificationExecutor<TaskTombstone> {
+    @Modifying
+    @Query("delete from TaskTombstone t where t.deletedAt < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,30 +1,84 @@
 package com.brayden.todolistapi.service;
 
+import com.brayden.todolistapi.dto.TaskBatchResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkUpdateDTO;
+import com.brayden.todolistapi.dto.TaskCacheStatsDTO;
+import com.brayden.todolistapi.dto.TaskChangePageDTO;
+import com.brayden.todolistapi.dto.TaskCursorPageDTO;
+import com.brayden.todolistapi.dto.TaskFilterDTO;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
 import com.brayden.todolistapi.dto.TaskRequestDTO;
 import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.dto.TaskSearchDTO;
+import com.brayden.todolistapi.dto.TaskStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteBehindStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteStatusDTO;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface TaskService {
     TaskResponseDTO createTask(TaskRequestDTO task);
 
-    List<TaskResponseDTO> findAllTasks();
+    // queues the task for the write-behind writer and returns its id before it is inserted
+    TaskWriteStatusDTO enqueueTask(TaskRequestDTO task);
 
-    List<TaskResponseDTO> findAllTasks(int page, int size, String sortBy, String direction);
+    Optional<TaskWriteStatusDTO> findWriteStatus(String id);
 
+    TaskWriteBehindStatsDTO getWriteBehindStats();
+
+    TaskBatchResultDTO createTasks(Iterable<TaskRequestDTO> tasks);
+
+    List<TaskResponseDTO> findAllTasks(boolean summary);
+
+    void exportTasks(Consumer<TaskResponseDTO> consumer);
+
+    List<TaskResponseDTO> findAllTasks(int page, int size, String sortBy, String direction, boolean summary);
+
+    TaskCursorPageDTO findAllTasksByCursor(String cursor, int size, String sortBy, String direction, boolean summary);
+
+    // tasks created, updated or deleted after the since cursor, null for everything there is
+    TaskChangePageDTO findChanges(String since, int size);
+
+    // archived tasks too; they are only found by id, and writes to them fail with 410
     Optional<TaskResponseDTO> findTaskById(String id);
 
-    List<TaskResponseDTO> findTasksByTitle(String title);
+    Optional<Long> findTaskVersion(String id);
+
+    TaskCacheStatsDTO getCacheStats();
+
+    TaskStatsDTO getStats();
+
+    List<TaskResponseDTO> findTasksByTitle(String title, boolean includeDescription, int page, int size,
+                                           boolean summary);
+
+    List<TaskResponseDTO> searchTasks(TaskSearchDTO search, int page, int size, String sortBy, String direction,
+                                      boolean summary);
+
+    List<TaskResponseDTO> findTasksByStatus(String status, boolean summary);
+
+    List<TaskResponseDTO> findTasksByPriorityLevel(Integer level, boolean summary);
+
+    List<TaskResponseDTO> findTasksByDueDate(LocalDate date, boolean summary);
+
+    // from and to are inclusive, either may be null for an open range; soonest due first
+    List<TaskResponseDTO> findTasksDueBetween(LocalDate from, LocalDate to, boolean includeCompleted, int page,
+                                              int size, boolean summary);
+
+    // open tasks due before today
+    List<TaskResponseDTO> findOverdueTasks(int page, int size, boolean summary);
 
-    List<TaskResponseDTO> findTasksByStatus(String status);
+    // expectedVersion comes from If-Match, null means unconditional
+    Optional<TaskResponseDTO> updateTask(String id, TaskRequestDTO task, Long expectedVersion);
 
-    List<TaskResponseDTO> findTasksByPriorityLevel(Integer level);
+    Optional<TaskResponseDTO> patchTask(String id, TaskPatchDTO patch);
 
-    List<TaskResponseDTO> findTasksByDueDate(LocalDate date);
+    TaskBulkResultDTO updateTasks(TaskBulkUpdateDTO update);
 
-    Optional<TaskResponseDTO> updateTask(String id, TaskRequestDTO task);
+    TaskBulkResultDTO deleteTasks(TaskFilterDTO filter);
 
-    boolean deleteTask(String id);
+    boolean deleteTask(String id, Long expectedVersion);
 }
@@ -0,0 +1,11 @@
+package com.brayden.todolistapi.service;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// one batch of open tasks that fell due before asOf since the last scan, for @EventListener beans to notify about;
+// summaries, without the description
+public record TasksOverdueEvent(LocalDate asOf, List<TaskResponseDTO> tasks) {
+}
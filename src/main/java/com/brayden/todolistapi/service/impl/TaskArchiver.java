@@ -0,0 +1,148 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskChangeDTO;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.stats.TaskStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// moves completed tasks not updated for older-than from tasks to tasks_archive, batch-size at a time: each batch locks
+// the rows it picked, copies them with INSERT ... SELECT and deletes them in one short transaction, so a task reopened
+// meanwhile is either moved as it was or left alone. Walks idx_tasks_updated_at by keyset, so old open tasks are passed
+// over once a run rather than once a batch. Only with tasks.archive.enabled; instances running it at the same time
+// wait on each other's locks, a task is still only moved once
+@Component
+@ConditionalOnProperty(name = "tasks.archive.enabled", havingValue = "true")
+public class TaskArchiver {
+    private static final Log log = LogFactory.getLog(TaskArchiver.class);
+    private static final String COPY = "insert into ArchivedTask (id, title, description, status, priorityLevel, "
+            + "dueDate, isCompleted, createdAt, updatedAt, version, archivedAt) "
+            + "select t.id, t.title, t.description, t.status, t.priorityLevel, t.dueDate, t.isCompleted, t.createdAt, "
+            + "t.updatedAt, t.version, :movedAt from Task t where t.id in :ids";
+    // to the change feed and its subscribers a moved task is a deleted one
+    private static final String TOMBSTONE = "insert into TaskTombstone (id, deletedAt) "
+            + "select t.id, :movedAt from Task t where t.id in :ids";
+    private static final String DELETE = "delete from Task t where t.id in :ids";
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskStats taskStats;
+    private final TaskChangeStream taskChangeStream;
+    private final Duration olderThan;
+    private final int batchSize;
+    private final Timer runTime;
+    private final Counter moved;
+
+    public TaskArchiver(EntityManager entityManager, PlatformTransactionManager transactionManager, TaskStats taskStats,
+                        TaskChangeStream taskChangeStream, MeterRegistry meterRegistry, @Value("${tasks.archive.older-than:365d}") Duration olderThan,
+                        @Value("${tasks.archive.batch-size:500}") int batchSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskStats = taskStats;
+        this.taskChangeStream = taskChangeStream;
+        this.olderThan = olderThan;
+        this.batchSize = batchSize;
+        this.runTime = Timer.builder("tasks.archive.run")
+                .description("Time a run moving completed tasks to the archive took")
+                .register(meterRegistry);
+        this.moved = Counter.builder("tasks.archive.moved")
+                .description("Completed tasks moved from tasks to tasks_archive")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tasks.archive.interval:1h}")
+    public int archive() {
+        return archive(LocalDateTime.now());
+    }
+
+    // synchronized against a manual call overlapping the scheduled one; batches committed before a failure stay moved
+    synchronized int archive(LocalDateTime now) {
+        LocalDateTime cutoff = now.minus(olderThan);
+        long start = System.nanoTime();
+        int rows = 0;
+        LocalDateTime lastUpdatedAt = null;
+        String lastId = null;
+        List<Tuple> batch;
+        taskStats.beginWrite();
+        try {
+            do {
+                LocalDateTime afterUpdatedAt = lastUpdatedAt;
+                String afterId = lastId;
+                LocalDateTime movedAt = LocalDateTime.now();
+                batch = transactionTemplate.execute(status -> move(cutoff, afterUpdatedAt, afterId, movedAt));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                if (taskChangeStream.hasSubscribers()) {
+                    taskChangeStream.publish(batch.stream().map(row -> new TaskChangeDTO(TaskChangeDTO.DELETED,
+                            row.get("id", String.class), null, movedAt)).toList());
+                }
+                rows += batch.size();
+                moved.increment(batch.size());
+                lastUpdatedAt = batch.get(batch.size() - 1).get("updatedAt", LocalDateTime.class);
+                lastId = batch.get(batch.size() - 1).get("id", String.class);
+            } while (batch.size() == batchSize);
+        } finally {
+            // the stats count the tasks table, the next reconcile recounts it without the moved tasks
+            taskStats.endWrite(List.of(), rows > 0);
+        }
+        runTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        log.info(rows + " completed tasks last updated before " + cutoff + " moved to tasks_archive");
+        return rows;
+    }
+
+    // a cached task needs no invalidation, it reads the same from the archive
+    private List<Tuple> move(LocalDateTime cutoff, LocalDateTime afterUpdatedAt, String afterId, LocalDateTime movedAt) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Task> root = query.from(Task.class);
+        Path<LocalDateTime> updatedAt = root.get("updatedAt");
+        Path<String> id = root.get("id");
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.lessThan(updatedAt, cutoff));
+        where.add(cb.or(cb.isTrue(root.get("isCompleted")), cb.equal(root.get("status"), "COMPLETED")));
+        if (afterUpdatedAt != null) {
+            where.add(cb.or(cb.greaterThan(updatedAt, afterUpdatedAt),
+                    cb.and(cb.equal(updatedAt, afterUpdatedAt), cb.greaterThan(id, afterId))));
+        }
+        query.select(cb.tuple(id.alias("id"), updatedAt.alias("updatedAt")))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(updatedAt), cb.asc(id));
+        List<Tuple> batch = entityManager.createQuery(query)
+                .setMaxResults(batchSize)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (batch.isEmpty()) {
+            return batch;
+        }
+        List<String> ids = batch.stream().map(row -> row.get("id", String.class)).toList();
+        entityManager.createQuery(COPY).setParameter("ids", ids).setParameter("movedAt", movedAt).executeUpdate();
+        entityManager.createQuery(TOMBSTONE).setParameter("ids", ids).setParameter("movedAt", movedAt).executeUpdate();
+        entityManager.createQuery(DELETE).setParameter("ids", ids).executeUpdate();
+        return batch;
+    }
+}
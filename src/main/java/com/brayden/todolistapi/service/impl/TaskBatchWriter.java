@@ -0,0 +1,41 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// inserts a chunk of new tasks in its own transaction; hibernate.jdbc.batch_size turns the persists into JDBC batches
+@Component
+public class TaskBatchWriter {
+    private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TaskBatchWriter(TaskRepository taskRepository, EntityManager entityManager,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${tasks.batch.chunk-size:500}") int chunkSize) {
+        this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void insert(List<Task> tasks) {
+        transactionTemplate.executeWithoutResult(status -> {
+            taskRepository.saveAll(tasks);
+            taskRepository.flush();
+            entityManager.clear(); // nothing in the chunk is read again, don't keep it managed
+        });
+    }
+}
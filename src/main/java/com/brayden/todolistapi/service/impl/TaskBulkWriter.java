@@ -0,0 +1,133 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.dto.TaskBulkUpdateDTO;
+import com.brayden.todolistapi.dto.TaskFilterDTO;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.model.TaskTombstone;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaDelete;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// set-based UPDATE/DELETE over one chunk of ids at a time, each chunk in its own short transaction
+@Component
+public class TaskBulkWriter {
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    public TaskBulkWriter(EntityManager entityManager, PlatformTransactionManager transactionManager,
+                          @Value("${tasks.bulk.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    // next chunk of matching ids in id order, walking by keyset so rows already changed or deleted are not rescanned
+    public List<String> findIds(TaskFilterDTO filter, String afterId) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<String> query = cb.createQuery(String.class);
+        Root<Task> root = query.from(Task.class);
+        List<Predicate> where = predicates(filter, root, cb);
+        if (afterId != null) {
+            where.add(cb.greaterThan(root.get("id"), afterId));
+        }
+        query.select(root.get("id"))
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.asc(root.get("id")));
+        return entityManager.createQuery(query)
+                .setMaxResults(chunkSize)
+                .getResultList();
+    }
+
+    // the filter is applied again so rows changed since findIds are left alone
+    public int update(List<String> ids, TaskFilterDTO filter, TaskBulkUpdateDTO changes, LocalDateTime updatedAt) {
+        return transactionTemplate.execute(status -> {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaUpdate<Task> update = cb.createCriteriaUpdate(Task.class);
+            Root<Task> root = update.from(Task.class);
+            if (changes.getStatus() != null) {
+                update.set(root.<String>get("status"), changes.getStatus().toUpperCase());
+            }
+            if (changes.getPriorityLevel() != null) {
+                update.set(root.<Integer>get("priorityLevel"), changes.getPriorityLevel());
+            }
+            if (changes.getIsCompleted() != null) {
+                update.set(root.<Boolean>get("isCompleted"), changes.getIsCompleted());
+            }
+            update.set(root.<LocalDateTime>get("updatedAt"), updatedAt); // bulk statements skip @PreUpdate
+            update.set(root.<Long>get("version"), cb.sum(root.<Long>get("version"), 1L)); // nor bump @Version
+            List<Predicate> where = predicates(filter, root, cb);
+            where.add(root.get("id").in(ids));
+            update.where(where.toArray(Predicate[]::new));
+            return entityManager.createQuery(update).executeUpdate();
+        });
+    }
+
+    // the rows still matching the filter are locked first, so the tombstones name exactly the tasks deleted here
+    public List<TaskTombstone> delete(List<String> ids, TaskFilterDTO filter) {
+        return transactionTemplate.execute(status -> {
+            CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+            CriteriaQuery<String> query = cb.createQuery(String.class);
+            Root<Task> root = query.from(Task.class);
+            List<Predicate> where = predicates(filter, root, cb);
+            where.add(root.get("id").in(ids));
+            query.select(root.get("id")).where(where.toArray(Predicate[]::new));
+            List<String> matching = entityManager.createQuery(query)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList();
+            if (matching.isEmpty()) {
+                return List.of();
+            }
+            CriteriaDelete<Task> delete = cb.createCriteriaDelete(Task.class);
+            delete.where(delete.from(Task.class).get("id").in(matching));
+            entityManager.createQuery(delete).executeUpdate();
+            LocalDateTime deletedAt = LocalDateTime.now();
+            List<TaskTombstone> tombstones = new ArrayList<>(matching.size());
+            for (String id : matching) {
+                TaskTombstone tombstone = new TaskTombstone(id, deletedAt);
+                entityManager.persist(tombstone);
+                tombstones.add(tombstone);
+            }
+            entityManager.flush(); // one JDBC batch of inserts, by hibernate.jdbc.batch_size
+            return tombstones;
+        });
+    }
+
+    private static List<Predicate> predicates(TaskFilterDTO filter, Root<Task> root, CriteriaBuilder cb) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getStatus() != null) {
+            predicates.add(cb.equal(root.get("status"), filter.getStatus().toUpperCase()));
+        }
+        if (filter.getPriorityLevel() != null) {
+            predicates.add(cb.equal(root.get("priorityLevel"), filter.getPriorityLevel()));
+        }
+        if (filter.getIsCompleted() != null) {
+            predicates.add(cb.equal(root.get("isCompleted"), filter.getIsCompleted()));
+        }
+        if (filter.getDueBefore() != null) {
+            predicates.add(cb.lessThan(root.<LocalDate>get("dueDate"), filter.getDueBefore()));
+        }
+        if (filter.getCreatedBefore() != null) {
+            predicates.add(cb.lessThan(root.<LocalDateTime>get("createdAt"), filter.getCreatedBefore()));
+        }
+        return predicates;
+    }
+}
@@ -0,0 +1,75 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.model.TaskIds;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// position in the change feed: when the last change handed out was made, and its id for changes made in the same
+// instant. Tasks and tombstones are walked with the same cursor, by updated_at and by deleted_at
+final class TaskChangeCursor {
+    private static final String ID = "id";
+
+    private final LocalDateTime at;
+    private final String id;
+
+    TaskChangeCursor(LocalDateTime at, String id) {
+        this.at = at;
+        this.id = id;
+    }
+
+    static TaskChangeCursor decode(String token) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 2);
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+        if (parts.length != 2 || !TaskIds.isValid(parts[1])) {
+            throw new ApiException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+        try {
+            return new TaskChangeCursor(LocalDateTime.parse(parts[0]), parts[1].toLowerCase());
+        } catch (DateTimeParseException ex) {
+            throw new ApiException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    // changes after the cursor, or all of them without one, made no later than until
+    static <T> Specification<T> between(String timeAttribute, TaskChangeCursor after, LocalDateTime until) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> time = root.get(timeAttribute);
+            Predicate settled = cb.lessThanOrEqualTo(time, until);
+            if (after == null) {
+                return settled;
+            }
+            Path<String> idPath = root.get(ID);
+            // the >= is implied by the OR, spelled out so the (time, id) index is scanned as one range
+            return cb.and(settled, cb.greaterThanOrEqualTo(time, after.at), cb.or(
+                    cb.greaterThan(time, after.at),
+                    cb.and(cb.equal(time, after.at), cb.greaterThan(idPath, after.id))));
+        };
+    }
+
+    // the order between() walks in, for merging tasks with tombstones
+    static int compare(LocalDateTime at, String id, LocalDateTime otherAt, String otherId) {
+        int byTime = at.compareTo(otherAt);
+        return byTime != 0 ? byTime : id.compareTo(otherId); // lower-case hex sorts like the stored bytes
+    }
+
+    LocalDateTime getAt() {
+        return at;
+    }
+
+    String encode() {
+        String raw = at + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
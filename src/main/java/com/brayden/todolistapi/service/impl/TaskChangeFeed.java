@@ -0,0 +1,98 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.dto.TaskChangeDTO;
+import com.brayden.todolistapi.dto.TaskChangePageDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.model.TaskTombstone;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.repository.TaskTombstoneRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// GET /tasks/changes: what was created, updated or deleted after a cursor, oldest first, from the (updated_at, id)
+// and (deleted_at, id) indexes. A change is stamped before its transaction commits, so one stamped earlier can
+// commit after one stamped later; changes younger than settle are held back for the next poll, so a cursor doesn't
+// move past one that is about to commit
+@Component
+public class TaskChangeFeed {
+    private static final Sort TASK_ORDER = Sort.by("updatedAt", "id");
+    private static final Sort TOMBSTONE_ORDER = Sort.by("deletedAt", "id");
+
+    private final TaskRepository taskRepository;
+    private final TaskTombstoneRepository taskTombstoneRepository;
+    private final Duration settle;
+    private final Duration tombstoneRetention;
+
+    public TaskChangeFeed(TaskRepository taskRepository, TaskTombstoneRepository taskTombstoneRepository,
+                          @Value("${tasks.changes.settle:2s}") Duration settle,
+                          @Value("${tasks.changes.tombstone-retention:30d}") Duration tombstoneRetention) {
+        this.taskRepository = taskRepository;
+        this.taskTombstoneRepository = taskTombstoneRepository;
+        this.settle = settle;
+        this.tombstoneRetention = tombstoneRetention;
+    }
+
+    public TaskChangePageDTO read(String since, int size) {
+        TaskChangeCursor cursor = since == null || since.isBlank() ? null : TaskChangeCursor.decode(since);
+        LocalDateTime now = LocalDateTime.now();
+        if (cursor != null && cursor.getAt().isBefore(now.minus(tombstoneRetention))) {
+            throw new ApiException("Cursor is older than the deletes kept for it, sync again without since",
+                    HttpStatus.GONE);
+        }
+        LocalDateTime settled = now.minus(settle);
+        // one extra row from each tells whether there is more without a count query
+        List<TaskResponseDTO> tasks = taskRepository.findResponses(
+                TaskChangeCursor.between("updatedAt", cursor, settled), PageRequest.of(0, size + 1, TASK_ORDER), false);
+        // a client starting from nothing has nothing to delete
+        List<TaskTombstone> tombstones = cursor == null ? List.of() : taskTombstoneRepository.findBy(
+                TaskChangeCursor.between("deletedAt", cursor, settled),
+                query -> query.sortBy(TOMBSTONE_ORDER).limit(size + 1).all());
+
+        // both are in cursor order, the page is the first size of the two merged
+        List<TaskChangeDTO> changes = new ArrayList<>(size);
+        int nextTask = 0;
+        int nextTombstone = 0;
+        while (changes.size() < size && (nextTask < tasks.size() || nextTombstone < tombstones.size())) {
+            if (nextTombstone == tombstones.size() || (nextTask < tasks.size()
+                    && before(tasks.get(nextTask), tombstones.get(nextTombstone)))) {
+                TaskResponseDTO task = tasks.get(nextTask++);
+                boolean created = cursor == null || task.getCreatedAt().isAfter(cursor.getAt());
+                changes.add(new TaskChangeDTO(created ? TaskChangeDTO.CREATED : TaskChangeDTO.UPDATED, task.getId(),
+                        task, task.getUpdatedAt()));
+            } else {
+                TaskTombstone tombstone = tombstones.get(nextTombstone++);
+                changes.add(new TaskChangeDTO(TaskChangeDTO.DELETED, tombstone.getId(), null, tombstone.getDeletedAt()));
+            }
+        }
+        boolean hasMore = nextTask < tasks.size() || nextTombstone < tombstones.size();
+        if (changes.isEmpty()) {
+            return new TaskChangePageDTO(changes, cursor == null ? null : since, false);
+        }
+        TaskChangeDTO last = changes.get(changes.size() - 1);
+        return new TaskChangePageDTO(changes, new TaskChangeCursor(last.getChangedAt(), last.getId()).encode(), hasMore);
+    }
+
+    // the retention is also how far back a cursor may be, read() turns away older ones
+    @Scheduled(fixedDelayString = "${tasks.changes.prune-interval:1h}")
+    @Transactional
+    public void pruneTombstones() {
+        taskTombstoneRepository.deleteOlderThan(LocalDateTime.now().minus(tombstoneRetention));
+    }
+
+    private static boolean before(TaskResponseDTO task, TaskTombstone tombstone) {
+        return TaskChangeCursor.compare(task.getUpdatedAt(), task.getId(), tombstone.getDeletedAt(),
+                tombstone.getId()) < 0;
+    }
+}
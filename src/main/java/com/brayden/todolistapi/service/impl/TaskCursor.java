@@ -0,0 +1,133 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.model.TaskIds;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+
+// position of the last row of a keyset page: the sort value plus the id as a tiebreaker
+final class TaskCursor {
+    private static final String ID = "id";
+    private static final String NULL_VALUE = "N";
+    private static final String PRESENT_VALUE = "V";
+
+    private static final Map<String, Function<TaskResponseDTO, Object>> VALUES = Map.of(
+            "id", TaskResponseDTO::getId,
+            "title", TaskResponseDTO::getTitle,
+            "description", TaskResponseDTO::getDescription,
+            "priorityLevel", TaskResponseDTO::getPriorityLevel,
+            "status", TaskResponseDTO::getStatus,
+            "dueDate", TaskResponseDTO::getDueDate,
+            "isCompleted", TaskResponseDTO::getIsCompleted,
+            "createdAt", TaskResponseDTO::getCreatedAt,
+            "updatedAt", TaskResponseDTO::getUpdatedAt
+    );
+    private static final Map<String, Function<String, Object>> PARSERS = Map.of(
+            "id", TaskCursor::parseId,
+            "title", value -> value,
+            "description", value -> value,
+            "priorityLevel", Integer::valueOf,
+            "status", value -> value,
+            "dueDate", LocalDate::parse,
+            "isCompleted", Boolean::valueOf,
+            "createdAt", LocalDateTime::parse,
+            "updatedAt", LocalDateTime::parse
+    );
+
+    private final String sortBy;
+    private final boolean descending;
+    private final Object value;
+    private final String id;
+
+    private TaskCursor(String sortBy, boolean descending, Object value, String id) {
+        this.sortBy = sortBy;
+        this.descending = descending;
+        this.value = value;
+        this.id = id;
+    }
+
+    static TaskCursor after(TaskResponseDTO task, String sortBy, boolean descending) {
+        return new TaskCursor(sortBy, descending, VALUES.get(sortBy).apply(task), task.getId());
+    }
+
+    static TaskCursor decode(String token, String sortBy, boolean descending) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 4);
+        } catch (IllegalArgumentException ex) {
+            throw new ApiException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+        if (parts.length != 4 || parts[3].isEmpty()) {
+            throw new ApiException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+        if (!parts[0].equals(sortBy) || !parts[1].equals(direction(descending))) {
+            throw new ApiException("Cursor does not match sortBy and direction", HttpStatus.BAD_REQUEST);
+        }
+        // the value goes last because it is free text and may contain the separator
+        Object value;
+        try {
+            value = parts[3].startsWith(NULL_VALUE) ? null : PARSERS.get(sortBy).apply(parts[3].substring(1));
+        } catch (RuntimeException ex) {
+            throw new ApiException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+        if (!TaskIds.isValid(parts[2])) {
+            throw new ApiException("Invalid cursor", HttpStatus.BAD_REQUEST);
+        }
+        return new TaskCursor(sortBy, descending, value, parts[2]);
+    }
+
+    static Sort sort(String sortBy, boolean descending) {
+        Sort sort = ID.equals(sortBy) ? Sort.by(ID) : Sort.by(sortBy, ID);
+        return descending ? sort.descending() : sort.ascending();
+    }
+
+    String encode() {
+        String encodedValue = value == null ? NULL_VALUE : PRESENT_VALUE + value;
+        String raw = sortBy + "|" + direction(descending) + "|" + id + "|" + encodedValue;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // seek predicate matching sort(); nulls sort low like MySQL, so they come first ascending and last descending
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    Specification<Task> toSpecification() {
+        return (root, query, cb) -> {
+            Path<String> idPath = root.get(ID);
+            Predicate idBeyond = descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+            if (ID.equals(sortBy)) {
+                return idBeyond;
+            }
+            Path<Comparable> field = root.get(sortBy);
+            if (value == null) {
+                Predicate restOfNulls = cb.and(cb.isNull(field), idBeyond);
+                return descending ? restOfNulls : cb.or(restOfNulls, cb.isNotNull(field));
+            }
+            Comparable comparable = (Comparable) value;
+            Predicate beyond = descending ? cb.lessThan(field, comparable) : cb.greaterThan(field, comparable);
+            Predicate tied = cb.and(cb.equal(field, comparable), idBeyond);
+            return descending ? cb.or(beyond, tied, cb.isNull(field)) : cb.or(beyond, tied);
+        };
+    }
+
+    private static String parseId(String value) {
+        if (!TaskIds.isValid(value)) {
+            throw new IllegalArgumentException(value);
+        }
+        return value;
+    }
+
+    private static String direction(boolean descending) {
+        return descending ? "desc" : "asc";
+    }
+}
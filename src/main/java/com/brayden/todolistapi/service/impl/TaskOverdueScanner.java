@@ -0,0 +1,119 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.repository.TaskSpecifications;
+import com.brayden.todolistapi.service.TasksOverdueEvent;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.criteria.Path;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// tasks only become overdue when the date turns, so each run looks at the due dates passed since the last one: open
+// tasks due in [scannedUpTo, today), walked by keyset on idx_tasks_is_completed_due_date, one batch per short
+// read-only transaction, each batch published as a TasksOverdueEvent for TaskOverdueNotifier. After a restart the
+// first run goes back lookback days, so listeners may see a task twice; a task written with a due date already past
+// is not announced.
+// Only with tasks.overdue.enabled, and on one instance, each one would announce the same tasks
+@Component
+@ConditionalOnProperty(name = "tasks.overdue.enabled", havingValue = "true")
+public class TaskOverdueScanner {
+    private static final Log log = LogFactory.getLog(TaskOverdueScanner.class);
+    private static final Sort DUE_ORDER = Sort.by("dueDate", "id");
+
+    private final TaskRepository taskRepository;
+    private final TransactionTemplate readOnly;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int batchSize;
+    private final Duration lookback;
+    private final Timer scanTime;
+    private final DistributionSummary scanRows;
+
+    // due dates before this have been scanned; null until the first run
+    private LocalDate scannedUpTo;
+
+    public TaskOverdueScanner(TaskRepository taskRepository, PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry,
+                              @Value("${tasks.overdue.batch-size:500}") int batchSize,
+                              @Value("${tasks.overdue.lookback:1d}") Duration lookback) {
+        this.taskRepository = taskRepository;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.lookback = lookback;
+        this.scanTime = Timer.builder("tasks.overdue.scan")
+                .description("Time a scan for newly overdue tasks took, runs with nothing to scan are not recorded")
+                .register(meterRegistry);
+        this.scanRows = DistributionSummary.builder("tasks.overdue.scan.rows")
+                .description("Newly overdue tasks read by one scan")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tasks.overdue.scan-interval:1m}")
+    void scan() {
+        scan(LocalDate.now());
+    }
+
+    // synchronized against a manual call overlapping the scheduled one; a failed run leaves scannedUpTo alone and
+    // the next one starts over
+    synchronized int scan(LocalDate today) {
+        LocalDate from = scannedUpTo != null ? scannedUpTo : today.minusDays(lookback.toDays());
+        if (!from.isBefore(today)) {
+            return 0;
+        }
+        long start = System.nanoTime();
+        int rows = 0;
+        TaskResponseDTO last = null;
+        List<TaskResponseDTO> batch;
+        do {
+            Specification<Task> next = TaskSpecifications.isCompleted(false)
+                    .and(TaskSpecifications.hasDueDateBetween(from, today.minusDays(1)))
+                    .and(after(last));
+            batch = readOnly.execute(status ->
+                    taskRepository.findResponses(next, PageRequest.of(0, batchSize, DUE_ORDER), true));
+            if (batch.isEmpty()) {
+                break;
+            }
+            eventPublisher.publishEvent(new TasksOverdueEvent(today, batch));
+            rows += batch.size();
+            last = batch.get(batch.size() - 1);
+        } while (batch.size() == batchSize);
+        scannedUpTo = today;
+        scanTime.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        scanRows.record(rows);
+        log.info(rows + " tasks fell due between " + from + " and " + today);
+        return rows;
+    }
+
+    // seek past the last task of the previous batch, by (due_date, id) like the index
+    private static Specification<Task> after(TaskResponseDTO last) {
+        if (last == null) {
+            return Specification.unrestricted();
+        }
+        return (root, query, cb) -> {
+            Path<LocalDate> dueDate = root.get("dueDate");
+            Path<String> id = root.get("id");
+            return cb.or(cb.greaterThan(dueDate, last.getDueDate()),
+                    cb.and(cb.equal(dueDate, last.getDueDate()), cb.greaterThan(id, last.getId())));
+        };
+    }
+}
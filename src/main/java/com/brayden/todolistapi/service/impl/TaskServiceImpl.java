@@ -1,35 +1,110 @@
 package com.brayden.todolistapi.service.impl;
 
+import com.brayden.todolistapi.cache.TaskCache;
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskBatchItemResultDTO;
+import com.brayden.todolistapi.dto.TaskBatchResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkUpdateDTO;
+import com.brayden.todolistapi.dto.TaskCacheStatsDTO;
+import com.brayden.todolistapi.dto.TaskChangeDTO;
+import com.brayden.todolistapi.dto.TaskChangePageDTO;
+import com.brayden.todolistapi.dto.TaskCursorPageDTO;
+import com.brayden.todolistapi.dto.TaskFilterDTO;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
 import com.brayden.todolistapi.dto.TaskRequestDTO;
 import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.dto.TaskSearchDTO;
+import com.brayden.todolistapi.dto.TaskStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteBehindStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteStatusDTO;
 import com.brayden.todolistapi.exception.ApiException;
 import com.brayden.todolistapi.mapper.MapperTask;
 import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.model.TaskIds;
+import com.brayden.todolistapi.model.TaskTombstone;
+import com.brayden.todolistapi.replicas.ReplicaRoutingDataSource;
+import com.brayden.todolistapi.repository.TaskArchiveRepository;
 import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.repository.TaskSpecifications;
 import com.brayden.todolistapi.service.TaskService;
+import com.brayden.todolistapi.stats.TaskStats;
+import com.brayden.todolistapi.stats.TaskStatsGroup;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "tasks.service", description = "Time spent in a task service method", histogram = true)
 @Transactional(readOnly = true)
 public class TaskServiceImpl implements TaskService {
     private static final Set<String> ALLOWED_SORT_FIELDS = Set.of(
             "id", "title", "description", "priorityLevel", "status", "dueDate", "isCompleted", "createdAt", "updatedAt"
     );
     private static final Set<String> ALLOWED_STATUS_VALUES = Set.of("PENDING", "IN_PROGRESS", "COMPLETED");
+    private static final int MIN_FULLTEXT_LENGTH = 2; // MySQL ngram_token_size
+    private static final Sort NEWEST_FIRST = Sort.by("createdAt").descending();
+    private static final Sort SOONEST_DUE_FIRST = Sort.by("dueDate", "id");
+    private static final int EXPORT_MAPPING_SAMPLE = 1000; // an export times the mapping of one row in this many
 
     private final TaskRepository taskRepository;
+    private final EntityManager entityManager;
+    private final TaskCache taskCache;
+    private final TaskBatchWriter taskBatchWriter;
+    private final TaskBulkWriter taskBulkWriter;
+    private final Validator validator;
+    private final TaskStats taskStats;
+    private final TaskWriteBehind taskWriteBehind;
+    private final TaskChangeFeed taskChangeFeed;
+    private final TaskChangeStream taskChangeStream;
+    private final TaskArchiveRepository taskArchiveRepository;
+    private final boolean queryCacheEnabled;
 
-    public TaskServiceImpl(TaskRepository taskRepository) {
+    public TaskServiceImpl(TaskRepository taskRepository, EntityManager entityManager, TaskCache taskCache,
+                           TaskBatchWriter taskBatchWriter, TaskBulkWriter taskBulkWriter, Validator validator,
+                           TaskStats taskStats, TaskWriteBehind taskWriteBehind, TaskChangeFeed taskChangeFeed,
+                           TaskChangeStream taskChangeStream, TaskArchiveRepository taskArchiveRepository,
+                           @Value("${tasks.second-level-cache.enabled:false}") boolean queryCacheEnabled) {
         this.taskRepository = taskRepository;
+        this.entityManager = entityManager;
+        this.taskCache = taskCache;
+        this.taskBatchWriter = taskBatchWriter;
+        this.taskBulkWriter = taskBulkWriter;
+        this.validator = validator;
+        this.taskStats = taskStats;
+        this.taskWriteBehind = taskWriteBehind;
+        this.taskChangeFeed = taskChangeFeed;
+        this.taskChangeStream = taskChangeStream;
+        this.taskArchiveRepository = taskArchiveRepository;
+        this.queryCacheEnabled = queryCacheEnabled;
     }
 
     @Override
@@ -37,91 +112,282 @@ public class TaskServiceImpl implements TaskService {
     public TaskResponseDTO createTask(TaskRequestDTO task) {
         validateTaskPayload(task);
         validateStatus(task.getStatus());
-        Task model = MapperTask.dtoRequestToModel(task);
-        if (model.getStatus() != null && !model.getStatus().isBlank()) {
-            model.setStatus(model.getStatus().toUpperCase());
+        Task savedTask = taskRepository.save(mapped("createTask", () -> toNewTask(task)));
+        taskCache.invalidateAfterCommit(savedTask.getId()); // drops a cached not-found for this id
+        taskStats.recordAfterCommit(null, TaskStatsGroup.of(savedTask));
+        TaskChangeDTO created = mapped("createTask", () -> createdChange(savedTask));
+        taskChangeStream.publishAfterCommit(created);
+        return created.getTask();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // only queues, the writer thread takes the connection
+    public TaskWriteStatusDTO enqueueTask(TaskRequestDTO task) {
+        if (!taskWriteBehind.isEnabled()) {
+            throw new ApiException("Asynchronous task creation is not enabled", HttpStatus.NOT_FOUND);
+        }
+        validateTaskPayload(task);
+        validateStatus(task.getStatus());
+        Task model = toNewTask(task);
+        model.setId(TaskIds.next()); // handed out before the insert, so the caller can ask about it
+        taskWriteBehind.enqueue(model);
+        return new TaskWriteStatusDTO(model.getId(), TaskWriteBehind.QUEUED, null);
+    }
+
+    @Override
+    public Optional<TaskWriteStatusDTO> findWriteStatus(String requestedId) {
+        String id = validateId(requestedId);
+        TaskWriteStatusDTO status = taskWriteBehind.status(id);
+        if (status != null) {
+            return Optional.of(status);
+        }
+        // from the primary, the row a write-behind batch just committed may not have reached a replica yet
+        return ReplicaRoutingDataSource.onPrimary(() -> taskRepository.existsById(id))
+                ? Optional.of(new TaskWriteStatusDTO(id, TaskWriteBehind.CREATED, null))
+                : Optional.empty();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // in-memory counters
+    public TaskWriteBehindStatsDTO getWriteBehindStats() {
+        return taskWriteBehind.stats();
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // each chunk commits on its own in TaskBatchWriter
+    public TaskBatchResultDTO createTasks(Iterable<TaskRequestDTO> tasks) {
+        List<TaskBatchItemResultDTO> results = new ArrayList<>();
+        List<Task> chunk = new ArrayList<>(taskBatchWriter.getChunkSize());
+        List<Integer> chunkIndexes = new ArrayList<>(taskBatchWriter.getChunkSize());
+        Iterator<TaskRequestDTO> iterator = tasks.iterator();
+        for (int index = 0; ; index++) {
+            TaskRequestDTO task;
+            try {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                task = iterator.next();
+            } catch (RuntimeException ex) {
+                // a streamed body can turn unreadable half way, report it and keep what was already inserted
+                results.add(new TaskBatchItemResultDTO(index, null, false, "Unreadable item: " + ex.getMessage()));
+                break;
+            }
+            String error = validateBatchItem(task);
+            if (error != null) {
+                results.add(new TaskBatchItemResultDTO(index, null, false, error));
+                continue;
+            }
+            chunk.add(toNewTask(task));
+            chunkIndexes.add(index);
+            if (chunk.size() == taskBatchWriter.getChunkSize()) {
+                insertChunk(chunk, chunkIndexes, results);
+            }
         }
-        Task savedTask = taskRepository.save(model);
-        return MapperTask.modelToResponseDto(savedTask);
+        insertChunk(chunk, chunkIndexes, results);
+
+        results.sort(Comparator.comparingInt(TaskBatchItemResultDTO::getIndex));
+        int created = (int) results.stream().filter(TaskBatchItemResultDTO::isCreated).count();
+        return new TaskBatchResultDTO(created, results.size() - created, results);
+    }
+
+    @Override
+    public List<TaskResponseDTO> findAllTasks(boolean summary) {
+        return taskRepository.findResponses(Specification.unrestricted(), Pageable.unpaged(), summary);
     }
 
     @Override
-    public List<TaskResponseDTO> findAllTasks() {
-        return taskRepository.findAll()
-                .stream()
-                .map(MapperTask::modelToResponseDto)
-                .toList();
+    public void exportTasks(Consumer<TaskResponseDTO> consumer) {
+        long[] rows = {0};
+        try (Stream<Task> tasks = taskRepository.streamAll()) {
+            tasks.forEach(task -> {
+                consumer.accept(rows[0]++ % EXPORT_MAPPING_SAMPLE == 0
+                        ? mapped("exportTasks", () -> MapperTask.modelToResponseDto(task))
+                        : MapperTask.modelToResponseDto(task));
+                entityManager.detach(task); // keeps the persistence context from growing with the table
+            });
+        }
     }
 
     @Override
-    public List<TaskResponseDTO> findAllTasks(int page, int size, String sortBy, String direction) {
+    public List<TaskResponseDTO> findAllTasks(int page, int size, String sortBy, String direction, boolean summary) {
         validatePageAndSize(page, size);
         validateSort(sortBy, direction);
-        Sort sort = "desc".equalsIgnoreCase(direction)
-                ? Sort.by(sortBy).descending()
-                : Sort.by(sortBy).ascending();
+        Sort sort = TaskCursor.sort(sortBy, "desc".equalsIgnoreCase(direction)); // id keeps pages stable on ties
+        return taskRepository.findResponses(Specification.unrestricted(), PageRequest.of(page, size, sort), summary);
+    }
 
-        return taskRepository.findAll(PageRequest.of(page, size, sort))
-                .stream()
-                .map(MapperTask::modelToResponseDto)
-                .toList();
+    @Override
+    public TaskCursorPageDTO findAllTasksByCursor(String cursor, int size, String sortBy, String direction,
+                                                  boolean summary) {
+        validateSize(size);
+        validateSort(sortBy, direction);
+        boolean descending = "desc".equalsIgnoreCase(direction);
+        Specification<Task> seek = cursor == null || cursor.isBlank()
+                ? Specification.unrestricted()
+                : TaskCursor.decode(cursor, sortBy, descending).toSpecification();
+
+        // the next cursor carries the sort value, so a description sort reads the column even for summaries
+        boolean sortedByDescription = TaskPatchDTO.DESCRIPTION.equals(sortBy);
+        // one extra row tells us whether there is a next page without a count query
+        List<TaskResponseDTO> tasks = taskRepository.findResponses(seek,
+                PageRequest.of(0, size + 1, TaskCursor.sort(sortBy, descending)), summary && !sortedByDescription);
+        boolean hasNext = tasks.size() > size;
+        List<TaskResponseDTO> page = hasNext ? tasks.subList(0, size) : tasks;
+        String nextCursor = hasNext ? TaskCursor.after(page.get(size - 1), sortBy, descending).encode() : null;
+        if (summary && sortedByDescription) {
+            page.forEach(task -> task.setDescription(null));
+        }
+        return new TaskCursorPageDTO(page, nextCursor);
+    }
+
+    @Override
+    public TaskChangePageDTO findChanges(String since, int size) {
+        validateSize(size);
+        // a replica's lag would let the cursor pass changes it hasn't received yet, and they'd never be handed out
+        return ReplicaRoutingDataSource.onPrimary(() -> taskChangeFeed.read(since, size));
+    }
+
+    @Override
+    public TaskStatsDTO getStats() {
+        // the last known counts, even while stale: recounting is TaskStatsReconciler's job, not the request's
+        return taskStats.snapshot(LocalDate.now());
     }
 
     @Override
-    public Optional<TaskResponseDTO> findTaskById(String id) {
-        validateId(id);
-        return taskRepository.findById(id).map(MapperTask::modelToResponseDto);
+    public Optional<TaskResponseDTO> findTaskById(String requestedId) {
+        String id = validateId(requestedId);
+        // a cached task outlives a replica's lag, so it is loaded from the primary. A miss is looked up in the archive
+        // in the same transaction; under REPEATABLE READ both reads see one snapshot, so a task being archived
+        // meanwhile is found in one of them
+        return taskCache.get(id, () -> ReplicaRoutingDataSource.onPrimary(
+                () -> taskRepository.findById(id)
+                        .map(task -> mapped("findTaskById", () -> MapperTask.modelToResponseDto(task)))
+                        .or(() -> taskArchiveRepository.findById(id)
+                                .map(task -> mapped("findTaskById", () -> MapperTask.archivedToResponseDto(task))))));
     }
 
     @Override
-    public List<TaskResponseDTO> findTasksByTitle(String title) {
+    public Optional<Long> findTaskVersion(String requestedId) {
+        String id = validateId(requestedId);
+        TaskResponseDTO cached = taskCache.peek(id);
+        if (cached != null) {
+            return Optional.ofNullable(cached.getVersion());
+        }
+        // from the primary like the task itself: a lagging replica's older version would answer a stale
+        // If-None-Match with 304
+        return ReplicaRoutingDataSource.onPrimary(
+                () -> taskRepository.findVersionById(id).or(() -> taskArchiveRepository.findVersionById(id)));
+    }
+
+    @Override
+    public TaskCacheStatsDTO getCacheStats() {
+        return taskCache.stats();
+    }
+
+    @Override
+    public List<TaskResponseDTO> findTasksByTitle(String title, boolean includeDescription, int page, int size,
+                                                  boolean summary) {
         if (title == null || title.isBlank()) {
             throw new ApiException("Title must not be blank", HttpStatus.BAD_REQUEST);
         }
-        return taskRepository.findByTitleContainingIgnoreCase(title)
-                .stream()
-                .map(MapperTask::modelToResponseDto)
-                .toList();
+        validatePageAndSize(page, size);
+        String fragment = title.trim();
+
+        // the ngram index can't serve fragments shorter than a token, and a quote would end the phrase early
+        if (fragment.length() < MIN_FULLTEXT_LENGTH || fragment.contains("\"")) {
+            Specification<Task> contains = includeDescription
+                    ? TaskSpecifications.titleOrDescriptionContains(fragment)
+                    : TaskSpecifications.titleContains(fragment);
+            return taskRepository.findResponses(contains, PageRequest.of(page, size, NEWEST_FIRST), summary);
+        }
+        String phrase = "\"" + fragment + "\"";
+        return taskRepository.searchResponses(phrase, TaskSpecifications.containsPattern(fragment), includeDescription,
+                PageRequest.of(page, size), summary);
     }
 
     @Override
-    public List<TaskResponseDTO> findTasksByStatus(String status) {
+    public List<TaskResponseDTO> searchTasks(TaskSearchDTO search, int page, int size, String sortBy, String direction,
+                                             boolean summary) {
+        if (search == null) {
+            throw new ApiException("Search criteria are required", HttpStatus.BAD_REQUEST);
+        }
+        validatePageAndSize(page, size);
+        validateSort(sortBy, direction);
+        Sort sort = TaskCursor.sort(sortBy, "desc".equalsIgnoreCase(direction)); // id keeps pages stable on ties
+        return taskRepository.findResponses(searchSpecification(search), PageRequest.of(page, size, sort), summary);
+    }
+
+    @Override
+    public List<TaskResponseDTO> findTasksByStatus(String status, boolean summary) {
         validateStatus(status);
-        return taskRepository.findByStatusIgnoreCase(status)
-                .stream()
-                .map(MapperTask::modelToResponseDto)
-                .toList();
+        // three statuses and five levels, dashboards ask for the same few lists over and over
+        return fromQueryCache(() -> taskRepository.findCachedResponses(
+                TaskSpecifications.hasStatus(status == null ? null : status.toUpperCase()), Pageable.unpaged(NEWEST_FIRST),
+                summary));
     }
 
     @Override
-    public List<TaskResponseDTO> findTasksByPriorityLevel(Integer level) {
+    public List<TaskResponseDTO> findTasksByPriorityLevel(Integer level, boolean summary) {
         if (level == null || level < 1 || level > 5) {
             throw new ApiException("Priority level must be between 1 and 5", HttpStatus.BAD_REQUEST);
         }
-        return taskRepository.findByPriorityLevel(level)
-                .stream()
-                .map(MapperTask::modelToResponseDto)
-                .toList();
+        return fromQueryCache(() -> taskRepository.findCachedResponses(
+                TaskSpecifications.hasPriorityLevel(level), Pageable.unpaged(NEWEST_FIRST), summary));
+    }
+
+    // a cached result outlives a replica's lag, so it is read from the primary; without the query cache nothing
+    // outlives the request and the read may go to a replica like any other
+    private <T> T fromQueryCache(Supplier<T> read) {
+        return queryCacheEnabled ? ReplicaRoutingDataSource.onPrimary(read) : read.get();
     }
 
     @Override
-    public List<TaskResponseDTO> findTasksByDueDate(LocalDate date) {
+    public List<TaskResponseDTO> findTasksByDueDate(LocalDate date, boolean summary) {
         if (date == null) {
             throw new ApiException("Due date is required", HttpStatus.BAD_REQUEST);
         }
-        return taskRepository.findByDueDate(date)
-                .stream()
-                .map(MapperTask::modelToResponseDto)
-                .toList();
+        return taskRepository.findResponses(TaskSpecifications.hasDueDate(date), Pageable.unpaged(NEWEST_FIRST), summary);
+    }
+
+    @Override
+    public List<TaskResponseDTO> findTasksDueBetween(LocalDate from, LocalDate to, boolean includeCompleted, int page,
+                                                     int size, boolean summary) {
+        if (from == null && to == null) {
+            throw new ApiException("At least one of from and to is required", HttpStatus.BAD_REQUEST);
+        }
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new ApiException("from must not be after to", HttpStatus.BAD_REQUEST);
+        }
+        validatePageAndSize(page, size);
+        // open tasks walk idx_tasks_is_completed_due_date in order; with completed ones too it's a due date range
+        Specification<Task> due = TaskSpecifications.hasDueDateBetween(from, to);
+        return taskRepository.findResponses(includeCompleted ? due : due.and(TaskSpecifications.isCompleted(false)),
+                PageRequest.of(page, size, SOONEST_DUE_FIRST), summary);
+    }
+
+    @Override
+    public List<TaskResponseDTO> findOverdueTasks(int page, int size, boolean summary) {
+        return findTasksDueBetween(null, LocalDate.now().minusDays(1), false, page, size, summary);
     }
 
     @Override
     @Transactional
-    public Optional<TaskResponseDTO> updateTask(String id, TaskRequestDTO task) {
-        validateId(id);
+    public Optional<TaskResponseDTO> updateTask(String requestedId, TaskRequestDTO task, Long expectedVersion) {
+        String id = validateId(requestedId);
         validateTaskPayload(task);
         validateStatus(task.getStatus());
-        return taskRepository.findById(id).map(existingTask -> {
+        Optional<Task> found = taskRepository.findById(id);
+        if (found.isEmpty()) {
+            rejectIfArchived(id);
+            return Optional.empty();
+        }
+        // no lock: the version check in the UPDATE turns a lost race into a 412 for If-Match writers and a 409 for
+        // the others, so the counted columns read here are the ones the UPDATE replaced
+        return found.map(existingTask -> {
+            if (expectedVersion != null && !expectedVersion.equals(existingTask.getVersion())) {
+                throw versionMismatch(id);
+            }
+            TaskStatsGroup before = TaskStatsGroup.of(existingTask);
             existingTask.setTitle(task.getTitle());
             existingTask.setDescription(task.getDescription());
             existingTask.setPriorityLevel(task.getPriorityLevel());
@@ -132,26 +398,308 @@ public class TaskServiceImpl implements TaskService {
             if (task.getStatus() != null && !task.getStatus().isBlank()) {
                 existingTask.setStatus(task.getStatus().toUpperCase());
             }
-            Task updatedTask = taskRepository.save(existingTask);
-            return MapperTask.modelToResponseDto(updatedTask);
+            Task updatedTask;
+            try {
+                updatedTask = taskRepository.saveAndFlush(existingTask); // flushed so the response has the new version
+            } catch (OptimisticLockingFailureException ex) {
+                throw expectedVersion != null ? versionMismatch(id) : new ApiException(
+                        "Task " + id + " was changed by another request, try again", HttpStatus.CONFLICT);
+            }
+            taskCache.invalidateAfterCommit(id);
+            taskStats.recordAfterCommit(before, TaskStatsGroup.of(updatedTask));
+            TaskResponseDTO updated = mapped("updateTask", () -> MapperTask.modelToResponseDto(updatedTask));
+            taskChangeStream.publishAfterCommit(new TaskChangeDTO(TaskChangeDTO.UPDATED, id, updated,
+                    updated.getUpdatedAt()));
+            return updated;
         });
     }
 
     @Override
     @Transactional
-    public boolean deleteTask(String id) {
-        validateId(id);
-        if (!taskRepository.existsById(id)) {
+    public Optional<TaskResponseDTO> patchTask(String requestedId, TaskPatchDTO patch) {
+        String id = validateId(requestedId);
+        if (patch == null) {
+            throw new ApiException("Task payload is required", HttpStatus.BAD_REQUEST);
+        }
+        if (patch.isEmpty()) {
+            throw new ApiException("Patch must change at least one field", HttpStatus.BAD_REQUEST);
+        }
+        if (patch.has(TaskPatchDTO.TITLE) && (patch.getTitle() == null || patch.getTitle().isBlank())) {
+            throw new ApiException("Title must not be blank", HttpStatus.BAD_REQUEST);
+        }
+        if (patch.has(TaskPatchDTO.PRIORITY_LEVEL) && patch.getPriorityLevel() == null
+                || patch.has(TaskPatchDTO.STATUS) && patch.getStatus() == null
+                || patch.has(TaskPatchDTO.IS_COMPLETED) && patch.getIsCompleted() == null) {
+            throw new ApiException("Only description and dueDate can be cleared with null", HttpStatus.BAD_REQUEST);
+        }
+        validateStatus(patch.getStatus());
+        if (taskRepository.patch(id, patch, LocalDateTime.now()) == 0) {
+            rejectIfArchived(id);
+            return Optional.empty();
+        }
+        taskCache.invalidateAfterCommit(id);
+        // the old values aren't read, so a change to a counted column leaves the counters to the next reconcile;
+        // a title or description change doesn't move any counter
+        if (patch.has(TaskPatchDTO.PRIORITY_LEVEL) || patch.has(TaskPatchDTO.STATUS) || patch.has(TaskPatchDTO.DUE_DATE)
+                || patch.has(TaskPatchDTO.IS_COMPLETED)) {
+            taskStats.markStaleAfterCommit();
+        }
+        // nothing was loaded before the UPDATE, so this is a fresh read of the new row
+        Optional<TaskResponseDTO> updated = taskRepository.findById(id)
+                .map(task -> mapped("patchTask", () -> MapperTask.modelToResponseDto(task)));
+        updated.ifPresent(task -> taskChangeStream.publishAfterCommit(new TaskChangeDTO(TaskChangeDTO.UPDATED, id,
+                task, task.getUpdatedAt())));
+        return updated;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // each chunk commits on its own in TaskBulkWriter
+    public TaskBulkResultDTO updateTasks(TaskBulkUpdateDTO update) {
+        if (update == null) {
+            throw new ApiException("Bulk update payload is required", HttpStatus.BAD_REQUEST);
+        }
+        validateBulkFilter(update.getFilter());
+        if (update.getStatus() == null && update.getPriorityLevel() == null && update.getIsCompleted() == null) {
+            throw new ApiException("Bulk update must change status, priorityLevel or isCompleted", HttpStatus.BAD_REQUEST);
+        }
+        validateStatus(update.getStatus());
+        // what Task.onUpdate would set, per chunk: stamped just before its commit, like any other write, so the
+        // change feed doesn't pass it by while it waits behind earlier chunks
+        return inChunks(update.getFilter(), ids -> {
+            int updated = taskBulkWriter.update(ids, update.getFilter(), update, LocalDateTime.now());
+            if (updated > 0 && taskChangeStream.hasSubscribers()) {
+                // the UPDATE doesn't say which of the ids still matched, so all of them are sent as they are now
+                taskChangeStream.publish(taskRepository.findResponses(TaskSpecifications.hasIdIn(ids),
+                                Pageable.unpaged(), false).stream()
+                        .map(task -> new TaskChangeDTO(TaskChangeDTO.UPDATED, task.getId(), task, task.getUpdatedAt()))
+                        .toList());
+            }
+            return updated;
+        });
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // each chunk commits on its own in TaskBulkWriter
+    public TaskBulkResultDTO deleteTasks(TaskFilterDTO filter) {
+        validateBulkFilter(filter);
+        return inChunks(filter, ids -> {
+            List<TaskTombstone> deleted = taskBulkWriter.delete(ids, filter);
+            if (taskChangeStream.hasSubscribers()) {
+                taskChangeStream.publish(deleted.stream().map(TaskServiceImpl::deletedChange).toList());
+            }
+            return deleted.size();
+        });
+    }
+
+    @Override
+    @Transactional
+    public boolean deleteTask(String requestedId, Long expectedVersion) {
+        String id = validateId(requestedId);
+        if (expectedVersion != null) {
+            Optional<TaskStatsGroup> deleted = taskRepository.findStatsGroupByIdAndVersion(id, expectedVersion);
+            if (deleted.isEmpty()) {
+                if (!taskRepository.existsById(id)) {
+                    rejectIfArchived(id);
+                    return false;
+                }
+                throw versionMismatch(id);
+            }
+            if (taskRepository.deleteByIdAndVersion(id, expectedVersion) == 0) {
+                throw versionMismatch(id);
+            }
+            recordDelete(id, deleted.get());
+            return true;
+        }
+        // one DELETE; what it removed isn't known, so the counters wait for the next reconcile
+        if (taskRepository.deleteByIdReturningCount(id) == 0) {
+            rejectIfArchived(id);
             return false;
         }
-        taskRepository.deleteById(id);
+        recordDelete(id, null);
         return true;
     }
 
-    private void validateId(String id) {
+    // only asked once the tasks table came up empty: an archived task is still found by id but can't be written,
+    // it already has its tombstone
+    private void rejectIfArchived(String id) {
+        if (taskArchiveRepository.existsById(id)) {
+            throw new ApiException("Task " + id + " is archived and can only be read", HttpStatus.GONE);
+        }
+    }
+
+    // only one transaction can have deleted the row, so the tombstone's id can't be taken yet; group is null when
+    // the deleted row wasn't read
+    private void recordDelete(String id, TaskStatsGroup group) {
+        TaskTombstone tombstone = new TaskTombstone(id, LocalDateTime.now());
+        entityManager.persist(tombstone);
+        taskCache.invalidateAfterCommit(id);
+        if (group != null) {
+            taskStats.recordAfterCommit(group, null);
+        } else {
+            taskStats.markStaleAfterCommit();
+        }
+        taskChangeStream.publishAfterCommit(deletedChange(tombstone));
+    }
+
+    static TaskChangeDTO createdChange(Task task) {
+        TaskResponseDTO created = MapperTask.modelToResponseDto(task);
+        return new TaskChangeDTO(TaskChangeDTO.CREATED, created.getId(), created, created.getUpdatedAt());
+    }
+
+    private static TaskChangeDTO deletedChange(TaskTombstone tombstone) {
+        return new TaskChangeDTO(TaskChangeDTO.DELETED, tombstone.getId(), null, tombstone.getDeletedAt());
+    }
+
+    private static ApiException versionMismatch(String id) {
+        return new ApiException("Task " + id + " has changed since the given If-Match version", HttpStatus.PRECONDITION_FAILED);
+    }
+
+    // once around a request's or a chunk's mapping: a copy takes nanoseconds, a timer per row cost as much again. On
+    // the global registry like the mapper used to be; Boot adds its registry there, elsewhere it's a no-op
+    private static <T> T mapped(String method, Supplier<T> mapping) {
+        return Timer.builder("tasks.mapper")
+                .description("Time spent copying between tasks and their DTOs")
+                .tag("method", method)
+                .register(Metrics.globalRegistry)
+                .record(mapping);
+    }
+
+    private Task toNewTask(TaskRequestDTO task) {
+        Task model = MapperTask.dtoRequestToModel(task);
+        if (model.getStatus() != null && !model.getStatus().isBlank()) {
+            model.setStatus(model.getStatus().toUpperCase());
+        }
+        return model;
+    }
+
+    private void insertChunk(List<Task> chunk, List<Integer> chunkIndexes, List<TaskBatchItemResultDTO> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<TaskStatsGroup> created = new ArrayList<>(chunk.size());
+        taskStats.beginWrite();
+        try {
+            taskBatchWriter.insert(chunk);
+            if (taskChangeStream.hasSubscribers()) {
+                taskChangeStream.publish(mapped("createTasks",
+                        () -> chunk.stream().map(TaskServiceImpl::createdChange).toList()));
+            }
+            for (int i = 0; i < chunk.size(); i++) {
+                String id = chunk.get(i).getId();
+                taskCache.invalidate(id); // already committed, same reason as in createTask
+                created.add(TaskStatsGroup.of(chunk.get(i)));
+                results.add(new TaskBatchItemResultDTO(chunkIndexes.get(i), id, true, null));
+            }
+        } catch (RuntimeException ex) {
+            String error = "Insert failed: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+            for (Integer index : chunkIndexes) {
+                results.add(new TaskBatchItemResultDTO(index, null, false, error));
+            }
+        } finally {
+            taskStats.endWrite(created, false);
+        }
+        chunk.clear();
+        chunkIndexes.clear();
+    }
+
+    // keyset walk over the matching ids so every statement touches and locks at most one chunk of rows
+    private TaskBulkResultDTO inChunks(TaskFilterDTO filter, ToIntFunction<List<String>> mutation) {
+        long affected = 0;
+        int chunks = 0;
+        String afterId = null;
+        List<String> ids;
+        taskStats.beginWrite();
+        try {
+            do {
+                ids = taskBulkWriter.findIds(filter, afterId);
+                if (ids.isEmpty()) {
+                    break;
+                }
+                affected += mutation.applyAsInt(ids);
+                chunks++;
+                ids.forEach(taskCache::invalidate); // the chunk has committed
+                afterId = ids.get(ids.size() - 1);
+            } while (ids.size() == taskBulkWriter.getChunkSize());
+        } finally {
+            // the statements don't say which rows they changed from what, so the next reconcile recounts
+            taskStats.endWrite(List.of(), affected > 0);
+        }
+        return new TaskBulkResultDTO(affected, chunks);
+    }
+
+    private Specification<Task> searchSpecification(TaskSearchDTO search) {
+        List<Specification<Task>> criteria = new ArrayList<>();
+        if (search.getStatus() != null) {
+            // sorted and deduplicated, so the same set of statuses always binds the same IN list
+            Set<String> statuses = new TreeSet<>();
+            for (String status : search.getStatus()) {
+                validateStatus(status);
+                if (status != null && !status.isBlank()) {
+                    statuses.add(status.toUpperCase());
+                }
+            }
+            if (!statuses.isEmpty()) {
+                criteria.add(TaskSpecifications.hasStatusIn(statuses));
+            }
+        }
+        if (search.getMinPriority() != null || search.getMaxPriority() != null) {
+            if (search.getMinPriority() != null && search.getMaxPriority() != null
+                    && search.getMinPriority() > search.getMaxPriority()) {
+                throw new ApiException("minPriority must not be greater than maxPriority", HttpStatus.BAD_REQUEST);
+            }
+            criteria.add(TaskSpecifications.hasPriorityLevelBetween(search.getMinPriority(), search.getMaxPriority()));
+        }
+        if (search.getDueFrom() != null || search.getDueTo() != null) {
+            if (search.getDueFrom() != null && search.getDueTo() != null && search.getDueFrom().isAfter(search.getDueTo())) {
+                throw new ApiException("dueFrom must not be after dueTo", HttpStatus.BAD_REQUEST);
+            }
+            criteria.add(TaskSpecifications.hasDueDateBetween(search.getDueFrom(), search.getDueTo()));
+        }
+        if (search.getIsCompleted() != null) {
+            criteria.add(TaskSpecifications.isCompleted(search.getIsCompleted()));
+        }
+        if (search.getTitle() != null && !search.getTitle().isBlank()) {
+            criteria.add(TaskSpecifications.titleContains(search.getTitle().trim()));
+        }
+        return Specification.allOf(criteria);
+    }
+
+    private void validateBulkFilter(TaskFilterDTO filter) {
+        if (filter == null || (filter.getStatus() == null && filter.getPriorityLevel() == null
+                && filter.getIsCompleted() == null && filter.getDueBefore() == null && filter.getCreatedBefore() == null)) {
+            // an empty filter would touch every task
+            throw new ApiException("Bulk filter must have at least one criterion", HttpStatus.BAD_REQUEST);
+        }
+        validateStatus(filter.getStatus());
+    }
+
+    // same checks createTask gets from @Valid and validateStatus, as a message instead of an exception
+    private String validateBatchItem(TaskRequestDTO task) {
+        if (task == null) {
+            return "Task payload is required";
+        }
+        Set<ConstraintViolation<TaskRequestDTO>> violations = validator.validate(task);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<TaskRequestDTO> violation = violations.iterator().next();
+            return violation.getPropertyPath() + ": " + violation.getMessage();
+        }
+        try {
+            validateStatus(task.getStatus());
+        } catch (ApiException ex) {
+            return ex.getMessage();
+        }
+        return null;
+    }
+
+    // the id in its canonical lower case form, so the cache, the queue, ETags and change events see one key per task
+    private String validateId(String id) {
         if (id == null || id.isBlank()) {
             throw new ApiException("Task id must not be blank", HttpStatus.BAD_REQUEST);
         }
+        if (!TaskIds.isValid(id)) {
+            throw new ApiException("Task id must be a UUID", HttpStatus.BAD_REQUEST);
+        }
+        return TaskIds.canonical(id);
     }
 
     private void validateTaskPayload(TaskRequestDTO task) {
@@ -160,16 +708,20 @@ public class TaskServiceImpl implements TaskService {
         }
     }
 
-    private void validatePageAndSize(int page, int size) {
+    void validatePageAndSize(int page, int size) {
         if (page < 0) {
             throw new ApiException("Page must be greater than or equal to 0", HttpStatus.BAD_REQUEST);
         }
+        validateSize(size);
+    }
+
+    private void validateSize(int size) {
         if (size < 1 || size > 100) {
             throw new ApiException("Size must be between 1 and 100", HttpStatus.BAD_REQUEST);
         }
     }
 
-    private void validateSort(String sortBy, String direction) {
+    void validateSort(String sortBy, String direction) {
         if (sortBy == null || !ALLOWED_SORT_FIELDS.contains(sortBy)) {
             throw new ApiException("Invalid sort field: " + sortBy, HttpStatus.BAD_REQUEST);
         }
@@ -178,7 +730,7 @@ public class TaskServiceImpl implements TaskService {
         }
     }
 
-    private void validateStatus(String status) {
+    void validateStatus(String status) {
         if (status == null || status.isBlank()) {
             return;
         }
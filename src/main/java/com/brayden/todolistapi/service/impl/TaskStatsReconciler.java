@@ -0,0 +1,37 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.replicas.ReplicaRoutingDataSource;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.stats.TaskStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// recounts with a GROUP BY now and then, so a missed or lost update can't leave the counters off for good; the only
+// place that counts, requests are served the last known counters. Looks every stale-check-interval, recounts when a
+// write left the counters stale or reconcile-interval has passed since the last count
+@Component
+class TaskStatsReconciler {
+    private final TaskRepository taskRepository;
+    private final TaskStats taskStats;
+    private final Duration interval;
+
+    TaskStatsReconciler(TaskRepository taskRepository, TaskStats taskStats,
+                        @Value("${tasks.stats.reconcile-interval:5m}") Duration interval) {
+        this.taskRepository = taskRepository;
+        this.taskStats = taskStats;
+        this.interval = interval;
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${tasks.stats.stale-check-interval:30s}")
+    void reconcile() {
+        LocalDateTime reconciledAt = taskStats.getReconciledAt();
+        if (taskStats.isStale() || reconciledAt == null || reconciledAt.plus(interval).isBefore(LocalDateTime.now())) {
+            // a replica's count could miss a committed write
+            taskStats.reconcile(() -> ReplicaRoutingDataSource.onPrimary(taskRepository::countStatsGroups));
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.cache.TaskCache;
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskWriteBehindStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteStatusDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.stats.TaskStats;
+import com.brayden.todolistapi.stats.TaskStatsGroup;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// queue behind POST /tasks/async: the request returns once the task is queued and one writer thread inserts
+// whatever has queued up in a chunk, so a burst costs a commit per chunk instead of one per task;
+// a queued task is lost if the process dies before it is written, which is why this is opt-in
+@Component
+public class TaskWriteBehind implements SmartLifecycle {
+    public static final String QUEUED = "QUEUED";
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    private static final Log log = LogFactory.getLog(TaskWriteBehind.class);
+    private static final long POLL_MILLIS = 100; // how often an idle writer checks whether it should stop
+
+    private final TaskBatchWriter taskBatchWriter;
+    private final TaskCache taskCache;
+    private final TaskStats taskStats;
+    private final TaskChangeStream taskChangeStream;
+    private final boolean enabled;
+    private final int capacity;
+    private final Duration shutdownTimeout;
+    private final BlockingQueue<Task> queue;
+    // ids that are queued or being written, so their status can be answered without the database
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final Cache<String, String> failures;
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    private volatile boolean accepting;
+    private Thread writer;
+
+    public TaskWriteBehind(TaskBatchWriter taskBatchWriter, TaskCache taskCache, TaskStats taskStats,
+                           TaskChangeStream taskChangeStream,
+                           @Value("${tasks.write-behind.enabled:false}") boolean enabled,
+                           @Value("${tasks.write-behind.capacity:10000}") int capacity,
+                           @Value("${tasks.write-behind.shutdown-timeout:30s}") Duration shutdownTimeout,
+                           @Value("${tasks.write-behind.failure-ttl:10m}") Duration failureTtl) {
+        this.taskBatchWriter = taskBatchWriter;
+        this.taskCache = taskCache;
+        this.taskStats = taskStats;
+        this.taskChangeStream = taskChangeStream;
+        this.enabled = enabled;
+        this.capacity = capacity;
+        this.shutdownTimeout = shutdownTimeout;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.failures = Caffeine.newBuilder().maximumSize(capacity).expireAfterWrite(failureTtl).build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // the task's id must already be set; a full queue is the caller's signal to back off
+    public void enqueue(Task task) {
+        synchronized (this) { // so nothing lands in the queue after stop() has told the writer to finish
+            if (!accepting) {
+                throw new ApiException("Task writer is not accepting tasks", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            pending.add(task.getId());
+            if (!queue.offer(task)) {
+                pending.remove(task.getId());
+                rejected.incrementAndGet();
+                throw new ApiException("Too many tasks waiting to be written, retry later", HttpStatus.TOO_MANY_REQUESTS);
+            }
+        }
+        accepted.incrementAndGet();
+    }
+
+    // null once the task is written, or when this id was never queued; the database has the answer then
+    public TaskWriteStatusDTO status(String id) {
+        if (pending.contains(id)) {
+            return new TaskWriteStatusDTO(id, QUEUED, null);
+        }
+        String error = failures.getIfPresent(id);
+        return error == null ? null : new TaskWriteStatusDTO(id, FAILED, error);
+    }
+
+    public TaskWriteBehindStatsDTO stats() {
+        return new TaskWriteBehindStatsDTO(enabled, capacity, pending.size(), accepted.get(), written.get(),
+                failed.get(), rejected.get());
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || accepting) {
+            return;
+        }
+        accepting = true;
+        writer = new Thread(this::drain, "task-write-behind");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // lets the writer empty the queue before the connection pool shuts down
+    @Override
+    public void stop() {
+        Thread draining;
+        synchronized (this) {
+            accepting = false;
+            draining = writer;
+        }
+        if (draining == null) {
+            return;
+        }
+        try {
+            draining.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        if (draining.isAlive()) {
+            log.warn(pending.size() + " queued tasks were not written within " + shutdownTimeout);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return accepting;
+    }
+
+    // below the web server's phases, so requests have stopped coming in by the time the queue is drained
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drain() {
+        List<Task> chunk = new ArrayList<>(taskBatchWriter.getChunkSize());
+        while (accepting || !queue.isEmpty()) {
+            Task first;
+            try {
+                first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                continue;
+            }
+            // no waiting for a chunk to fill: what queued up while the last chunk was written goes in this one
+            chunk.add(first);
+            queue.drainTo(chunk, taskBatchWriter.getChunkSize() - 1);
+            write(chunk);
+            chunk.clear();
+        }
+    }
+
+    private void write(List<Task> chunk) {
+        List<TaskStatsGroup> created = new ArrayList<>(chunk.size());
+        taskStats.beginWrite();
+        try {
+            try {
+                taskBatchWriter.insert(chunk);
+                chunk.forEach(task -> written(task, created));
+            } catch (RuntimeException ex) {
+                // one bad task shouldn't take the rest of the chunk with it, so find it by inserting them one by one
+                for (Task task : chunk) {
+                    task.setVersion(null); // the failed flush may have set it, and then save() would merge
+                    try {
+                        taskBatchWriter.insert(List.of(task));
+                        written(task, created);
+                    } catch (RuntimeException single) {
+                        failures.put(task.getId(), "Insert failed: "
+                                + NestedExceptionUtils.getMostSpecificCause(single).getMessage());
+                        pending.remove(task.getId());
+                        failed.incrementAndGet();
+                    }
+                }
+            }
+        } finally {
+            taskStats.endWrite(created, false);
+        }
+    }
+
+    private void written(Task task, List<TaskStatsGroup> created) {
+        taskCache.invalidate(task.getId()); // a GET while it was queued may have cached a not-found
+        created.add(TaskStatsGroup.of(task));
+        if (taskChangeStream.hasSubscribers()) {
+            taskChangeStream.publish(List.of(TaskServiceImpl.createdChange(task)));
+        }
+        pending.remove(task.getId()); // last, so a status check that misses it finds the committed row
+        written.incrementAndGet();
+    }
+}
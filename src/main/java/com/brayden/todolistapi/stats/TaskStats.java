@@ -0,0 +1,177 @@
+package com.brayden.todolistapi.stats;
+
+import com.brayden.todolistapi.dto.TaskStatsDTO;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+// task counts kept up to date by the writes themselves, so reading them doesn't depend on the size of the table;
+// every field is guarded by this, the critical sections are a handful of map updates
+@Component
+public class TaskStats {
+    private final Map<String, Long> byStatus = new TreeMap<>();
+    private final Map<Integer, Long> byPriority = new TreeMap<>();
+    // open tasks per due date, overdue is the part of this before today
+    private final TreeMap<LocalDate, Long> openByDueDate = new TreeMap<>();
+    private long total;
+    private long completed;
+    private long overdue;
+    private LocalDate overdueAsOf;
+
+    // nothing is known until the first reconcile
+    private boolean stale = true;
+    private LocalDateTime reconciledAt;
+    // while a count runs: the changes applied meanwhile, a removal as a negative count, and whether a write asked for
+    // a recount; null when no count is running
+    private List<TaskStatsGroup> appliedDuringCount;
+    private boolean staleDuringCount;
+    // writes that have started but whose change isn't applied yet
+    private int inFlight;
+
+    // applies the change once the surrounding transaction commits, call it before the commit
+    public void recordAfterCommit(TaskStatsGroup removed, TaskStatsGroup added) {
+        afterCommit(() -> endWrite(removed, added));
+    }
+
+    // for a write that doesn't read what it replaced, the next reconcile recounts once it has committed
+    public void markStaleAfterCommit() {
+        afterCommit(() -> endWrite(List.of(), true));
+    }
+
+    private void afterCommit(Runnable committed) {
+        beginWrite();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    committed.run();
+                } else {
+                    endWrite(List.of(), false);
+                }
+            }
+        });
+    }
+
+    // for writes that commit on their own: begin before the first statement, end once everything has committed
+    public synchronized void beginWrite() {
+        inFlight++;
+    }
+
+    // stale is for writes that don't know what they changed, the next reconcile recounts
+    public synchronized void endWrite(Collection<TaskStatsGroup> added, boolean stale) {
+        added.forEach(this::apply);
+        this.stale |= stale;
+        if (appliedDuringCount != null) {
+            staleDuringCount |= stale;
+        }
+        inFlight--;
+    }
+
+    private synchronized void endWrite(TaskStatsGroup removed, TaskStatsGroup added) {
+        if (removed != null) {
+            apply(new TaskStatsGroup(removed.getStatus(), removed.getPriorityLevel(), removed.getIsCompleted(),
+                    removed.getDueDate(), -removed.getCount()));
+        }
+        endWrite(added == null ? List.of() : List.of(added), false);
+    }
+
+    private void apply(TaskStatsGroup group) {
+        add(group, 1);
+        if (appliedDuringCount != null) {
+            appliedDuringCount.add(group);
+        }
+    }
+
+    public synchronized boolean isStale() {
+        return stale;
+    }
+
+    // replaces the counters with a fresh count plus whatever writes applied while it ran, false if another count is
+    // already running. Whether a write applied during the count, or still unapplied at its end, committed before the
+    // GROUP BY read its rows can't be told from here: if it did, it is counted twice. So either leaves the counters
+    // stale, and TaskStatsReconciler recounts within its stale-check-interval; only a count no write overlapped is
+    // taken as exact
+    public boolean reconcile(Supplier<List<TaskStatsGroup>> counter) {
+        synchronized (this) {
+            if (appliedDuringCount != null) {
+                return false;
+            }
+            appliedDuringCount = new ArrayList<>();
+            staleDuringCount = false;
+        }
+        List<TaskStatsGroup> groups;
+        try {
+            groups = counter.get();
+        } catch (RuntimeException ex) {
+            synchronized (this) {
+                appliedDuringCount = null;
+            }
+            throw ex;
+        }
+        synchronized (this) {
+            List<TaskStatsGroup> applied = appliedDuringCount;
+            appliedDuringCount = null;
+            byStatus.clear();
+            byPriority.clear();
+            openByDueDate.clear();
+            total = 0;
+            completed = 0;
+            overdueAsOf = null;
+            groups.forEach(group -> add(group, 1));
+            applied.forEach(group -> add(group, 1));
+            // likewise a write that couldn't say what it changed may or may not be in the count
+            stale = staleDuringCount || !applied.isEmpty() || inFlight > 0;
+            reconciledAt = LocalDateTime.now();
+            return true;
+        }
+    }
+
+    public synchronized LocalDateTime getReconciledAt() {
+        return reconciledAt;
+    }
+
+    public synchronized TaskStatsDTO snapshot(LocalDate today) {
+        if (!today.equals(overdueAsOf)) {
+            // once a day: walk the due dates before today, from then on add() keeps the count current
+            overdue = openByDueDate.headMap(today).values().stream().mapToLong(Long::longValue).sum();
+            overdueAsOf = today;
+        }
+        double completionRate = total == 0 ? 0 : (double) completed / total;
+        return new TaskStatsDTO(total, new TreeMap<>(byStatus), new TreeMap<>(byPriority), completed, overdue,
+                completionRate, reconciledAt);
+    }
+
+    private void add(TaskStatsGroup group, int sign) {
+        long count = sign * group.getCount();
+        total += count;
+        byStatus.merge(group.getStatus(), count, TaskStats::sumOrRemove);
+        byPriority.merge(group.getPriorityLevel(), count, TaskStats::sumOrRemove);
+        if (Boolean.TRUE.equals(group.getIsCompleted())) {
+            completed += count;
+        } else if (group.getDueDate() != null) {
+            openByDueDate.merge(group.getDueDate(), count, TaskStats::sumOrRemove);
+            if (overdueAsOf != null && group.getDueDate().isBefore(overdueAsOf)) {
+                overdue += count;
+            }
+        }
+    }
+
+    // a bucket that drops to zero disappears from the response instead of showing 0
+    private static Long sumOrRemove(Long current, Long delta) {
+        long sum = current + delta;
+        return sum == 0 ? null : sum;
+    }
+}
@@ -0,0 +1,24 @@
+package com.brayden.todolistapi.stats;
+
+import com.brayden.todolistapi.model.Task;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+// number of tasks sharing every column the statistics are broken down by; a single task is a group of one
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskStatsGroup {
+    private String status;
+    private Integer priorityLevel;
+    private Boolean isCompleted;
+    private LocalDate dueDate;
+    private long count;
+
+    public static TaskStatsGroup of(Task task) {
+        return new TaskStatsGroup(task.getStatus(), task.getPriorityLevel(), task.getIsCompleted(), task.getDueDate(), 1);
+    }
+}
@@ -0,0 +1,86 @@
+package com.brayden.todolistapi.threads;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// streams JFR's jdk.VirtualThreadPinned in process: a virtual thread that blocks inside synchronized code, which
+// before JDK 24 includes JDBC drivers and pools that lock with it, keeps its carrier thread for as long as it blocks;
+// every such block over the threshold is counted, and the stack is logged once for each place it happens
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+    private static final Log log = LogFactory.getLog(VirtualThreadPinningMonitor.class);
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final Counter pinned;
+    private final Set<String> reported = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold, MeterRegistry meterRegistry) {
+        this.threshold = threshold;
+        this.pinned = Counter.builder("tasks.virtual-threads.pinned")
+                .description("Times a virtual thread blocked while pinned to its carrier for longer than the threshold")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (Runtime.version().feature() < 24) {
+            log.info("Virtual threads are pinned while blocked in synchronized code before JDK 24, watching for "
+                    + "pinning over " + threshold.toMillis() + " ms");
+        }
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::pinned);
+        stream.startAsync();
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return stream != null;
+    }
+
+    public double getPinnedCount() {
+        return pinned.count();
+    }
+
+    private void pinned(RecordedEvent event) {
+        pinned.increment();
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        List<RecordedFrame> frames = stackTrace == null ? List.of() : stackTrace.getFrames();
+        // the first frame outside the JDK is the code that holds the monitor, usually the driver or the pool
+        String place = frames.stream()
+                .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+                .filter(method -> !method.startsWith("java.") && !method.startsWith("jdk.") && !method.startsWith("sun."))
+                .findFirst()
+                .orElse("unknown");
+        if (reported.add(place)) {
+            StringBuilder stack = new StringBuilder();
+            frames.stream().limit(LOGGED_FRAMES).forEach(frame -> stack.append("\n\tat ")
+                    .append(frame.getMethod().getType().getName()).append('.').append(frame.getMethod().getName())
+                    .append(':').append(frame.getLineNumber()));
+            log.warn("Virtual thread pinned for " + event.getDuration().toMillis() + " ms in " + place
+                    + ", later pinning there is only counted in tasks.virtual-threads.pinned" + stack);
+        }
+    }
+}
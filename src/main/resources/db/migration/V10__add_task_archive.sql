@@ -0,0 +1,16 @@
+-- completed tasks moved out of tasks by TaskArchiver, so its indexes only hold the tasks still in use; only ever read
+-- by id, so there is no secondary index. Range partitions on tasks instead would need created_at in the primary key,
+-- and InnoDB can't partition a table with FULLTEXT indexes
+CREATE TABLE tasks_archive (
+    id             BINARY(16)       NOT NULL PRIMARY KEY,
+    title          VARCHAR(255)     NOT NULL,
+    status         VARCHAR(20)      NOT NULL,
+    description    TEXT             NULL,
+    priority_level TINYINT UNSIGNED NOT NULL,
+    due_date       DATE             NULL,
+    is_completed   BOOLEAN          NOT NULL,
+    created_at     TIMESTAMP        NOT NULL,
+    updated_at     TIMESTAMP        NOT NULL,
+    version        BIGINT           NOT NULL,
+    archived_at    TIMESTAMP        NOT NULL
+);
@@ -0,0 +1,5 @@
+-- InnoDB appends the primary key to every secondary index, so each of these is also ordered by id
+CREATE INDEX idx_tasks_created_at ON tasks (created_at);
+CREATE INDEX idx_tasks_status_created_at ON tasks (status, created_at);
+CREATE INDEX idx_tasks_priority_level_created_at ON tasks (priority_level, created_at);
+CREATE INDEX idx_tasks_due_date_created_at ON tasks (due_date, created_at);
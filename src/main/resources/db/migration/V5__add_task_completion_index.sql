@@ -0,0 +1,2 @@
+-- lets a search filtered only by completion walk the newest tasks in order, like the other filters
+CREATE INDEX idx_tasks_is_completed_created_at ON tasks (is_completed, created_at);
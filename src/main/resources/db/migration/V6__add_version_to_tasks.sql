@@ -0,0 +1,3 @@
+-- optimistic locking counter behind ETag / If-Match, bumped by every write including the set-based ones
+ALTER TABLE tasks
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
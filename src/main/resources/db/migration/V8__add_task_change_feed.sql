@@ -0,0 +1,9 @@
+-- GET /tasks/changes walks tasks by (updated_at, id); a deleted task has no row left to walk, so its delete is kept
+-- here as a tombstone until tasks.changes.tombstone-retention has passed
+CREATE INDEX idx_tasks_updated_at ON tasks (updated_at, id);
+
+CREATE TABLE task_tombstones (
+    id BINARY(16) NOT NULL PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_task_tombstones_deleted_at ON task_tombstones (deleted_at, id);
@@ -0,0 +1,2 @@
+-- open tasks by due date: the overdue scan and the due date range searches walk it in (due_date, id) order
+CREATE INDEX idx_tasks_is_completed_due_date ON tasks (is_completed, due_date);
@@ -0,0 +1,131 @@
+package com.brayden.todolistapi.cache;
+
+import com.brayden.todolistapi.dto.TaskCacheStatsDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCacheTest {
+
+    @Test
+    void get_loadsOnceAndCountsHitsAndMisses() {
+        TaskCache cache = new TaskCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("id-1", () -> {
+            loads.incrementAndGet();
+            return Optional.of(task("id-1", 1));
+        });
+        Optional<TaskResponseDTO> result = cache.get("id-1", () -> Optional.of(task("id-1", 2)));
+
+        assertEquals("1", result.orElseThrow().getTitle());
+        assertEquals(1, loads.get());
+        TaskCacheStatsDTO stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+    }
+
+    @Test
+    void get_cachesNotFoundForTheNegativeTtlOnly() throws InterruptedException {
+        TaskCache cache = new TaskCache(100, Duration.ofMinutes(1), Duration.ofMillis(50));
+        cache.get("id-1", Optional::empty);
+
+        assertTrue(cache.get("id-1", () -> Optional.of(task("id-1", 1))).isEmpty());
+        Thread.sleep(100);
+        assertTrue(cache.get("id-1", () -> Optional.of(task("id-1", 1))).isPresent());
+    }
+
+    @Test
+    void get_evictsBeyondMaximumSize() throws InterruptedException {
+        TaskCache cache = new TaskCache(10, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+        for (int i = 0; i < 100; i++) {
+            String id = "id-" + i;
+            cache.get(id, () -> Optional.of(task(id, 1)));
+        }
+
+        // eviction runs on Caffeine's maintenance executor, give it a moment
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (cache.stats().getEvictions() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(cache.stats().getEvictions() > 0);
+    }
+
+    @Test
+    void invalidateAfterCommit_waitsForCommit() {
+        TaskCache cache = new TaskCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        cache.get("id-1", () -> Optional.of(task("id-1", 1)));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.invalidateAfterCommit("id-1");
+            assertEquals("1", cache.get("id-1", () -> Optional.of(task("id-1", 2))).orElseThrow().getTitle());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals("2", cache.get("id-1", () -> Optional.of(task("id-1", 2))).orElseThrow().getTitle());
+    }
+
+    @Test
+    void get_neverServesVersionOlderThanLastInvalidatedCommit() throws Exception {
+        TaskCache cache = new TaskCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+        AtomicLong database = new AtomicLong(); // committed version of the row
+        AtomicLong invalidated = new AtomicLong(); // newest version whose after-commit invalidation has finished
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(500);
+        List<Future<?>> futures = new ArrayList<>();
+
+        futures.add(executor.submit(() -> {
+            while (System.nanoTime() < deadline) {
+                long version = database.incrementAndGet();
+                cache.invalidate("id-1");
+                invalidated.set(version);
+            }
+            return null;
+        }));
+        for (int reader = 0; reader < 7; reader++) {
+            futures.add(executor.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long floor = invalidated.get();
+                    TaskResponseDTO result = cache.get("id-1", () -> {
+                        long version = database.get();
+                        Thread.yield(); // widen the window between reading the row and caching it
+                        return Optional.of(task("id-1", version));
+                    }).orElseThrow();
+                    long served = Long.parseLong(result.getTitle());
+                    assertTrue(served >= floor, () -> "served version " + served + " after " + floor + " was committed");
+                }
+                return null;
+            }));
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private TaskResponseDTO task(String id, long version) {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(id);
+        task.setTitle(Long.toString(version));
+        return task;
+    }
+}
@@ -0,0 +1,52 @@
+package com.brayden.todolistapi.changes;
+
+import com.brayden.todolistapi.dto.TaskChangeDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskChangeStreamTest {
+    private final TaskChangeStream stream = new TaskChangeStream(2, 2, 1, Duration.ofMinutes(1),
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+    @AfterEach
+    void tearDown() {
+        stream.destroy();
+    }
+
+    @Test
+    void aSubscriberThatFallsAWholeBufferBehindIsDropped() {
+        stream.subscribe();
+        stream.subscribe();
+
+        // queued before any sender runs, the third doesn't fit a buffer of two
+        stream.publish(List.of(change("1"), change("2"), change("3")));
+
+        assertEquals(0, stream.subscriberCount());
+        assertFalse(stream.hasSubscribers());
+    }
+
+    @Test
+    void subscribersBeyondTheLimitAreTurnedAway() {
+        stream.subscribe();
+        stream.subscribe();
+
+        ApiException ex = assertThrows(ApiException.class, stream::subscribe);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getHttpStatus());
+        assertEquals(2, stream.subscriberCount());
+    }
+
+    private static TaskChangeDTO change(String id) {
+        return new TaskChangeDTO(TaskChangeDTO.DELETED, id, null, LocalDateTime.now());
+    }
+}
@@ -0,0 +1,58 @@
+package com.brayden.todolistapi.changes;
+
+import com.brayden.todolistapi.dto.TaskChangeDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.service.TasksOverdueEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TaskOverdueNotifierTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    private final TaskChangeStream taskChangeStream = mock();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TaskOverdueNotifier notifier = new TaskOverdueNotifier(taskChangeStream, meterRegistry);
+
+    @Test
+    void onOverdue_pushesTheBatchToSubscribersAsOverdueChanges() {
+        when(taskChangeStream.hasSubscribers()).thenReturn(true);
+        ArgumentCaptor<List<TaskChangeDTO>> captor = ArgumentCaptor.captor();
+
+        notifier.onOverdue(new TasksOverdueEvent(TODAY, List.of(task("id-1"), task("id-2"))));
+
+        verify(taskChangeStream).publish(captor.capture());
+        List<TaskChangeDTO> changes = captor.getValue();
+        assertEquals(List.of("id-1", "id-2"), changes.stream().map(TaskChangeDTO::getId).toList());
+        changes.forEach(change -> {
+            assertEquals(TaskChangeDTO.OVERDUE, change.getType());
+            assertEquals(change.getId(), change.getTask().getId());
+            assertEquals(TODAY.atStartOfDay(), change.getChangedAt());
+        });
+        assertEquals(2, meterRegistry.get("tasks.overdue.notified").summary().totalAmount());
+    }
+
+    @Test
+    void onOverdue_countsTheBatchButPublishesNothingWithoutSubscribers() {
+        notifier.onOverdue(new TasksOverdueEvent(TODAY, List.of(task("id-1"))));
+        notifier.onOverdue(new TasksOverdueEvent(TODAY, List.of(task("id-2"), task("id-3"))));
+
+        verify(taskChangeStream, never()).publish(anyList());
+        assertEquals(2, meterRegistry.get("tasks.overdue.notified").summary().count());
+        assertEquals(3, meterRegistry.get("tasks.overdue.notified").summary().totalAmount());
+    }
+
+    private static TaskResponseDTO task(String id) {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(id);
+        task.setDueDate(TODAY.minusDays(1));
+        return task;
+    }
+}
@@ -1,20 +1,47 @@
 package com.brayden.todolistapi.controller.impl;
 
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskBatchResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkUpdateDTO;
+import com.brayden.todolistapi.dto.TaskCacheStatsDTO;
+import com.brayden.todolistapi.dto.TaskChangePageDTO;
+import com.brayden.todolistapi.dto.TaskFilterDTO;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
 import com.brayden.todolistapi.dto.TaskRequestDTO;
 import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.dto.TaskSearchDTO;
+import com.brayden.todolistapi.dto.TaskStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteStatusDTO;
+import com.brayden.todolistapi.exception.ApiException;
 import com.brayden.todolistapi.service.TaskService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -22,6 +49,9 @@ class TaskControllerImplTest {
     @Mock
     private TaskService taskService;
 
+    @Mock
+    private TaskChangeStream taskChangeStream;
+
     @InjectMocks
     private TaskControllerImpl taskController;
 
@@ -39,52 +69,217 @@ class TaskControllerImplTest {
         verify(taskService).createTask(request);
     }
 
+    @Test
+    void enqueueTask_answers202WithTheStatusLocation() {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle("Task 1");
+        when(taskService.enqueueTask(request)).thenReturn(new TaskWriteStatusDTO("id-1", "QUEUED", null));
+
+        ResponseEntity<TaskWriteStatusDTO> result = taskController.enqueueTask(request);
+
+        assertEquals(HttpStatus.ACCEPTED, result.getStatusCode());
+        assertEquals("/tasks/async/id-1", result.getHeaders().getLocation().toString());
+        assertEquals("QUEUED", result.getBody().getStatus());
+    }
+
+    @Test
+    void createTasksFromStream_readsOneTaskPerLine() {
+        List<String> titles = new ArrayList<>();
+        doAnswer(invocation -> {
+            Iterable<TaskRequestDTO> tasks = invocation.getArgument(0);
+            tasks.forEach(task -> titles.add(task.getTitle()));
+            return new TaskBatchResultDTO(titles.size(), 0, List.of());
+        }).when(taskService).createTasks(any());
+        TaskControllerImpl controller = new TaskControllerImpl(taskService, JsonMapper.builder().build(), taskChangeStream);
+        String body = "{\"title\":\"a\",\"priorityLevel\":1}\n{\"title\":\"b\",\"priorityLevel\":2}\n";
+
+        TaskBatchResultDTO result = controller.createTasksFromStream(
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(2, result.getCreated());
+        assertEquals(List.of("a", "b"), titles);
+    }
+
+    @Test
+    void findChanges_delegatesToService() {
+        TaskChangePageDTO page = new TaskChangePageDTO(List.of(), "cursor", false);
+        when(taskService.findChanges("since", 50)).thenReturn(page);
+
+        assertSame(page, taskController.findChanges("since", 50));
+    }
+
     @Test
     void findAllTasks_delegatesToService() {
-        when(taskService.findAllTasks()).thenReturn(List.of(new TaskResponseDTO()));
+        when(taskService.findAllTasks(false)).thenReturn(List.of(new TaskResponseDTO()));
 
-        List<TaskResponseDTO> result = taskController.findAllTasks();
+        List<TaskResponseDTO> result = taskController.findAllTasks(false);
 
         assertEquals(1, result.size());
-        verify(taskService).findAllTasks();
+        verify(taskService).findAllTasks(false);
+    }
+
+    @Test
+    void exportTasks_writesOneJsonObjectPerLine() throws Exception {
+        TaskResponseDTO first = new TaskResponseDTO();
+        first.setId("id-1");
+        TaskResponseDTO second = new TaskResponseDTO();
+        second.setId("id-2");
+        doAnswer(invocation -> {
+            Consumer<TaskResponseDTO> consumer = invocation.getArgument(0);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(taskService).exportTasks(any());
+        TaskControllerImpl controller = new TaskControllerImpl(taskService, JsonMapper.builder().build(), taskChangeStream);
+
+        ResponseEntity<StreamingResponseBody> response = controller.exportTasks();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].startsWith("{\"id\":\"id-1\""));
+        assertTrue(lines[1].startsWith("{\"id\":\"id-2\""));
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+    }
+
+    @Test
+    void findTaskById_returnsTaskWithVersionAsETag() {
+        when(taskService.findTaskById("id-1")).thenReturn(Optional.of(task("id-1", 4L)));
+
+        ResponseEntity<TaskResponseDTO> result = taskController.findTaskById("id-1", null);
+
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"4\"", result.getHeaders().getETag());
+        assertEquals("id-1", result.getBody().getId());
+        verify(taskService, never()).findTaskVersion(anyString());
+    }
+
+    @Test
+    void findTaskById_answersMatchingIfNoneMatchFromTheVersionAlone() {
+        when(taskService.findTaskVersion("id-1")).thenReturn(Optional.of(4L));
+
+        ResponseEntity<TaskResponseDTO> result = taskController.findTaskById("id-1", "W/\"3\", \"4\"");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, result.getStatusCode());
+        assertEquals("\"4\"", result.getHeaders().getETag());
+        assertNull(result.getBody());
+        verify(taskService, never()).findTaskById(anyString());
     }
 
     @Test
-    void findTaskById_delegatesToService() {
-        when(taskService.findTaskById("id-1")).thenReturn(Optional.of(new TaskResponseDTO()));
+    void findTaskById_loadsTaskWhenETagIsStale() {
+        when(taskService.findTaskVersion("id-1")).thenReturn(Optional.of(5L));
+        when(taskService.findTaskById("id-1")).thenReturn(Optional.of(task("id-1", 5L)));
+
+        ResponseEntity<TaskResponseDTO> result = taskController.findTaskById("id-1", "\"4\"");
 
-        Optional<TaskResponseDTO> result = taskController.findTaskById("id-1");
+        assertEquals(HttpStatus.OK, result.getStatusCode());
+        assertEquals("\"5\"", result.getHeaders().getETag());
+    }
+
+    @Test
+    void getCacheStats_delegatesToService() {
+        when(taskService.getCacheStats()).thenReturn(new TaskCacheStatsDTO(3, 1, 0, 2, 0.75));
 
-        assertTrue(result.isPresent());
-        verify(taskService).findTaskById("id-1");
+        assertEquals(3, taskController.getCacheStats().getHits());
+    }
+
+    @Test
+    void getStats_delegatesToService() {
+        TaskStatsDTO stats = new TaskStatsDTO();
+        when(taskService.getStats()).thenReturn(stats);
+
+        assertSame(stats, taskController.getStats());
     }
 
     @Test
     void searchEndpoints_delegateToService() {
-        when(taskService.findTasksByTitle("task")).thenReturn(List.of(new TaskResponseDTO()));
-        when(taskService.findTasksByStatus("PENDING")).thenReturn(List.of(new TaskResponseDTO()));
-        when(taskService.findTasksByPriorityLevel(3)).thenReturn(List.of(new TaskResponseDTO()));
-        when(taskService.findTasksByDueDate(LocalDate.of(2026, 3, 1))).thenReturn(List.of(new TaskResponseDTO()));
+        when(taskService.findTasksByTitle("task", false, 0, 20, false)).thenReturn(List.of(new TaskResponseDTO()));
+        when(taskService.findTasksByStatus("PENDING", true)).thenReturn(List.of(new TaskResponseDTO()));
+        TaskSearchDTO search = new TaskSearchDTO();
+        when(taskService.searchTasks(search, 0, 20, "createdAt", "desc", false)).thenReturn(List.of(new TaskResponseDTO()));
+        when(taskService.findTasksByPriorityLevel(3, false)).thenReturn(List.of(new TaskResponseDTO()));
+        when(taskService.findTasksByDueDate(LocalDate.of(2026, 3, 1), false)).thenReturn(List.of(new TaskResponseDTO()));
+        when(taskService.findTasksDueBetween(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 7), false, 0, 20, true))
+                .thenReturn(List.of(new TaskResponseDTO()));
+        when(taskService.findOverdueTasks(0, 20, false)).thenReturn(List.of(new TaskResponseDTO()));
 
-        assertEquals(1, taskController.findTasksByTitle("task").size());
-        assertEquals(1, taskController.findTasksByStatus("PENDING").size());
-        assertEquals(1, taskController.findTasksByPriorityLevel(3).size());
-        assertEquals(1, taskController.findTasksByDueDate(LocalDate.of(2026, 3, 1)).size());
+        assertEquals(1, taskController.findTasksByTitle("task", false, 0, 20, false).size());
+        assertEquals(1, taskController.findTasksByStatus("PENDING", true).size());
+        assertEquals(1, taskController.searchTasks(search, 0, 20, "createdAt", "desc", false).size());
+        assertEquals(1, taskController.findTasksByPriorityLevel(3, false).size());
+        assertEquals(1, taskController.findTasksByDueDate(LocalDate.of(2026, 3, 1), false).size());
+        assertEquals(1, taskController.findTasksDueBetween(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 3, 7), false,
+                0, 20, true).size());
+        assertEquals(1, taskController.findOverdueTasks(0, 20, false).size());
     }
 
     @Test
     void updateAndDelete_delegateToService() {
         TaskRequestDTO request = new TaskRequestDTO();
-        TaskResponseDTO response = new TaskResponseDTO();
-        when(taskService.updateTask("id-1", request)).thenReturn(Optional.of(response));
-        when(taskService.deleteTask("id-1")).thenReturn(true);
+        TaskResponseDTO response = task("id-1", 8L);
+        when(taskService.updateTask("id-1", request, 7L)).thenReturn(Optional.of(response));
+        when(taskService.deleteTask("id-1", null)).thenReturn(true);
+        TaskPatchDTO patch = new TaskPatchDTO();
+        when(taskService.patchTask("id-1", patch)).thenReturn(Optional.of(response));
 
-        Optional<TaskResponseDTO> updateResult = taskController.updateTask("id-1", request);
-        boolean deleteResult = taskController.deleteTask("id-1");
+        ResponseEntity<TaskResponseDTO> updateResult = taskController.updateTask("id-1", request, "\"7\"");
+        Optional<TaskResponseDTO> patchResult = taskController.patchTask("id-1", patch);
+        boolean deleteResult = taskController.deleteTask("id-1", "*");
 
-        assertTrue(updateResult.isPresent());
+        assertEquals("\"8\"", updateResult.getHeaders().getETag());
+        assertTrue(patchResult.isPresent());
         assertTrue(deleteResult);
-        verify(taskService).updateTask("id-1", request);
-        verify(taskService).deleteTask("id-1");
+        verify(taskService).updateTask("id-1", request, 7L);
+        verify(taskService).deleteTask("id-1", null);
+    }
+
+    @Test
+    void updateAndDelete_rejectIfMatchThatIsNotOneOfOurETags() {
+        TaskRequestDTO request = new TaskRequestDTO();
+
+        ApiException weak = assertThrows(ApiException.class, () -> taskController.updateTask("id-1", request, "W/\"7\""));
+        ApiException list = assertThrows(ApiException.class, () -> taskController.deleteTask("id-1", "\"1\", \"2\""));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, weak.getHttpStatus());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, list.getHttpStatus());
+        verifyNoInteractions(taskService);
+    }
+
+    @Test
+    void updateAndDelete_answerIfMatchOnAMissingTaskWith412() {
+        TaskRequestDTO request = new TaskRequestDTO();
+        when(taskService.updateTask(eq("id-1"), eq(request), any())).thenReturn(Optional.empty());
+        when(taskService.deleteTask(eq("id-1"), any())).thenReturn(false);
+
+        ApiException versioned = assertThrows(ApiException.class, () -> taskController.updateTask("id-1", request, "\"7\""));
+        ApiException anyVersion = assertThrows(ApiException.class, () -> taskController.updateTask("id-1", request, "*"));
+        ApiException deleted = assertThrows(ApiException.class, () -> taskController.deleteTask("id-1", "\"7\""));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, versioned.getHttpStatus());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, anyVersion.getHttpStatus());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, deleted.getHttpStatus());
+        // without If-Match a missing task is still an empty 200
+        assertEquals(HttpStatus.OK, taskController.updateTask("id-1", request, null).getStatusCode());
+        assertFalse(taskController.deleteTask("id-1", null));
+    }
+
+    @Test
+    void bulkUpdateAndDelete_delegateToService() {
+        TaskBulkUpdateDTO update = new TaskBulkUpdateDTO();
+        TaskFilterDTO filter = new TaskFilterDTO();
+        when(taskService.updateTasks(update)).thenReturn(new TaskBulkResultDTO(5, 1));
+        when(taskService.deleteTasks(filter)).thenReturn(new TaskBulkResultDTO(3, 1));
+
+        assertEquals(5, taskController.updateTasks(update).getAffected());
+        assertEquals(3, taskController.deleteTasks(filter).getAffected());
+    }
+
+    private static TaskResponseDTO task(String id, Long version) {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(id);
+        task.setVersion(version);
+        return task;
     }
 }
@@ -0,0 +1,100 @@
+package com.brayden.todolistapi.controller.impl;
+
+import com.brayden.todolistapi.dto.TaskCursorPageDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskListETagAdviceTest {
+    private final TaskListETagAdvice advice = new TaskListETagAdvice();
+
+    @Test
+    void beforeBodyWrite_tagsTheListAndAnswersAMatchWith304() {
+        List<TaskResponseDTO> tasks = List.of(task("id-1", 3L), task("id-2", 1L));
+        MockHttpServletResponse first = new MockHttpServletResponse();
+
+        assertSame(tasks, write(tasks, get(null), first));
+        String eTag = first.getHeader("ETag");
+        assertNotNull(eTag);
+        assertTrue(eTag.startsWith("W/"));
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        assertNull(write(tasks, get(eTag), second));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), second.getStatus());
+        assertEquals(eTag, second.getHeader("ETag"));
+    }
+
+    @Test
+    void beforeBodyWrite_changesTheETagWhenAVersionOrTheCursorChanges() {
+        MockHttpServletResponse original = new MockHttpServletResponse();
+        write(new TaskCursorPageDTO(List.of(task("id-1", 3L)), "next"), get(null), original);
+        String eTag = original.getHeader("ETag");
+
+        MockHttpServletResponse bumped = new MockHttpServletResponse();
+        TaskCursorPageDTO newerTask = new TaskCursorPageDTO(List.of(task("id-1", 4L)), "next");
+        assertSame(newerTask, write(newerTask, get(eTag), bumped));
+        assertNotEquals(eTag, bumped.getHeader("ETag"));
+
+        MockHttpServletResponse lastPage = new MockHttpServletResponse();
+        write(new TaskCursorPageDTO(List.of(task("id-1", 3L)), null), get(eTag), lastPage);
+        assertNotEquals(eTag, lastPage.getHeader("ETag"));
+        assertEquals(HttpStatus.OK.value(), lastPage.getStatus());
+    }
+
+    @Test
+    void beforeBodyWrite_changesTheETagWithTheQueryButNotWithItsOrder() {
+        List<TaskResponseDTO> tasks = List.of(task("id-1", 3L), task("id-2", 1L));
+        MockHttpServletResponse full = new MockHttpServletResponse();
+        write(tasks, get("sortBy=title&direction=asc", null), full);
+        String eTag = full.getHeader("ETag");
+
+        // the same rows as a summary leave out the description, and in the other order are another page
+        MockHttpServletResponse summary = new MockHttpServletResponse();
+        assertSame(tasks, write(tasks, get("sortBy=title&direction=asc&summary=true", eTag), summary));
+        assertNotEquals(eTag, summary.getHeader("ETag"));
+        MockHttpServletResponse reversed = new MockHttpServletResponse();
+        assertSame(tasks, write(tasks, get("sortBy=title&direction=desc", eTag), reversed));
+        assertNotEquals(eTag, reversed.getHeader("ETag"));
+
+        MockHttpServletResponse reordered = new MockHttpServletResponse();
+        assertNull(write(tasks, get("direction=asc&sortBy=title", eTag), reordered));
+        assertEquals(HttpStatus.NOT_MODIFIED.value(), reordered.getStatus());
+    }
+
+    private Object write(Object body, MockHttpServletRequest request, MockHttpServletResponse response) {
+        ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+        Object written = advice.beforeBodyWrite(body, null, MediaType.APPLICATION_JSON, null,
+                new ServletServerHttpRequest(request), serverResponse);
+        serverResponse.close(); // copies the headers onto the servlet response, as writing the body would
+        return written;
+    }
+
+    private static MockHttpServletRequest get(String ifNoneMatch) {
+        return get(null, ifNoneMatch);
+    }
+
+    private static MockHttpServletRequest get(String query, String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.setQueryString(query);
+        if (ifNoneMatch != null) {
+            request.addHeader("If-None-Match", ifNoneMatch);
+        }
+        return request;
+    }
+
+    private static TaskResponseDTO task(String id, long version) {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(id);
+        task.setVersion(version);
+        return task;
+    }
+}
@@ -4,12 +4,15 @@ import com.brayden.todolistapi.dto.TaskRequestDTO;
 import com.brayden.todolistapi.dto.TaskResponseDTO;
 import com.brayden.todolistapi.model.Task;
 import org.junit.jupiter.api.Test;
+import org.modelmapper.ModelMapper;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 class MapperTaskTest {
+    private final ModelMapper modelMapper = new ModelMapper();
 
     @Test
     void dtoRequestToModel_mapsExpectedFields() {
@@ -46,4 +49,54 @@ class MapperTaskTest {
         assertEquals(4, response.getPriorityLevel());
         assertEquals("IN_PROGRESS", response.getStatus());
     }
+
+    @Test
+    void dtoRequestToModel_matchesModelMapper() {
+        TaskRequestDTO full = new TaskRequestDTO();
+        full.setTitle("Task 1");
+        full.setDescription("Desc");
+        full.setPriorityLevel(2);
+        full.setStatus("in_progress");
+        full.setDueDate(LocalDate.of(2026, 3, 1));
+        full.setIsCompleted(true);
+        TaskRequestDTO sparse = new TaskRequestDTO();
+        sparse.setTitle("Task 2");
+
+        for (TaskRequestDTO request : new TaskRequestDTO[]{full, sparse}) {
+            assertSameTask(modelMapper.map(request, Task.class), MapperTask.dtoRequestToModel(request));
+        }
+    }
+
+    @Test
+    void modelToResponseDto_matchesModelMapper() {
+        Task full = new Task();
+        full.setId("id-1");
+        full.setTitle("Task 1");
+        full.setDescription("Desc");
+        full.setPriorityLevel(4);
+        full.setStatus("COMPLETED");
+        full.setDueDate(LocalDate.of(2026, 3, 1));
+        full.setIsCompleted(true);
+        full.setCreatedAt(LocalDateTime.of(2026, 1, 1, 9, 30));
+        full.setUpdatedAt(LocalDateTime.of(2026, 1, 2, 10, 0));
+        Task sparse = new Task();
+        sparse.setStatus(null);
+        sparse.setIsCompleted(null);
+
+        for (Task task : new Task[]{full, sparse}) {
+            assertEquals(modelMapper.map(task, TaskResponseDTO.class), MapperTask.modelToResponseDto(task));
+        }
+    }
+
+    private void assertSameTask(Task expected, Task actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getTitle(), actual.getTitle());
+        assertEquals(expected.getDescription(), actual.getDescription());
+        assertEquals(expected.getPriorityLevel(), actual.getPriorityLevel());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getDueDate(), actual.getDueDate());
+        assertEquals(expected.getIsCompleted(), actual.getIsCompleted());
+        assertEquals(expected.getCreatedAt(), actual.getCreatedAt());
+        assertEquals(expected.getUpdatedAt(), actual.getUpdatedAt());
+    }
 }
@@ -0,0 +1,68 @@
+package com.brayden.todolistapi.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import tools.jackson.databind.json.JsonMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the whole application on H2, to check every layer's meters end up on the actuator endpoints
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+class MetricsEndpointTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Test
+    void requestsAreTimedPerLayerAndExposedAsPrometheusAndJson() throws Exception {
+        String created = mockMvc.perform(post("/tasks").contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Metrics\",\"priorityLevel\":3}"))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        String id = jsonMapper.readTree(created).get("id").asString();
+        mockMvc.perform(get("/tasks/" + id)).andExpect(status().isOk());
+
+        // a cache miss is one SELECT, tagged with the route rather than the id
+        assertEquals(1, meterRegistry.get("tasks.http.sql.statements")
+                .tags("method", "GET", "uri", "/tasks/{id}").summary().max());
+
+        String prometheus = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertAll(
+                () -> assertMetric(prometheus, "tasks_controller_seconds_bucket{", "method=\"findTaskById\""),
+                () -> assertMetric(prometheus, "tasks_service_seconds_bucket{", "method=\"createTask\""),
+                () -> assertMetric(prometheus, "spring_data_repository_invocations_seconds_bucket{", "method=\"findById\""),
+                () -> assertMetric(prometheus, "tasks_mapper_seconds_count{", "method=\"findTaskById\""),
+                () -> assertMetric(prometheus, "tasks_serialization_seconds_bucket{", "type=\"TaskResponseDTO\""),
+                () -> assertMetric(prometheus, "tasks_http_sql_statements_bucket{", "uri=\"/tasks\""),
+                () -> assertMetric(prometheus, "http_server_requests_seconds_bucket{", "uri=\"/tasks/{id}\"")
+        );
+
+        String json = mockMvc.perform(get("/actuator/metrics/tasks.service").param("tag", "method:createTask"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals("tasks.service", jsonMapper.readTree(json).get("name").asString());
+    }
+
+    private static void assertMetric(String prometheus, String series, String tag) {
+        assertTrue(prometheus.lines().anyMatch(line -> line.startsWith(series) && line.contains(tag)),
+                () -> "no " + series + " with " + tag);
+    }
+}
@@ -0,0 +1,49 @@
+package com.brayden.todolistapi.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskIdsTest {
+
+    @Test
+    void next_makesVersion7IdsThatSortInCreationOrder() {
+        String previous = TaskIds.next();
+        for (int i = 0; i < 10_000; i++) {
+            String id = TaskIds.next();
+            UUID uuid = UUID.fromString(id);
+
+            assertEquals(7, uuid.version());
+            assertEquals(2, uuid.variant());
+            assertTrue(id.compareTo(previous) > 0, previous + " then " + id);
+            previous = id;
+        }
+    }
+
+    @Test
+    void toBytesAndFromBytes_roundTripTheCanonicalForm() {
+        String id = "0190a8c4-5e2b-7c3d-9f01-23456789abcd";
+
+        byte[] bytes = TaskIds.toBytes(id);
+
+        assertEquals(16, bytes.length);
+        assertEquals((byte) 0x01, bytes[0]);
+        assertEquals((byte) 0xcd, bytes[15]);
+        assertEquals(id, TaskIds.fromBytes(bytes));
+    }
+
+    @Test
+    void isValid_acceptsOnlyTheCanonicalForm() {
+        assertTrue(TaskIds.isValid("0190A8C4-5E2B-7C3D-9F01-23456789ABCD"));
+        assertFalse(TaskIds.isValid("1-2-3-4-5"));
+        assertFalse(TaskIds.isValid("id-1"));
+        assertFalse(TaskIds.isValid(null));
+    }
+
+    @Test
+    void canonical_lowerCasesAnyMixOfCase() {
+        assertEquals("0190a8c4-5e2b-7c3d-9f01-23456789abcd", TaskIds.canonical("0190A8C4-5e2B-7C3D-9F01-23456789aBcD"));
+    }
+}
@@ -0,0 +1,152 @@
+package com.brayden.todolistapi.replicas;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// two in-memory databases stand in for the primary and a replica; each says which one it is, and the replica
+// reports its lag from a table the tests set
+class ReplicaRoutingDataSourceTest {
+    private static final String LAG_QUERY = "SELECT seconds_behind_source FROM replica_status";
+
+    private final DriverManagerDataSource primary = database("routing_primary");
+    private final DriverManagerDataSource replicaDatabase = database("routing_replica");
+    private final DelegatingDataSource replicaPool = new DelegatingDataSource(replicaDatabase);
+    private ReplicaRoutingDataSource routing;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writes;
+    private TransactionTemplate reads;
+
+    @BeforeEach
+    void setUp() {
+        new JdbcTemplate(primary).execute("CREATE TABLE source (name VARCHAR(20))");
+        new JdbcTemplate(primary).update("INSERT INTO source VALUES ('primary')");
+        JdbcTemplate replica = new JdbcTemplate(replicaDatabase);
+        replica.execute("CREATE TABLE source (name VARCHAR(20))");
+        replica.update("INSERT INTO source VALUES ('replica')");
+        replica.execute("CREATE TABLE replica_status (seconds_behind_source BIGINT)");
+        replica.update("INSERT INTO replica_status VALUES (0)");
+
+        routing = new ReplicaRoutingDataSource(primary, List.of(new Replica("replica-0", replicaPool)),
+                new ReadYourWrites(Duration.ofSeconds(5)), LAG_QUERY, "seconds_behind_source", Duration.ofSeconds(2),
+                new SimpleMeterRegistry());
+        routing.checkReplicas();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routing);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        writes = new TransactionTemplate(transactionManager);
+        reads = new TransactionTemplate(transactionManager);
+        reads.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        new JdbcTemplate(primary).execute("DROP ALL OBJECTS");
+        new JdbcTemplate(replicaDatabase).execute("DROP ALL OBJECTS");
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica_everythingElseToThePrimary() {
+        assertEquals("replica", reads.execute(status -> source()));
+        assertEquals("primary", writes.execute(status -> source()));
+        assertEquals("primary", source());
+    }
+
+    @Test
+    void aReplicaTooFarBehindIsSkippedUntilItCatchesUp() {
+        new JdbcTemplate(replicaDatabase).update("UPDATE replica_status SET seconds_behind_source = 30");
+        routing.checkReplicas();
+
+        assertFalse(routing.getReplicas().get(0).isHealthy());
+        assertEquals("primary", reads.execute(status -> source()));
+
+        new JdbcTemplate(replicaDatabase).update("UPDATE replica_status SET seconds_behind_source = 1");
+        routing.checkReplicas();
+
+        assertEquals("replica", reads.execute(status -> source()));
+    }
+
+    @Test
+    void aReplicaThatStoppedReplicatingIsSkipped() {
+        new JdbcTemplate(replicaDatabase).update("UPDATE replica_status SET seconds_behind_source = NULL");
+        routing.checkReplicas();
+
+        assertEquals("primary", reads.execute(status -> source()));
+    }
+
+    @Test
+    void aReplicaThatFailsToConnectFallsBackToThePrimaryRightAway() {
+        replicaPool.setTargetDataSource(new DriverManagerDataSource("jdbc:unknown:replica"));
+
+        assertEquals("primary", reads.execute(status -> source()));
+        assertFalse(routing.getReplicas().get(0).isHealthy());
+
+        replicaPool.setTargetDataSource(replicaDatabase);
+        routing.checkReplicas();
+
+        assertEquals("replica", reads.execute(status -> source()));
+    }
+
+    @Test
+    void aClientThatWroteReadsFromThePrimaryUntilItsCookieExpires() {
+        MockHttpServletResponse writeResponse = request(null);
+        writes.execute(status -> jdbcTemplate.update("UPDATE source SET name = name"));
+        assertEquals("primary", reads.execute(status -> source())); // the rest of the writing request
+
+        Cookie written = writeResponse.getCookie(ReadYourWrites.COOKIE);
+        assertNotNull(written);
+        assertEquals(5, written.getMaxAge());
+
+        request(new Cookie(ReadYourWrites.COOKIE, written.getValue()));
+        assertEquals("primary", reads.execute(status -> source()));
+
+        request(new Cookie(ReadYourWrites.COOKIE, Long.toString(System.currentTimeMillis() - 1)));
+        assertEquals("replica", reads.execute(status -> source()));
+
+        request(null);
+        assertEquals("replica", reads.execute(status -> source()));
+    }
+
+    @Test
+    void onPrimaryPinsReadOnlyTransactions() {
+        assertEquals("primary", ReplicaRoutingDataSource.onPrimary(() -> reads.execute(status -> source())));
+        assertEquals("replica", reads.execute(status -> source()));
+    }
+
+    private String source() {
+        return jdbcTemplate.queryForObject("SELECT name FROM source", String.class);
+    }
+
+    private static MockHttpServletResponse request(Cookie cookie) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (cookie != null) {
+            request.setCookies(cookie);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private static DriverManagerDataSource database(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+                "sa", "");
+    }
+}
@@ -0,0 +1,37 @@
+package com.brayden.todolistapi.repository;
+
+import com.brayden.todolistapi.model.TaskIds;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskIdMigrationTest {
+
+    @Test
+    void v7_keepsEveryExistingIdWhileMovingItToBinary() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:task_id_migration;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .target("6").load().migrate();
+        List<String> ids = List.of(UUID.randomUUID().toString(), UUID.randomUUID().toString());
+        for (String id : ids) {
+            jdbcTemplate.update("INSERT INTO tasks (id, title, priority_level, created_at, updated_at) "
+                    + "VALUES (?, 'Task', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", id);
+        }
+
+        Flyway.configure().dataSource(dataSource).locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .load().migrate();
+
+        List<String> migrated = jdbcTemplate.queryForList("SELECT id FROM tasks", byte[].class).stream()
+                .map(TaskIds::fromBytes).toList();
+        assertEquals(ids.stream().sorted().toList(), migrated.stream().sorted().toList());
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+    }
+}
@@ -0,0 +1,100 @@
+package com.brayden.todolistapi.repository;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.model.TaskIds;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.brayden.todolistapi.repository.SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class TaskProjectionRepositoryTest {
+    private static final String A = "00000000-0000-7000-8000-00000000000a";
+    private static final String B = "00000000-0000-7000-8000-00000000000b";
+    private static final String C = "00000000-0000-7000-8000-00000000000c";
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 1, 9, 0);
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        insert(A, "Write 50%_off banner", "PENDING", 0);
+        insert(B, "Write report", "PENDING", 1);
+        insert(C, "Review 50% plan", "COMPLETED", 2);
+        SqlCapture.clear();
+    }
+
+    @Test
+    void findResponses_mapsColumnsStraightIntoDtosWithoutManagingEntities() {
+        List<TaskResponseDTO> tasks = taskRepository.findResponses(TaskSpecifications.hasStatus("PENDING"),
+                PageRequest.of(0, 10, Sort.by("createdAt").descending()), false);
+
+        assertEquals(List.of(B, A), tasks.stream().map(TaskResponseDTO::getId).toList());
+        TaskResponseDTO task = tasks.get(1);
+        assertEquals("Write 50%_off banner", task.getTitle());
+        assertEquals("Description of " + A, task.getDescription());
+        assertEquals(2, task.getPriorityLevel());
+        assertEquals(LocalDate.of(2026, 3, 1), task.getDueDate());
+        assertEquals(Boolean.FALSE, task.getIsCompleted());
+        assertEquals(CREATED_AT, task.getCreatedAt());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount());
+    }
+
+    @Test
+    void findResponses_leavesDescriptionOutOfTheSelectForSummaries() {
+        List<TaskResponseDTO> tasks = taskRepository.findResponses(TaskSpecifications.hasStatus("COMPLETED"),
+                PageRequest.of(0, 10), true);
+
+        assertEquals(C, tasks.get(0).getId());
+        assertNull(tasks.get(0).getDescription());
+        assertFalse(SqlCapture.last().contains("description"), SqlCapture.last());
+    }
+
+    @Test
+    void titleContains_matchesLikeWildcardsLiterally() {
+        List<TaskResponseDTO> tasks = taskRepository.findResponses(TaskSpecifications.titleContains("50%_"),
+                PageRequest.of(0, 10), true);
+
+        assertEquals(List.of(A), tasks.stream().map(TaskResponseDTO::getId).toList());
+    }
+
+    @Test
+    void titleContains_ignoresCase() {
+        List<TaskResponseDTO> tasks = taskRepository.findResponses(TaskSpecifications.titleContains("wRITE"),
+                PageRequest.of(0, 10), true);
+
+        assertEquals(List.of(A, B), tasks.stream().map(TaskResponseDTO::getId).sorted().toList());
+    }
+
+    private void insert(String id, String title, String status, int minutes) {
+        Timestamp createdAt = Timestamp.valueOf(CREATED_AT.plusMinutes(minutes));
+        jdbcTemplate.update("INSERT INTO tasks (id, title, description, status, priority_level, due_date, is_completed, "
+                        + "created_at, updated_at) VALUES (?, ?, ?, ?, 2, '2026-03-01', FALSE, ?, ?)",
+                TaskIds.toBytes(id), title, "Description of " + id, status, createdAt, createdAt);
+    }
+}
@@ -0,0 +1,111 @@
+package com.brayden.todolistapi.repository;
+
+import com.brayden.todolistapi.model.TaskIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// EXPLAINs the SQL the repository actually generates; H2 in MySQL mode stands in for MySQL here
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.brayden.todolistapi.repository.SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class TaskRepositoryQueryPlanTest {
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+    private static final Pageable NEWEST_FIRST = Pageable.unpaged(Sort.by("createdAt").descending());
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.of(2026, 1, 1, 0, 0).plusMinutes(i));
+            rows.add(new Object[]{TaskIds.toBytes(TaskIds.next()), "Task " + i, STATUSES[i % 3], i % 5 + 1,
+                    Date.valueOf(LocalDate.of(2026, 1, 1).plusDays(i % 90)), createdAt, createdAt});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO tasks (id, title, status, priority_level, due_date, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+        jdbcTemplate.execute("ANALYZE");
+        SqlCapture.clear();
+    }
+
+    @Test
+    void findByStatus_usesStatusIndex() {
+        taskRepository.findResponses(TaskSpecifications.hasStatus("PENDING"), NEWEST_FIRST, false);
+
+        assertUsesIndex("idx_tasks_status_created_at", "PENDING");
+    }
+
+    @Test
+    void findByPriorityLevel_usesPriorityIndex() {
+        taskRepository.findResponses(TaskSpecifications.hasPriorityLevel(3), NEWEST_FIRST, false);
+
+        assertUsesIndex("idx_tasks_priority_level_created_at", 3);
+    }
+
+    @Test
+    void findByDueDate_usesDueDateIndex() {
+        taskRepository.findResponses(TaskSpecifications.hasDueDate(LocalDate.of(2026, 1, 10)), NEWEST_FIRST, false);
+
+        assertUsesIndex("idx_tasks_due_date_created_at", Date.valueOf(LocalDate.of(2026, 1, 10)));
+    }
+
+    @Test
+    void findByStatusesAndPriorityRange_usesStatusIndex() {
+        taskRepository.findResponses(TaskSpecifications.hasStatusIn(List.of("COMPLETED", "PENDING"))
+                .and(TaskSpecifications.hasPriorityLevelBetween(2, 4)), NEWEST_FIRST, false);
+
+        // the IN list is padded to a power of two by repeating the last value
+        assertUsesIndex("idx_tasks_status_created_at", "COMPLETED", "PENDING", 2, 4);
+    }
+
+    @Test
+    void findByCompletion_usesCompletionIndex() {
+        taskRepository.findResponses(TaskSpecifications.isCompleted(true), NEWEST_FIRST, false);
+
+        assertUsesIndex("idx_tasks_is_completed_created_at", true);
+    }
+
+    @Test
+    void findAllPagedByCreatedAt_usesCreatedAtIndex() {
+        taskRepository.findAll(PageRequest.of(3, 10, Sort.by("createdAt").descending()));
+
+        String select = SqlCapture.statements().stream()
+                .filter(sql -> !sql.contains("count("))
+                .findFirst()
+                .orElseThrow();
+        assertPlanUsesIndex(select, "idx_tasks_created_at", 30, 10);
+    }
+
+    private void assertUsesIndex(String index, Object... params) {
+        assertPlanUsesIndex(SqlCapture.last(), index, params);
+    }
+
+    private void assertPlanUsesIndex(String sql, String index, Object... params) {
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, params).toLowerCase();
+        assertTrue(plan.contains(index), () -> "expected " + index + " in plan:\n" + plan);
+        assertFalse(plan.contains("tablescan"), () -> "unexpected table scan in plan:\n" + plan);
+    }
+}
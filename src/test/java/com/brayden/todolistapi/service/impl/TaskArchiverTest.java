@@ -0,0 +1,158 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.cache.TaskCache;
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskChangeDTO;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
+import com.brayden.todolistapi.dto.TaskRequestDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.model.ArchivedTask;
+import com.brayden.todolistapi.model.TaskIds;
+import com.brayden.todolistapi.repository.TaskArchiveRepository;
+import com.brayden.todolistapi.stats.TaskStats;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.function.Executable;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+// the archiver is built by hand around the test's database, with its own now, an age of 30 days and a batch of two;
+// the service is the real one, to see what it makes of an archived id
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({TaskServiceImpl.class, TaskCache.class, TaskBatchWriter.class, TaskBulkWriter.class,
+        LocalValidatorFactoryBean.class, TaskStats.class, TaskWriteBehind.class,
+        TaskChangeFeed.class, TaskChangeStream.class})
+class TaskArchiverTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 0);
+    private static final String A = "00000000-0000-7000-8000-00000000000a";
+    private static final String B = "00000000-0000-7000-8000-00000000000b";
+    private static final String C = "00000000-0000-7000-8000-00000000000c";
+    private static final String D = "00000000-0000-7000-8000-00000000000d";
+    private static final String E = "00000000-0000-7000-8000-00000000000e";
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    private final TaskStats taskStats = new TaskStats();
+    private final TaskChangeStream taskChangeStream = mock(TaskChangeStream.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskArchiver archiver;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM tasks_archive");
+        jdbcTemplate.update("DELETE FROM task_tombstones");
+        insert(A, "COMPLETED", true, 60);
+        insert(B, "PENDING", true, 50); // completed by flag only
+        insert(C, "COMPLETED", false, 40); // completed by status only
+        insert(D, "PENDING", false, 90); // open however old
+        insert(E, "COMPLETED", true, 10); // not old enough
+        archiver = new TaskArchiver(entityManager, transactionManager, taskStats, taskChangeStream, meterRegistry,
+                Duration.ofDays(30), 2);
+    }
+
+    @Test
+    void archive_movesOldCompletedTasksInBatchesAndLeavesTheRest() {
+        assertEquals(3, archiver.archive(NOW));
+
+        assertEquals(List.of(D, E), jdbcTemplate.query("SELECT id FROM tasks ORDER BY id",
+                (row, i) -> TaskIds.fromBytes(row.getBytes(1))));
+        assertEquals(List.of(A, B, C), taskArchiveRepository.findAll().stream().map(ArchivedTask::getId).sorted()
+                .toList());
+        assertEquals(3, meterRegistry.get("tasks.archive.moved").counter().count());
+        assertTrue(taskStats.isStale());
+
+        assertEquals(0, archiver.archive(NOW));
+    }
+
+    @Test
+    void archive_keepsTheTaskAsItWas() {
+        archiver.archive(NOW);
+
+        ArchivedTask archived = taskArchiveRepository.findById(A).orElseThrow();
+        assertEquals("Task " + A, archived.getTitle());
+        assertEquals("COMPLETED", archived.getStatus());
+        assertEquals(4L, archived.getVersion());
+        assertEquals(NOW.minusDays(60), archived.getUpdatedAt());
+        assertNotNull(archived.getArchivedAt());
+        assertEquals(4L, taskArchiveRepository.findVersionById(A).orElseThrow());
+    }
+
+    @Test
+    void archive_leavesATombstoneAndTellsSubscribersTheTaskIsGone() {
+        when(taskChangeStream.hasSubscribers()).thenReturn(true);
+
+        archiver.archive(NOW);
+
+        assertEquals(List.of(A, B, C), jdbcTemplate.query("SELECT id FROM task_tombstones ORDER BY id",
+                (row, i) -> TaskIds.fromBytes(row.getBytes(1))));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<TaskChangeDTO>> published = ArgumentCaptor.forClass(List.class);
+        verify(taskChangeStream, times(2)).publish(published.capture());
+        List<TaskChangeDTO> changes = published.getAllValues().stream().flatMap(List::stream).toList();
+        assertEquals(List.of(A, B, C), changes.stream().map(TaskChangeDTO::getId).sorted().toList());
+        assertTrue(changes.stream().allMatch(change -> TaskChangeDTO.DELETED.equals(change.getType())));
+    }
+
+    @Test
+    void archivedTask_isReadButEveryWriteToItIsGone() {
+        archiver.archive(NOW);
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle("Reopened");
+        request.setPriorityLevel(3);
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setStatus("PENDING");
+
+        assertEquals("Task " + A, taskService.findTaskById(A).orElseThrow().getTitle());
+        assertGone(() -> taskService.updateTask(A, request, null));
+        assertGone(() -> taskService.patchTask(A, patch));
+        assertGone(() -> taskService.deleteTask(A, null));
+        assertGone(() -> taskService.deleteTask(A, 4L));
+        assertTrue(taskArchiveRepository.existsById(A));
+        assertTrue(taskService.patchTask("00000000-0000-7000-8000-0000000000ff", patch).isEmpty());
+    }
+
+    private static void assertGone(Executable write) {
+        assertEquals(HttpStatus.GONE, assertThrows(ApiException.class, write).getHttpStatus());
+    }
+
+    private void insert(String id, String status, boolean completed, int daysSinceUpdate) {
+        Timestamp updatedAt = Timestamp.valueOf(NOW.minusDays(daysSinceUpdate));
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority_level, is_completed, created_at, updated_at, "
+                        + "version) VALUES (?, ?, ?, 3, ?, ?, ?, 4)",
+                TaskIds.toBytes(id), "Task " + id, status, completed, updatedAt, updatedAt);
+    }
+}
@@ -0,0 +1,45 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.repository.TaskRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskBatchWriterTest {
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void insert_savesFlushesAndClearsInOneTransaction() {
+        TaskBatchWriter writer = new TaskBatchWriter(taskRepository, entityManager, transactionManager, 500);
+        List<Task> tasks = List.of(new Task(), new Task());
+
+        writer.insert(tasks);
+
+        InOrder inOrder = inOrder(transactionManager, taskRepository, entityManager);
+        inOrder.verify(transactionManager).getTransaction(any());
+        inOrder.verify(taskRepository).saveAll(tasks);
+        inOrder.verify(taskRepository).flush();
+        inOrder.verify(entityManager).clear();
+        inOrder.verify(transactionManager).commit(any());
+        assertEquals(500, writer.getChunkSize());
+    }
+}
@@ -0,0 +1,111 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.dto.TaskBulkUpdateDTO;
+import com.brayden.todolistapi.dto.TaskFilterDTO;
+import com.brayden.todolistapi.model.TaskIds;
+import com.brayden.todolistapi.model.TaskTombstone;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// runs the generated UPDATE/DELETE statements against H2 in MySQL mode
+@DataJpaTest(properties = "tasks.bulk.chunk-size=2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(TaskBulkWriter.class)
+class TaskBulkWriterTest {
+    private static final String A = "00000000-0000-7000-8000-00000000000a";
+    private static final String B = "00000000-0000-7000-8000-00000000000b";
+    private static final String C = "00000000-0000-7000-8000-00000000000c";
+    private static final String D = "00000000-0000-7000-8000-00000000000d";
+    private static final String E = "00000000-0000-7000-8000-00000000000e";
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    @Autowired
+    private TaskBulkWriter taskBulkWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM task_tombstones");
+        insert(A, "IN_PROGRESS", LocalDate.of(2026, 2, 1));
+        insert(B, "IN_PROGRESS", LocalDate.of(2026, 2, 2));
+        insert(C, "IN_PROGRESS", LocalDate.of(2026, 4, 1));
+        insert(D, "PENDING", LocalDate.of(2026, 2, 1));
+        insert(E, "IN_PROGRESS", null);
+    }
+
+    @Test
+    void findIds_returnsMatchingIdsChunkByChunk() {
+        TaskFilterDTO filter = filter("in_progress", LocalDate.of(2026, 3, 1));
+
+        assertEquals(List.of(A, B), taskBulkWriter.findIds(filter, null));
+        assertEquals(List.of(), taskBulkWriter.findIds(filter, B));
+    }
+
+    @Test
+    void update_setsChangesAndUpdatedAtOnlyOnRowsStillMatchingTheFilter() {
+        TaskFilterDTO filter = filter("IN_PROGRESS", LocalDate.of(2026, 3, 1));
+        TaskBulkUpdateDTO changes = new TaskBulkUpdateDTO();
+        changes.setStatus("COMPLETED");
+        changes.setIsCompleted(true);
+        LocalDateTime updatedAt = LocalDateTime.of(2026, 5, 1, 12, 0);
+
+        // d no longer matches, as if it had changed after findIds
+        int affected = taskBulkWriter.update(List.of(A, D), filter, changes, updatedAt);
+
+        assertEquals(1, affected);
+        assertEquals("COMPLETED", jdbcTemplate.queryForObject("SELECT status FROM tasks WHERE id = ?", String.class,
+                TaskIds.toBytes(A)));
+        assertEquals(Boolean.TRUE, jdbcTemplate.queryForObject("SELECT is_completed FROM tasks WHERE id = ?", Boolean.class,
+                TaskIds.toBytes(A)));
+        assertEquals(updatedAt, jdbcTemplate.queryForObject("SELECT updated_at FROM tasks WHERE id = ?", LocalDateTime.class,
+                TaskIds.toBytes(A)));
+        assertEquals("PENDING", jdbcTemplate.queryForObject("SELECT status FROM tasks WHERE id = ?", String.class,
+                TaskIds.toBytes(D)));
+        assertEquals(CREATED_AT, jdbcTemplate.queryForObject("SELECT updated_at FROM tasks WHERE id = ?", LocalDateTime.class,
+                TaskIds.toBytes(D)));
+    }
+
+    @Test
+    void delete_removesOnlyRowsStillMatchingTheFilterAndLeavesTheirTombstones() {
+        TaskFilterDTO filter = filter("IN_PROGRESS", null);
+
+        List<TaskTombstone> deleted = taskBulkWriter.delete(List.of(C, D, E), filter);
+
+        assertEquals(List.of(C, E), deleted.stream().map(TaskTombstone::getId).sorted().toList());
+        assertEquals(List.of(A, B, D), jdbcTemplate.queryForList("SELECT id FROM tasks ORDER BY id", byte[].class).stream()
+                .map(TaskIds::fromBytes).toList());
+        assertEquals(List.of(C, E), jdbcTemplate.queryForList("SELECT id FROM task_tombstones ORDER BY id", byte[].class)
+                .stream().map(TaskIds::fromBytes).toList());
+    }
+
+    private TaskFilterDTO filter(String status, LocalDate dueBefore) {
+        TaskFilterDTO filter = new TaskFilterDTO();
+        filter.setStatus(status);
+        filter.setDueBefore(dueBefore);
+        return filter;
+    }
+
+    private void insert(String id, String status, LocalDate dueDate) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority_level, due_date, created_at, updated_at) "
+                        + "VALUES (?, ?, ?, 3, ?, ?, ?)", TaskIds.toBytes(id), "Task " + id, status,
+                dueDate == null ? null : Date.valueOf(dueDate), Timestamp.valueOf(CREATED_AT), Timestamp.valueOf(CREATED_AT));
+    }
+}
@@ -0,0 +1,115 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.dto.TaskChangeDTO;
+import com.brayden.todolistapi.dto.TaskChangePageDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.model.TaskIds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// walks tasks and tombstones against H2 in MySQL mode; everything is stamped an hour back, except one task still
+// inside the settle window
+@DataJpaTest(properties = "tasks.changes.settle=2s")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(TaskChangeFeed.class)
+class TaskChangeFeedTest {
+    private static final String A = "00000000-0000-7000-8000-00000000000a";
+    private static final String B = "00000000-0000-7000-8000-00000000000b";
+    private static final String C = "00000000-0000-7000-8000-00000000000c";
+    private static final String D = "00000000-0000-7000-8000-00000000000d";
+    private static final String E = "00000000-0000-7000-8000-00000000000e";
+    private static final LocalDateTime AN_HOUR_AGO = LocalDateTime.now().minusHours(1).truncatedTo(ChronoUnit.SECONDS);
+
+    @Autowired
+    private TaskChangeFeed taskChangeFeed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("DELETE FROM task_tombstones");
+        // b and a changed in the same instant, the id decides
+        insert(B, AN_HOUR_AGO, AN_HOUR_AGO);
+        insert(A, AN_HOUR_AGO, AN_HOUR_AGO);
+        insert(C, AN_HOUR_AGO.minusDays(1), AN_HOUR_AGO.plusSeconds(1));
+        jdbcTemplate.update("INSERT INTO task_tombstones (id, deleted_at) VALUES (?, ?)", TaskIds.toBytes(D),
+                Timestamp.valueOf(AN_HOUR_AGO.plusSeconds(2)));
+        insert(E, LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    void read_withoutSinceReturnsLiveTasksInOrderButNoDeletes() {
+        TaskChangePageDTO page = taskChangeFeed.read(null, 10);
+
+        assertEquals(List.of(A, B, C), ids(page));
+        page.getChanges().forEach(change -> assertEquals(TaskChangeDTO.CREATED, change.getType()));
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void read_pagesThroughTasksAndTombstonesMerged() {
+        TaskChangePageDTO first = taskChangeFeed.read(null, 1);
+        assertEquals(List.of(A), ids(first));
+        assertTrue(first.isHasMore());
+
+        TaskChangePageDTO second = taskChangeFeed.read(first.getNextCursor(), 2);
+        assertEquals(List.of(B, C), ids(second));
+        // neither was created after the cursor
+        second.getChanges().forEach(change -> assertEquals(TaskChangeDTO.UPDATED, change.getType()));
+        assertTrue(second.isHasMore());
+
+        TaskChangePageDTO third = taskChangeFeed.read(second.getNextCursor(), 2);
+        assertEquals(List.of(D), ids(third));
+        assertEquals(TaskChangeDTO.DELETED, third.getChanges().get(0).getType());
+        assertNull(third.getChanges().get(0).getTask());
+        assertFalse(third.isHasMore());
+
+        // nothing new: the same cursor comes back to poll with
+        TaskChangePageDTO empty = taskChangeFeed.read(third.getNextCursor(), 2);
+        assertEquals(List.of(), empty.getChanges());
+        assertEquals(third.getNextCursor(), empty.getNextCursor());
+    }
+
+    @Test
+    void read_refusesACursorOlderThanTheTombstonesKept() {
+        String old = new TaskChangeCursor(LocalDateTime.now().minusDays(31), A).encode();
+
+        ApiException ex = assertThrows(ApiException.class, () -> taskChangeFeed.read(old, 10));
+
+        assertEquals(HttpStatus.GONE, ex.getHttpStatus());
+    }
+
+    @Test
+    void read_rejectsAnInvalidCursor() {
+        ApiException ex = assertThrows(ApiException.class, () -> taskChangeFeed.read("not a cursor!", 10));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+    }
+
+    private static List<String> ids(TaskChangePageDTO page) {
+        return page.getChanges().stream().map(TaskChangeDTO::getId).toList();
+    }
+
+    private void insert(String id, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority_level, created_at, updated_at) "
+                        + "VALUES (?, ?, 'PENDING', 3, ?, ?)", TaskIds.toBytes(id), "Task " + id,
+                Timestamp.valueOf(createdAt), Timestamp.valueOf(updatedAt));
+    }
+}
@@ -0,0 +1,73 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskCursorTest {
+    private static final String ID_1 = "00000000-0000-7000-8000-000000000001";
+    private static final String ID_2 = "00000000-0000-7000-8000-000000000002";
+
+
+    @Test
+    void encodeAndDecode_roundTripsValueAndId() {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(ID_1);
+        task.setDueDate(LocalDate.of(2026, 3, 1));
+
+        String token = TaskCursor.after(task, "dueDate", true).encode();
+        TaskCursor decoded = TaskCursor.decode(token, "dueDate", true);
+
+        assertEquals(token, decoded.encode());
+    }
+
+    @Test
+    void encodeAndDecode_keepsNullAndSeparatorInValue() {
+        TaskResponseDTO withNull = new TaskResponseDTO();
+        withNull.setId(ID_1);
+        TaskResponseDTO withPipe = new TaskResponseDTO();
+        withPipe.setId(ID_2);
+        withPipe.setDescription("a|b|c");
+
+        String nullToken = TaskCursor.after(withNull, "description", false).encode();
+        String pipeToken = TaskCursor.after(withPipe, "description", false).encode();
+
+        assertEquals(nullToken, TaskCursor.decode(nullToken, "description", false).encode());
+        assertEquals(pipeToken, TaskCursor.decode(pipeToken, "description", false).encode());
+        assertNotEquals(nullToken, pipeToken);
+    }
+
+    @Test
+    void decode_throwsWhenSortDoesNotMatch() {
+        TaskResponseDTO task = new TaskResponseDTO();
+        task.setId(ID_1);
+        task.setTitle("Task 1");
+        String token = TaskCursor.after(task, "title", false).encode();
+
+        ApiException ex = assertThrows(ApiException.class, () -> TaskCursor.decode(token, "title", true));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+    }
+
+    @Test
+    void decode_throwsForGarbage() {
+        ApiException ex = assertThrows(ApiException.class, () -> TaskCursor.decode("not a cursor!", "title", false));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+    }
+
+    @Test
+    void sort_addsIdAsTiebreakerInSameDirection() {
+        Sort sort = TaskCursor.sort("createdAt", true);
+
+        assertEquals(Sort.Direction.DESC, sort.getOrderFor("createdAt").getDirection());
+        assertEquals(Sort.Direction.DESC, sort.getOrderFor("id").getDirection());
+        assertEquals(1, TaskCursor.sort("id", false).toList().size());
+    }
+}
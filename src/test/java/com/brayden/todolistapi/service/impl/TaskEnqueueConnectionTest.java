@@ -0,0 +1,99 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.cache.TaskCache;
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskRequestDTO;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.stats.TaskStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// POST /tasks/async hands the task to the writer thread: the request thread itself never takes a pool connection
+@DataJpaTest(properties = "tasks.write-behind.enabled=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskServiceImpl.class, TaskCache.class, TaskBatchWriter.class, TaskBulkWriter.class,
+        LocalValidatorFactoryBean.class, TaskStats.class, TaskWriteBehind.class,
+        TaskChangeFeed.class, TaskChangeStream.class, TaskEnqueueConnectionTest.ConnectionThreads.class})
+class TaskEnqueueConnectionTest {
+    // the threads that took a connection, in order
+    private static final List<Thread> CONNECTED = new CopyOnWriteArrayList<>();
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        CONNECTED.clear();
+    }
+
+    @Test
+    void enqueueTask_takesNoConnectionOnTheCallersThread() throws InterruptedException {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle("Queued");
+        request.setPriorityLevel(2);
+
+        String id = taskService.enqueueTask(request).getId();
+        taskService.getWriteBehindStats();
+
+        assertFalse(CONNECTED.contains(Thread.currentThread()), CONNECTED::toString);
+        while (taskService.getWriteBehindStats().getPending() > 0) {
+            Thread.sleep(10);
+        }
+        assertFalse(CONNECTED.isEmpty()); // the writer thread did
+        assertTrue(taskRepository.existsById(id));
+    }
+
+    @TestConfiguration
+    static class ConnectionThreads {
+        @Bean
+        static BeanPostProcessor recordingConnectionThreads() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (!(bean instanceof DataSource dataSource)) {
+                        return bean;
+                    }
+                    return new DelegatingDataSource(dataSource) {
+                        @Override
+                        public Connection getConnection() throws SQLException {
+                            CONNECTED.add(Thread.currentThread());
+                            return super.getConnection();
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
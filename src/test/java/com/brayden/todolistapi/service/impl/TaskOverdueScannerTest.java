@@ -0,0 +1,94 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.model.TaskIds;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.service.TasksOverdueEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the scanner is built by hand around the test's repository, with its own today and a batch of two
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class TaskOverdueScannerTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+    private static final String A = "00000000-0000-7000-8000-00000000000a";
+    private static final String B = "00000000-0000-7000-8000-00000000000b";
+    private static final String C = "00000000-0000-7000-8000-00000000000c";
+    private static final String D = "00000000-0000-7000-8000-00000000000d";
+    private static final String E = "00000000-0000-7000-8000-00000000000e";
+    private static final String F = "00000000-0000-7000-8000-00000000000f";
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<TasksOverdueEvent> events = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private TaskOverdueScanner scanner;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        insert(A, TODAY.minusDays(1), false);
+        insert(B, TODAY.minusDays(2), false);
+        insert(C, TODAY.minusDays(1), true); // completed
+        insert(D, TODAY.minusDays(3), false); // before the lookback
+        insert(E, TODAY, false); // due today isn't overdue yet
+        insert(F, TODAY.minusDays(1), false);
+        scanner = new TaskOverdueScanner(taskRepository, transactionManager,
+                event -> events.add((TasksOverdueEvent) event), meterRegistry, 2, Duration.ofDays(2));
+    }
+
+    @Test
+    void scan_publishesOpenTasksThatFellDueSinceTheLastScanInBatches() {
+        assertEquals(3, scanner.scan(TODAY));
+
+        assertEquals(List.of(List.of(B, A), List.of(F)), events.stream().map(TaskOverdueScannerTest::ids).toList());
+        assertEquals(1, meterRegistry.get("tasks.overdue.scan").timer().count());
+        assertEquals(3, meterRegistry.get("tasks.overdue.scan.rows").summary().totalAmount());
+    }
+
+    @Test
+    void scan_onlyLooksAtDueDatesPassedSinceTheLastScan() {
+        scanner.scan(TODAY);
+        events.clear();
+
+        assertEquals(0, scanner.scan(TODAY));
+        assertEquals(List.of(), events);
+
+        assertEquals(1, scanner.scan(TODAY.plusDays(1)));
+        assertEquals(List.of(List.of(E)), events.stream().map(TaskOverdueScannerTest::ids).toList());
+    }
+
+    private static List<String> ids(TasksOverdueEvent event) {
+        return event.tasks().stream().map(TaskResponseDTO::getId).toList();
+    }
+
+    private void insert(String id, LocalDate dueDate, boolean completed) {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority_level, due_date, is_completed, created_at, "
+                        + "updated_at) VALUES (?, ?, 'PENDING', 3, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                TaskIds.toBytes(id), "Task " + id, Date.valueOf(dueDate), completed);
+    }
+}
@@ -0,0 +1,125 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.cache.TaskCache;
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.config.SecondLevelCacheConfig;
+import com.brayden.todolistapi.dto.TaskBulkUpdateDTO;
+import com.brayden.todolistapi.dto.TaskFilterDTO;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.model.TaskIds;
+import com.brayden.todolistapi.repository.SqlCapture;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.stats.TaskStats;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// every service call commits on its own, as in a request, so the cached entries are the ones other requests would see
+@DataJpaTest(properties = {"tasks.second-level-cache.enabled=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.brayden.todolistapi.repository.SqlCapture"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({SecondLevelCacheConfig.class, TaskServiceImpl.class, TaskCache.class, TaskBatchWriter.class,
+        TaskBulkWriter.class, LocalValidatorFactoryBean.class, TaskStats.class, TaskWriteBehind.class,
+        TaskChangeFeed.class, TaskChangeStream.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TaskSecondLevelCacheTest {
+    private static final String ID_1 = "00000000-0000-7000-8000-000000000001";
+    private static final String ID_2 = "00000000-0000-7000-8000-000000000002";
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority_level, created_at, updated_at) VALUES "
+                + "(?, 'Task 1', 'PENDING', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), "
+                + "(?, 'Task 2', 'COMPLETED', 5, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                TaskIds.toBytes(ID_1), TaskIds.toBytes(ID_2));
+        // the rows above went around Hibernate, so it can't know what it cached before them
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        SqlCapture.clear();
+    }
+
+    @Test
+    void findTasksByStatus_answersARepeatFromTheQueryCache() {
+        assertEquals(List.of(ID_1), ids(taskService.findTasksByStatus("pending", false)));
+        int statements = SqlCapture.statements().size();
+
+        assertEquals(List.of(ID_1), ids(taskService.findTasksByStatus("PENDING", false)));
+        assertEquals(statements, SqlCapture.statements().size(), SqlCapture.statements()::toString);
+
+        // summary leaves out a column, so it is a different query with its own entry
+        taskService.findTasksByStatus("PENDING", true);
+        assertEquals(statements + 1, SqlCapture.statements().size());
+    }
+
+    @Test
+    void patchTask_dropsCachedResultsThoughItIsNativeSql() {
+        taskService.findTasksByStatus("PENDING", false);
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setStatus("COMPLETED");
+
+        taskService.patchTask(ID_1, patch);
+
+        assertEquals(List.of(), ids(taskService.findTasksByStatus("PENDING", false)));
+    }
+
+    @Test
+    void updateTasks_dropsCachedResultsAfterASetBasedUpdate() {
+        assertEquals(List.of(), ids(taskService.findTasksByPriorityLevel(1, false)));
+        TaskFilterDTO filter = new TaskFilterDTO();
+        filter.setStatus("PENDING");
+        TaskBulkUpdateDTO update = new TaskBulkUpdateDTO();
+        update.setFilter(filter);
+        update.setPriorityLevel(1);
+
+        taskService.updateTasks(update);
+
+        assertEquals(List.of(ID_1), ids(taskService.findTasksByPriorityLevel(1, false)));
+    }
+
+    @Test
+    void findById_isServedFromTheEntityCacheUntilTheTaskIsDeleted() {
+        assertTrue(taskRepository.findById(ID_2).isPresent());
+        int statements = SqlCapture.statements().size();
+
+        assertTrue(taskRepository.findById(ID_2).isPresent());
+        assertEquals(statements, SqlCapture.statements().size(), SqlCapture.statements()::toString);
+
+        assertTrue(taskService.deleteTask(ID_2, null));
+
+        assertTrue(taskRepository.findById(ID_2).isEmpty());
+        assertEquals(List.of(), ids(taskService.findTasksByStatus("COMPLETED", false)));
+    }
+
+    private static List<String> ids(List<TaskResponseDTO> tasks) {
+        return tasks.stream().map(TaskResponseDTO::getId).toList();
+    }
+}
@@ -1,36 +1,108 @@
 package com.brayden.todolistapi.service.impl;
 
+import com.brayden.todolistapi.cache.TaskCache;
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskBatchResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkResultDTO;
+import com.brayden.todolistapi.dto.TaskBulkUpdateDTO;
+import com.brayden.todolistapi.dto.TaskCursorPageDTO;
+import com.brayden.todolistapi.dto.TaskFilterDTO;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
 import com.brayden.todolistapi.dto.TaskRequestDTO;
 import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.dto.TaskSearchDTO;
+import com.brayden.todolistapi.dto.TaskStatsDTO;
+import com.brayden.todolistapi.dto.TaskWriteStatusDTO;
 import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.model.ArchivedTask;
 import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.replicas.ReplicaRoutingDataSource;
+import com.brayden.todolistapi.repository.TaskArchiveRepository;
 import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.stats.TaskStats;
+import com.brayden.todolistapi.stats.TaskStatsGroup;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
 class TaskServiceImplTest {
+    private static final String ID_1 = "00000000-0000-7000-8000-000000000001";
+    private static final String ID_2 = "00000000-0000-7000-8000-000000000002";
+    private static final String ID_3 = "00000000-0000-7000-8000-000000000003";
+
     @Mock
     private TaskRepository taskRepository;
 
-    @InjectMocks
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TaskBatchWriter taskBatchWriter;
+
+    @Mock
+    private TaskBulkWriter taskBulkWriter;
+
+    @Mock
+    private Validator validator;
+
+    @Mock
+    private TaskWriteBehind taskWriteBehind;
+
+    @Mock
+    private TaskChangeFeed taskChangeFeed;
+
+    @Mock
+    private TaskChangeStream taskChangeStream;
+
+    @Mock
+    private TaskArchiveRepository taskArchiveRepository;
+
+    @Spy
+    private TaskCache taskCache = new TaskCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+
+    @Spy
+    private TaskStats taskStats = new TaskStats();
+
     private TaskServiceImpl taskService;
 
+    @BeforeEach
+    void setUp() {
+        taskService = service(false);
+    }
+
     @Test
     void createTask_savesAndReturnsMappedTask() {
         TaskRequestDTO request = buildRequest();
@@ -45,6 +117,7 @@ class TaskServiceImplTest {
         ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
         verify(taskRepository).save(captor.capture());
         assertEquals(request.getTitle(), captor.getValue().getTitle());
+        verify(taskStats).recordAfterCommit(null, TaskStatsGroup.of(savedTask));
     }
 
     @Test
@@ -58,29 +131,120 @@ class TaskServiceImplTest {
     }
 
     @Test
-    void findAllTasks_returnsMappedList() {
-        when(taskRepository.findAll()).thenReturn(List.of(buildTask()));
+    @SuppressWarnings("unchecked")
+    void createTasks_insertsValidItemsInChunksAndReportsInvalidOnes() {
+        when(taskBatchWriter.getChunkSize()).thenReturn(2);
+        doAnswer(invocation -> {
+            List<Task> chunk = invocation.getArgument(0);
+            chunk.forEach(task -> task.setId("id-" + task.getTitle()));
+            return null;
+        }).when(taskBatchWriter).insert(anyList());
+        TaskRequestDTO invalid = buildRequest();
+        invalid.setStatus("BAD_STATUS");
+        TaskRequestDTO first = buildRequest();
+        first.setTitle("a");
+        TaskRequestDTO second = buildRequest();
+        second.setTitle("b");
+        TaskRequestDTO third = buildRequest();
+        third.setTitle("c");
+
+        TaskBatchResultDTO result = taskService.createTasks(List.of(first, invalid, second, third));
+
+        assertEquals(3, result.getCreated());
+        assertEquals(1, result.getFailed());
+        assertEquals("id-a", result.getItems().get(0).getId());
+        assertFalse(result.getItems().get(1).isCreated());
+        assertNotNull(result.getItems().get(1).getError());
+        assertEquals("id-c", result.getItems().get(3).getId());
+        verify(taskBatchWriter, times(2)).insert(anyList());
+    }
+
+    @Test
+    void createTasks_reportsWholeChunkWhenInsertFails() {
+        when(taskBatchWriter.getChunkSize()).thenReturn(10);
+        doThrow(new IllegalStateException("duplicate key")).when(taskBatchWriter).insert(anyList());
+
+        TaskBatchResultDTO result = taskService.createTasks(List.of(buildRequest(), buildRequest()));
+
+        assertEquals(0, result.getCreated());
+        assertEquals(2, result.getFailed());
+        assertTrue(result.getItems().get(0).getError().contains("duplicate key"));
+    }
+
+    @Test
+    void findAllTasks_readsProjectionsWithoutDescriptionForSummaries() {
+        TaskResponseDTO summary = new TaskResponseDTO(ID_1, "Task 1", 3, "PENDING", null, false, null, null, 0L);
+        when(taskRepository.findResponses(any(), eq(Pageable.unpaged()), eq(true))).thenReturn(List.of(summary));
 
-        List<TaskResponseDTO> result = taskService.findAllTasks();
+        List<TaskResponseDTO> result = taskService.findAllTasks(true);
 
         assertEquals(1, result.size());
         assertEquals("Task 1", result.get(0).getTitle());
+        assertNull(result.get(0).getDescription());
     }
 
     @Test
-    void findAllTasksPaged_returnsMappedList() {
-        when(taskRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(buildTask())));
+    void exportTasks_mapsEachRowAndDetachesIt() {
+        Task task = buildTask();
+        when(taskRepository.streamAll()).thenReturn(Stream.of(task));
+        List<TaskResponseDTO> exported = new ArrayList<>();
+
+        taskService.exportTasks(exported::add);
 
-        List<TaskResponseDTO> result = taskService.findAllTasks(0, 10, "createdAt", "desc");
+        assertEquals(1, exported.size());
+        assertEquals("Task 1", exported.get(0).getTitle());
+        verify(entityManager).detach(task);
+    }
+
+    @Test
+    void findAllTasksPaged_readsProjectionsSortedWithIdAsTiebreaker() {
+        when(taskRepository.findResponses(any(), any(Pageable.class), eq(true))).thenReturn(List.of(response(ID_1)));
+
+        List<TaskResponseDTO> result = taskService.findAllTasks(1, 10, "createdAt", "desc", true);
 
         assertEquals(1, result.size());
-        verify(taskRepository).findAll(any(Pageable.class));
+        verify(taskRepository).findResponses(any(), eq(PageRequest.of(1, 10, TaskCursor.sort("createdAt", true))),
+                eq(true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findAllTasksByCursor_returnsNextCursorWhenMoreRowsExist() {
+        when(taskRepository.findResponses(any(Specification.class), eq(PageRequest.of(0, 3,
+                TaskCursor.sort("createdAt", true))), eq(false)))
+                .thenReturn(List.of(response(ID_1), response(ID_2), response(ID_3)));
+
+        TaskCursorPageDTO result = taskService.findAllTasksByCursor(null, 2, "createdAt", "desc", false);
+
+        assertEquals(2, result.getTasks().size());
+        assertNotNull(result.getNextCursor());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void findAllTasksByCursor_returnsNoCursorOnLastPage() {
+        when(taskRepository.findResponses(any(Specification.class), any(Pageable.class), eq(true)))
+                .thenReturn(List.of(response(ID_1)));
+
+        TaskCursorPageDTO result = taskService.findAllTasksByCursor(null, 2, "createdAt", "desc", true);
+
+        assertEquals(1, result.getTasks().size());
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void findAllTasksByCursor_throwsForInvalidCursor() {
+        ApiException ex = assertThrows(ApiException.class,
+                () -> taskService.findAllTasksByCursor("%%%", 10, "createdAt", "desc", false));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+        verifyNoInteractions(taskRepository);
     }
 
     @Test
     void findAllTasksPaged_throwsForInvalidPaging() {
         ApiException ex = assertThrows(ApiException.class,
-                () -> taskService.findAllTasks(-1, 10, "createdAt", "desc"));
+                () -> taskService.findAllTasks(-1, 10, "createdAt", "desc", false));
 
         assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
         verifyNoInteractions(taskRepository);
@@ -88,13 +252,105 @@ class TaskServiceImplTest {
 
     @Test
     void findTaskById_returnsEmptyWhenNotFound() {
-        when(taskRepository.findById("id-1")).thenReturn(Optional.empty());
+        when(taskRepository.findById(ID_1)).thenReturn(Optional.empty());
 
-        Optional<TaskResponseDTO> result = taskService.findTaskById("id-1");
+        Optional<TaskResponseDTO> result = taskService.findTaskById(ID_1);
 
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void findTaskById_fallsBackToTheArchive() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 2, 3, 4);
+        when(taskRepository.findById(ID_1)).thenReturn(Optional.empty());
+        when(taskArchiveRepository.findById(ID_1)).thenReturn(Optional.of(new ArchivedTask(ID_1, "Task 1", null,
+                "COMPLETED", 3, null, true, updatedAt, updatedAt, 7L, updatedAt.plusYears(1))));
+
+        TaskResponseDTO result = taskService.findTaskById(ID_1).orElseThrow();
+
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals(7L, result.getVersion());
+        assertEquals(updatedAt, result.getUpdatedAt());
+    }
+
+    @Test
+    void findTaskById_servesRepeatedLookupsFromCache() {
+        when(taskRepository.findById(ID_1)).thenReturn(Optional.of(buildTask()));
+
+        taskService.findTaskById(ID_1);
+        Optional<TaskResponseDTO> result = taskService.findTaskById(ID_1);
+
+        assertTrue(result.isPresent());
+        verify(taskRepository, times(1)).findById(ID_1);
+    }
+
+    @Test
+    void findTaskById_treatsAnyCaseOfAnIdAsTheSameTask() {
+        String id = "0190a8c4-5e2b-7c3d-9f01-23456789abcd";
+        Task task = buildTask();
+        task.setId(id);
+        when(taskRepository.findById(id)).thenReturn(Optional.of(task));
+
+        assertEquals(id, taskService.findTaskById("0190A8C4-5E2B-7C3D-9F01-23456789ABCD").orElseThrow().getId());
+        assertTrue(taskService.findTaskById("0190a8c4-5E2b-7c3d-9F01-23456789AbCd").isPresent());
+        taskService.deleteTask("0190A8C4-5E2B-7C3D-9F01-23456789abcd", null);
+
+        verify(taskRepository, times(1)).findById(id); // the second lookup is the cached one
+        verify(taskRepository).deleteByIdReturningCount(id);
+        verify(taskRepository, never()).findById(argThat(other -> !other.equals(id)));
+    }
+
+    @Test
+    void enqueueTask_queuesTaskWithItsIdAlreadySet() {
+        TaskRequestDTO request = buildRequest();
+        request.setStatus("in_progress");
+        when(taskWriteBehind.isEnabled()).thenReturn(true);
+
+        TaskWriteStatusDTO result = taskService.enqueueTask(request);
+
+        ArgumentCaptor<Task> captor = ArgumentCaptor.forClass(Task.class);
+        verify(taskWriteBehind).enqueue(captor.capture());
+        assertNotNull(result.getId());
+        assertEquals(result.getId(), captor.getValue().getId());
+        assertEquals("IN_PROGRESS", captor.getValue().getStatus());
+        assertEquals(TaskWriteBehind.QUEUED, result.getStatus());
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void enqueueTask_throwsWhenWriteBehindIsDisabled() {
+        ApiException ex = assertThrows(ApiException.class, () -> taskService.enqueueTask(buildRequest()));
+
+        assertEquals(HttpStatus.NOT_FOUND, ex.getHttpStatus());
+        verify(taskWriteBehind, never()).enqueue(any(Task.class));
+    }
+
+    @Test
+    void findWriteStatus_asksTheDatabaseOnceTheQueueHasForgottenTheId() {
+        TaskWriteStatusDTO queued = new TaskWriteStatusDTO(ID_1, TaskWriteBehind.QUEUED, null);
+        when(taskWriteBehind.status(ID_1)).thenReturn(queued);
+        when(taskRepository.existsById(ID_2)).thenReturn(true);
+
+        assertEquals(Optional.of(queued), taskService.findWriteStatus(ID_1));
+        assertEquals(TaskWriteBehind.CREATED, taskService.findWriteStatus(ID_2).orElseThrow().getStatus());
+        assertTrue(taskService.findWriteStatus(ID_3).isEmpty());
+        verify(taskRepository, never()).existsById(ID_1);
+    }
+
+    @Test
+    void updateTask_invalidatesCachedTask() {
+        Task existing = buildTask();
+        when(taskRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        taskService.findTaskById(existing.getId());
+
+        taskService.updateTask(existing.getId(), buildRequest(), null);
+        taskService.findTaskById(existing.getId());
+
+        verify(taskCache).invalidateAfterCommit(existing.getId());
+        verify(taskRepository, times(3)).findById(existing.getId());
+    }
+
     @Test
     void findTaskById_throwsForBlankId() {
         ApiException ex = assertThrows(ApiException.class, () -> taskService.findTaskById(" "));
@@ -104,57 +360,373 @@ class TaskServiceImplTest {
 
     @Test
     void findTasksByTitle_throwsForBlankTitle() {
-        ApiException ex = assertThrows(ApiException.class, () -> taskService.findTasksByTitle(" "));
+        ApiException ex = assertThrows(ApiException.class, () -> taskService.findTasksByTitle(" ", false, 0, 20, false));
 
         assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
     }
 
+    @Test
+    void findTasksByTitle_usesFullTextPhraseAndEscapedLikePattern() {
+        when(taskRepository.searchResponses(eq("\"50%_off\""), eq("%50\\%\\_off%"), eq(false), any(Pageable.class),
+                eq(false))).thenReturn(List.of(new TaskResponseDTO()));
+
+        List<TaskResponseDTO> result = taskService.findTasksByTitle(" 50%_off  ", false, 0, 20, false);
+
+        assertEquals(1, result.size());
+    }
+
+    @Test
+    void findTasksByTitle_fallsBackToContainingForShortFragments() {
+        when(taskRepository.findResponses(any(), eq(PageRequest.of(0, 20, Sort.by("createdAt").descending())), eq(false)))
+                .thenReturn(List.of(new TaskResponseDTO()));
+
+        List<TaskResponseDTO> result = taskService.findTasksByTitle("x", true, 0, 20, false);
+
+        assertEquals(1, result.size());
+        verify(taskRepository, never()).searchResponses(anyString(), anyString(), anyBoolean(), any(), anyBoolean());
+    }
+
+    @Test
+    void findTasksByStatus_queriesUpperCaseStatus() {
+        ArgumentCaptor<Specification<Task>> captor = ArgumentCaptor.captor();
+        when(taskRepository.findCachedResponses(captor.capture(), any(), eq(false)))
+                .thenReturn(List.of(new TaskResponseDTO()));
+
+        List<TaskResponseDTO> result = taskService.findTasksByStatus("in_progress", false);
+
+        assertEquals(1, result.size());
+        Root<Task> root = mock();
+        CriteriaBuilder cb = mock();
+        Path<Object> status = mock();
+        when(root.get("status")).thenReturn(status);
+        captor.getValue().toPredicate(root, mock(), cb);
+        verify(cb).equal(status, "IN_PROGRESS");
+    }
+
+    @Test
+    void findTasksByStatusAndPriority_goToAReplicaWithoutTheQueryCache() {
+        List<Boolean> pinned = new ArrayList<>();
+        when(taskRepository.findCachedResponses(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            pinned.add(ReplicaRoutingDataSource.isPinnedToPrimary());
+            return List.of();
+        });
+
+        taskService.findTasksByStatus("PENDING", false);
+        taskService.findTasksByPriorityLevel(3, false);
+
+        assertEquals(List.of(false, false), pinned);
+    }
+
+    @Test
+    void findTasksByStatusAndPriority_readFromThePrimaryWhileTheQueryCacheHoldsTheResult() {
+        TaskServiceImpl cachingService = service(true);
+        List<Boolean> pinned = new ArrayList<>();
+        when(taskRepository.findCachedResponses(any(), any(), anyBoolean())).thenAnswer(invocation -> {
+            pinned.add(ReplicaRoutingDataSource.isPinnedToPrimary());
+            return List.of();
+        });
+
+        cachingService.findTasksByStatus("PENDING", false);
+        cachingService.findTasksByPriorityLevel(3, false);
+
+        assertEquals(List.of(true, true), pinned);
+    }
+
+    @Test
+    void getStats_servesTheLastCountersEvenWhileStaleWithoutCounting() {
+        taskStats.reconcile(() -> List.of(
+                new TaskStatsGroup("PENDING", 3, false, LocalDate.of(2020, 1, 1), 2),
+                new TaskStatsGroup("COMPLETED", 1, true, null, 2)));
+        taskStats.markStaleAfterCommit();
+
+        TaskStatsDTO stats = taskService.getStats();
+
+        assertEquals(4, stats.getTotal());
+        assertEquals(2, stats.getOverdue());
+        assertEquals(0.5, stats.getCompletionRate());
+        verify(taskRepository, never()).countStatsGroups();
+    }
+
+    @Test
+    void searchTasks_pagesAndSortsWithIdAsTiebreaker() {
+        when(taskRepository.findResponses(any(), any(), anyBoolean())).thenReturn(List.of(new TaskResponseDTO()));
+
+        List<TaskResponseDTO> result = taskService.searchTasks(new TaskSearchDTO(), 2, 5, "priorityLevel", "asc", true);
+
+        assertEquals(1, result.size());
+        verify(taskRepository).findResponses(any(), eq(PageRequest.of(2, 5, Sort.by("priorityLevel", "id").ascending())),
+                eq(true));
+    }
+
+    @Test
+    void searchTasks_throwsForInvertedRanges() {
+        TaskSearchDTO priorities = new TaskSearchDTO();
+        priorities.setMinPriority(4);
+        priorities.setMaxPriority(2);
+        TaskSearchDTO dueDates = new TaskSearchDTO();
+        dueDates.setDueFrom(LocalDate.of(2026, 2, 1));
+        dueDates.setDueTo(LocalDate.of(2026, 1, 1));
+
+        assertThrows(ApiException.class, () -> taskService.searchTasks(priorities, 0, 20, "createdAt", "desc", false));
+        assertThrows(ApiException.class, () -> taskService.searchTasks(dueDates, 0, 20, "createdAt", "desc", false));
+        verifyNoInteractions(taskRepository);
+    }
+
+    @Test
+    void searchTasks_throwsForInvalidStatusOrSortField() {
+        TaskSearchDTO search = new TaskSearchDTO();
+        search.setStatus(List.of("PENDING", "DONE"));
+
+        assertThrows(ApiException.class, () -> taskService.searchTasks(search, 0, 20, "createdAt", "desc", false));
+        assertThrows(ApiException.class,
+                () -> taskService.searchTasks(new TaskSearchDTO(), 0, 20, "owner", "desc", false));
+    }
+
     @Test
     void findTasksByPriorityLevel_throwsForOutOfRangeLevel() {
-        ApiException ex = assertThrows(ApiException.class, () -> taskService.findTasksByPriorityLevel(10));
+        ApiException ex = assertThrows(ApiException.class, () -> taskService.findTasksByPriorityLevel(10, false));
 
         assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
     }
 
     @Test
     void findTasksByDueDate_throwsForNullDate() {
-        ApiException ex = assertThrows(ApiException.class, () -> taskService.findTasksByDueDate(null));
+        ApiException ex = assertThrows(ApiException.class, () -> taskService.findTasksByDueDate(null, false));
 
         assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
     }
 
+    @Test
+    void findTasksDueBetween_throwsWithoutBoundsOrWithThemReversed() {
+        LocalDate day = LocalDate.of(2026, 3, 1);
+
+        assertThrows(ApiException.class, () -> taskService.findTasksDueBetween(null, null, false, 0, 20, false));
+        assertThrows(ApiException.class, () -> taskService.findTasksDueBetween(day, day.minusDays(1), false, 0, 20,
+                false));
+        verifyNoInteractions(taskRepository);
+    }
+
     @Test
     void updateTask_returnsUpdatedTaskWhenPresent() {
         Task existing = buildTask();
         TaskRequestDTO request = buildRequest();
         request.setTitle("Updated");
+        request.setStatus("completed");
         when(taskRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
-        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(taskRepository.saveAndFlush(any(Task.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
-        Optional<TaskResponseDTO> result = taskService.updateTask(existing.getId(), request);
+        Optional<TaskResponseDTO> result = taskService.updateTask(existing.getId(), request, null);
 
         assertTrue(result.isPresent());
         assertEquals("Updated", result.get().getTitle());
+        verify(taskStats).recordAfterCommit(
+                new TaskStatsGroup("PENDING", 3, false, LocalDate.of(2026, 3, 1), 1),
+                new TaskStatsGroup("COMPLETED", 3, false, LocalDate.of(2026, 3, 1), 1));
     }
 
     @Test
-    void deleteTask_returnsFalseWhenNotFound() {
-        when(taskRepository.existsById("id-1")).thenReturn(false);
+    void updateTask_withExpectedVersionRejectsAnOlderOne() {
+        Task existing = buildTask();
+        existing.setVersion(2L);
+        when(taskRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> taskService.updateTask(existing.getId(), buildRequest(), 1L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, ex.getHttpStatus());
+        verify(taskRepository, never()).saveAndFlush(any(Task.class));
+    }
+
+    @Test
+    void updateTask_withExpectedVersionTurnsALostRaceInto412() {
+        Task existing = buildTask();
+        existing.setVersion(1L);
+        when(taskRepository.findById(existing.getId())).thenReturn(Optional.of(existing));
+        when(taskRepository.saveAndFlush(any(Task.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Task.class, existing.getId()));
+
+        ApiException ex = assertThrows(ApiException.class,
+                () -> taskService.updateTask(existing.getId(), buildRequest(), 1L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, ex.getHttpStatus());
+        verify(taskStats, never()).recordAfterCommit(any(), any());
+    }
 
-        boolean result = taskService.deleteTask("id-1");
+    @Test
+    void findTaskVersion_answersFromTheCacheBeforeTheDatabase() {
+        Task existing = buildTask();
+        existing.setVersion(6L);
+        when(taskRepository.findById(ID_1)).thenReturn(Optional.of(existing));
+        when(taskRepository.findVersionById(ID_2)).thenReturn(Optional.of(2L));
+        taskService.findTaskById(ID_1);
+
+        assertEquals(Optional.of(6L), taskService.findTaskVersion(ID_1));
+        assertEquals(Optional.of(2L), taskService.findTaskVersion(ID_2));
+        verify(taskRepository, never()).findVersionById(ID_1);
+    }
+
+    @Test
+    void patchTask_updatesInPlaceAndReadsTheNewRowBack() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setStatus("COMPLETED");
+        Task updated = buildTask();
+        updated.setStatus("COMPLETED");
+        when(taskRepository.patch(eq(ID_1), eq(patch), any())).thenReturn(1);
+        when(taskRepository.findById(ID_1)).thenReturn(Optional.of(updated));
+
+        Optional<TaskResponseDTO> result = taskService.patchTask(ID_1, patch);
+
+        assertEquals("COMPLETED", result.orElseThrow().getStatus());
+        verify(taskCache).invalidateAfterCommit(ID_1);
+        verify(taskStats).markStaleAfterCommit();
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
+    @Test
+    void patchTask_leavesOldRowUnreadWhenNoCountedColumnChanges() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setTitle("Renamed");
+        when(taskRepository.patch(eq(ID_1), eq(patch), any())).thenReturn(1);
+        when(taskRepository.findById(ID_1)).thenReturn(Optional.of(buildTask()));
+
+        assertTrue(taskService.patchTask(ID_1, patch).isPresent());
+        verify(taskStats, never()).markStaleAfterCommit();
+        verify(taskStats, never()).recordAfterCommit(any(), any());
+    }
+
+    @Test
+    void patchTask_returnsEmptyWhenNoRowWasUpdated() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setDescription("Gone already");
+        when(taskRepository.patch(eq(ID_1), eq(patch), any())).thenReturn(0);
+
+        assertTrue(taskService.patchTask(ID_1, patch).isEmpty());
+        verify(taskRepository, never()).findById(anyString());
+    }
+
+    @Test
+    void patchTask_throwsForEmptyPatchBlankTitleOrARequiredFieldSentAsNull() {
+        TaskPatchDTO blankTitle = new TaskPatchDTO();
+        blankTitle.setTitle(" ");
+        TaskPatchDTO nullStatus = new TaskPatchDTO();
+        nullStatus.setStatus(null);
+
+        assertThrows(ApiException.class, () -> taskService.patchTask(ID_1, new TaskPatchDTO()));
+        assertThrows(ApiException.class, () -> taskService.patchTask(ID_1, blankTitle));
+        assertEquals(HttpStatus.BAD_REQUEST,
+                assertThrows(ApiException.class, () -> taskService.patchTask(ID_1, nullStatus)).getHttpStatus());
+        verify(taskRepository, never()).patch(anyString(), any(), any());
+    }
+
+    @Test
+    void updateTasks_walksChunksUntilAShortOneAndSumsAffectedRows() {
+        TaskBulkUpdateDTO update = new TaskBulkUpdateDTO();
+        update.setFilter(new TaskFilterDTO());
+        update.getFilter().setStatus("IN_PROGRESS");
+        update.getFilter().setDueBefore(LocalDate.of(2026, 3, 1));
+        update.setStatus("COMPLETED");
+        when(taskBulkWriter.getChunkSize()).thenReturn(2);
+        when(taskBulkWriter.findIds(update.getFilter(), null)).thenReturn(List.of("a", "b"));
+        when(taskBulkWriter.findIds(update.getFilter(), "b")).thenReturn(List.of("c"));
+        when(taskBulkWriter.update(eq(List.of("a", "b")), eq(update.getFilter()), eq(update), any())).thenReturn(2);
+        when(taskBulkWriter.update(eq(List.of("c")), eq(update.getFilter()), eq(update), any())).thenReturn(0);
+
+        TaskBulkResultDTO result = taskService.updateTasks(update);
+
+        assertEquals(2, result.getAffected());
+        assertEquals(2, result.getChunks());
+        verify(taskCache).invalidate("a");
+        verify(taskCache).invalidate("c");
+    }
+
+    @Test
+    void updateTasks_throwsForEmptyFilter() {
+        TaskBulkUpdateDTO update = new TaskBulkUpdateDTO();
+        update.setFilter(new TaskFilterDTO());
+        update.setStatus("COMPLETED");
+
+        ApiException ex = assertThrows(ApiException.class, () -> taskService.updateTasks(update));
+
+        assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+        verifyNoInteractions(taskBulkWriter);
+    }
+
+    @Test
+    void updateTasks_throwsWhenNothingToChange() {
+        TaskBulkUpdateDTO update = new TaskBulkUpdateDTO();
+        update.setFilter(new TaskFilterDTO());
+        update.getFilter().setStatus("PENDING");
+
+        assertThrows(ApiException.class, () -> taskService.updateTasks(update));
+        verifyNoInteractions(taskBulkWriter);
+    }
+
+    @Test
+    void deleteTasks_stopsWhenNoIdsMatch() {
+        TaskFilterDTO filter = new TaskFilterDTO();
+        filter.setStatus("completed");
+        when(taskBulkWriter.findIds(eq(filter), isNull())).thenReturn(List.of());
+
+        TaskBulkResultDTO result = taskService.deleteTasks(filter);
+
+        assertEquals(0, result.getAffected());
+        assertEquals(0, result.getChunks());
+        verify(taskBulkWriter, never()).delete(anyList(), any());
+    }
+
+    @Test
+    void deleteTasks_throwsForInvalidStatus() {
+        TaskFilterDTO filter = new TaskFilterDTO();
+        filter.setStatus("DONE");
+
+        assertThrows(ApiException.class, () -> taskService.deleteTasks(filter));
+        verifyNoInteractions(taskBulkWriter);
+    }
+
+    @Test
+    void deleteTask_returnsFalseWhenNotFound() {
+        boolean result = taskService.deleteTask(ID_1, null);
 
         assertFalse(result);
-        verify(taskRepository, never()).deleteById(anyString());
+        verify(taskRepository).deleteByIdReturningCount(ID_1);
+        verify(taskCache, never()).invalidateAfterCommit(anyString());
+        verify(taskStats, never()).markStaleAfterCommit();
     }
 
     @Test
     void deleteTask_returnsTrueWhenFound() {
-        when(taskRepository.existsById("id-1")).thenReturn(true);
+        when(taskRepository.deleteByIdReturningCount(ID_1)).thenReturn(1);
 
-        boolean result = taskService.deleteTask("id-1");
+        boolean result = taskService.deleteTask(ID_1, null);
 
         assertTrue(result);
-        verify(taskRepository).deleteById("id-1");
+        verify(taskCache).invalidateAfterCommit(ID_1);
+        verify(taskStats).markStaleAfterCommit();
+        verify(taskRepository, never()).existsById(anyString());
+        verify(taskRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void deleteTask_withExpectedVersionDeletesOnlyThatVersion() {
+        TaskStatsGroup deleted = TaskStatsGroup.of(buildTask());
+        when(taskRepository.findStatsGroupByIdAndVersion(ID_1, 3L)).thenReturn(Optional.of(deleted));
+        when(taskRepository.deleteByIdAndVersion(ID_1, 3L)).thenReturn(1);
+
+        assertTrue(taskService.deleteTask(ID_1, 3L));
+
+        verify(taskStats).recordAfterCommit(deleted, null);
+        verify(taskRepository, never()).deleteByIdReturningCount(anyString());
+    }
+
+    @Test
+    void deleteTask_withExpectedVersionRejectsAChangedTaskAndIgnoresAMissingOne() {
+        when(taskRepository.existsById(ID_1)).thenReturn(true);
+
+        ApiException ex = assertThrows(ApiException.class, () -> taskService.deleteTask(ID_1, 3L));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, ex.getHttpStatus());
+        assertFalse(taskService.deleteTask(ID_2, 3L));
+        verify(taskRepository, never()).deleteByIdAndVersion(anyString(), anyLong());
     }
 
     private TaskRequestDTO buildRequest() {
@@ -170,7 +742,7 @@ class TaskServiceImplTest {
 
     private Task buildTask() {
         Task task = new Task();
-        task.setId("id-1");
+        task.setId(ID_1);
         task.setTitle("Task 1");
         task.setDescription("Desc");
         task.setPriorityLevel(3);
@@ -179,4 +751,13 @@ class TaskServiceImplTest {
         task.setIsCompleted(false);
         return task;
     }
+
+    private TaskServiceImpl service(boolean queryCacheEnabled) {
+        return new TaskServiceImpl(taskRepository, entityManager, taskCache, taskBatchWriter, taskBulkWriter, validator,
+                taskStats, taskWriteBehind, taskChangeFeed, taskChangeStream, taskArchiveRepository, queryCacheEnabled);
+    }
+
+    private TaskResponseDTO response(String id) {
+        return new TaskResponseDTO(id, "Task 1", 3, "PENDING", null, false, LocalDateTime.of(2026, 3, 1, 9, 0), null, 0L);
+    }
 }
@@ -0,0 +1,246 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.cache.TaskCache;
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskCursorPageDTO;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
+import com.brayden.todolistapi.dto.TaskRequestDTO;
+import com.brayden.todolistapi.dto.TaskResponseDTO;
+import com.brayden.todolistapi.dto.TaskSearchDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.model.TaskIds;
+import com.brayden.todolistapi.repository.SqlCapture;
+import com.brayden.todolistapi.stats.TaskStats;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// counts the statements the service sends for one call, against H2 in MySQL mode
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.brayden.todolistapi.repository.SqlCapture")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import({TaskServiceImpl.class, TaskCache.class, TaskBatchWriter.class, TaskBulkWriter.class,
+        LocalValidatorFactoryBean.class, TaskStats.class, TaskWriteBehind.class,
+        TaskChangeFeed.class, TaskChangeStream.class})
+class TaskServiceQueryCountTest {
+    private static final String ID_1 = "00000000-0000-7000-8000-000000000001";
+    private static final String ID_2 = "00000000-0000-7000-8000-000000000002";
+    private static final String ID_3 = "00000000-0000-7000-8000-000000000003";
+    private static final String ID_4 = "00000000-0000-7000-8000-000000000004";
+    private static final String MISSING_ID = "00000000-0000-7000-8000-0000000000ff";
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("DELETE FROM tasks");
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority_level, created_at, updated_at) "
+                + "VALUES (?, 'Task 1', 'PENDING', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)", TaskIds.toBytes(ID_1));
+        SqlCapture.clear();
+    }
+
+    @Test
+    void deleteTask_sendsOneDeleteAndItsTombstoneWhenFound() {
+        assertTrue(taskService.deleteTask(ID_1, null));
+        entityManager.flush(); // the tombstone's insert would otherwise wait for the commit
+
+        List<String> statements = SqlCapture.statements();
+        assertEquals(2, statements.size(), statements::toString);
+        assertTrue(statements.get(0).toLowerCase().startsWith("delete"), statements::toString);
+        assertTrue(statements.get(1).toLowerCase().startsWith("insert into task_tombstones"), statements::toString);
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Integer.class));
+    }
+
+    @Test
+    void deleteTask_sendsOneDeleteThenLooksInTheArchiveWhenNotFound() {
+        assertFalse(taskService.deleteTask(MISSING_ID, null));
+
+        List<String> statements = SqlCapture.statements();
+        assertEquals(2, statements.size(), statements::toString);
+        assertTrue(statements.get(0).toLowerCase().startsWith("delete"), statements::toString);
+        assertArchiveLookup(statements.get(1));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Integer.class));
+    }
+
+    @Test
+    void deleteTask_withExpectedVersionTakesNoLockAndLeavesANewerRowAlone() {
+        jdbcTemplate.update("UPDATE tasks SET version = 2 WHERE id = ?", (Object) TaskIds.toBytes(ID_1));
+        SqlCapture.clear();
+
+        assertThrows(ApiException.class, () -> taskService.deleteTask(ID_1, 1L));
+
+        SqlCapture.statements().forEach(sql -> assertFalse(sql.toLowerCase().contains("for update"), sql));
+        assertEquals(1, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Integer.class));
+
+        assertTrue(taskService.deleteTask(ID_1, 2L));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM tasks", Integer.class));
+    }
+
+    @Test
+    void findTaskVersion_selectsOnlyTheVersion() {
+        assertEquals(0L, taskService.findTaskVersion(ID_1).orElseThrow());
+
+        String select = SqlCapture.last().toLowerCase();
+        assertTrue(select.contains("version"), select);
+        assertFalse(select.contains("title") || select.contains("description"), select);
+    }
+
+    @Test
+    void findAllTasksPagedAndByCursor_readProjectionsWithoutDescriptionForSummaries() {
+        jdbcTemplate.update("UPDATE tasks SET description = 'long text' WHERE id = ?", (Object) TaskIds.toBytes(ID_1));
+        jdbcTemplate.update("INSERT INTO tasks (id, title, description, status, priority_level, created_at, updated_at) "
+                + "VALUES (?, 'Task 2', 'more text', 'PENDING', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                TaskIds.toBytes(ID_2));
+        SqlCapture.clear();
+
+        List<TaskResponseDTO> paged = taskService.findAllTasks(0, 10, "title", "asc", true);
+
+        assertEquals(List.of(ID_1, ID_2), paged.stream().map(TaskResponseDTO::getId).toList());
+        assertNull(paged.get(0).getDescription());
+        assertEquals(1, SqlCapture.statements().size(), SqlCapture.statements()::toString);
+        assertFalse(SqlCapture.last().contains("description"), SqlCapture.last());
+
+        SqlCapture.clear();
+        TaskCursorPageDTO first = taskService.findAllTasksByCursor(null, 1, "title", "asc", true);
+        TaskCursorPageDTO second = taskService.findAllTasksByCursor(first.getNextCursor(), 1, "title", "asc", true);
+
+        assertEquals(ID_1, first.getTasks().get(0).getId());
+        assertEquals(ID_2, second.getTasks().get(0).getId());
+        assertNull(second.getTasks().get(0).getDescription());
+        assertNull(second.getNextCursor());
+        SqlCapture.statements().forEach(sql -> assertFalse(sql.contains("description"), sql));
+    }
+
+    @Test
+    void findAllTasksByCursor_readsTheDescriptionItSortsByButStillLeavesItOutOfSummaries() {
+        jdbcTemplate.update("UPDATE tasks SET description = 'a' WHERE id = ?", (Object) TaskIds.toBytes(ID_1));
+        jdbcTemplate.update("INSERT INTO tasks (id, title, description, status, priority_level, created_at, updated_at) "
+                + "VALUES (?, 'Task 2', 'b', 'PENDING', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                TaskIds.toBytes(ID_2));
+
+        TaskCursorPageDTO first = taskService.findAllTasksByCursor(null, 1, "description", "asc", true);
+        TaskCursorPageDTO second = taskService.findAllTasksByCursor(first.getNextCursor(), 1, "description", "asc",
+                true);
+
+        assertEquals(ID_1, first.getTasks().get(0).getId());
+        assertNull(first.getTasks().get(0).getDescription());
+        assertEquals(ID_2, second.getTasks().get(0).getId());
+    }
+
+    @Test
+    void searchTasks_combinesCriteriaInOneParameterizedSelect() {
+        jdbcTemplate.update("INSERT INTO tasks (id, title, status, priority_level, created_at, updated_at) VALUES "
+                + "(?, 'Task 2', 'IN_PROGRESS', 4, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), "
+                + "(?, 'Task 3', 'COMPLETED', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP), "
+                + "(?, 'Chore 4', 'PENDING', 3, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)",
+                TaskIds.toBytes(ID_2), TaskIds.toBytes(ID_3), TaskIds.toBytes(ID_4));
+        TaskSearchDTO search = new TaskSearchDTO();
+        search.setStatus(List.of("pending", "IN_PROGRESS"));
+        search.setMinPriority(3);
+        search.setTitle("Task");
+
+        List<TaskResponseDTO> result = taskService.searchTasks(search, 0, 20, "id", "asc", false);
+
+        assertEquals(List.of(ID_1, ID_2), result.stream().map(TaskResponseDTO::getId).toList());
+        String select = SqlCapture.last();
+        assertEquals(1, SqlCapture.statements().size(), SqlCapture.statements()::toString);
+        assertFalse(select.contains("PENDING") || select.contains("Task"), select);
+
+        // other values for the same criteria send the very same SQL, so the prepared statement is reused
+        search.setStatus(List.of("COMPLETED", "PENDING"));
+        search.setMinPriority(1);
+        search.setTitle("Chore");
+        taskService.searchTasks(search, 0, 20, "id", "asc", false);
+
+        assertEquals(select, SqlCapture.last());
+    }
+
+    @Test
+    void patchTask_updatesOnlyGivenColumnsWithoutReadingFirst() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setStatus("completed");
+
+        TaskResponseDTO result = taskService.patchTask(ID_1, patch).orElseThrow();
+
+        List<String> statements = SqlCapture.statements();
+        assertEquals(2, statements.size(), statements::toString);
+        String update = statements.get(0).toLowerCase().replace(" ", "");
+        assertTrue(update.startsWith("update"), update);
+        assertTrue(update.contains("status=") && update.contains("updated_at="), update);
+        assertFalse(update.contains("title=") || update.contains("description="), update);
+        assertTrue(statements.get(1).toLowerCase().startsWith("select"), statements::toString);
+        assertEquals("COMPLETED", result.getStatus());
+        assertEquals("Task 1", result.getTitle());
+        assertEquals(1L, result.getVersion());
+    }
+
+    @Test
+    void patchTask_clearsFieldsSentAsNullAndLeavesMissingOnes() {
+        jdbcTemplate.update("UPDATE tasks SET description = 'Notes', due_date = '2026-03-01'");
+        TaskPatchDTO patch = JsonMapper.builder().build()
+                .readValue("{\"description\": null, \"dueDate\": null}", TaskPatchDTO.class);
+
+        TaskResponseDTO result = taskService.patchTask(ID_1, patch).orElseThrow();
+
+        String update = SqlCapture.statements().get(0).toLowerCase().replace(" ", "");
+        assertTrue(update.contains("description=") && update.contains("due_date="), update);
+        assertFalse(update.contains("title=") || update.contains("status="), update);
+        assertNull(result.getDescription());
+        assertNull(result.getDueDate());
+        assertEquals("Task 1", result.getTitle());
+    }
+
+    @Test
+    void updateTask_readsWithoutLocking() {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle("Replaced");
+        request.setPriorityLevel(2);
+
+        assertEquals("Replaced", taskService.updateTask(ID_1, request, null).orElseThrow().getTitle());
+
+        List<String> statements = SqlCapture.statements();
+        assertEquals(2, statements.size(), statements::toString);
+        assertTrue(statements.get(0).toLowerCase().startsWith("select"), statements::toString);
+        assertFalse(statements.get(0).toLowerCase().contains("for update"), statements::toString);
+        assertTrue(statements.get(1).toLowerCase().startsWith("update"), statements::toString);
+    }
+
+    @Test
+    void patchTask_returnsEmptyForMissingTaskAfterOneUpdateAndAnArchiveLookup() {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        patch.setIsCompleted(true);
+
+        assertTrue(taskService.patchTask(MISSING_ID, patch).isEmpty());
+
+        List<String> statements = SqlCapture.statements();
+        assertEquals(2, statements.size(), statements::toString);
+        assertTrue(statements.get(0).toLowerCase().startsWith("update"), statements::toString);
+        assertArchiveLookup(statements.get(1));
+    }
+
+    // a miss is the only path that pays for it, by primary key
+    private static void assertArchiveLookup(String sql) {
+        String select = sql.toLowerCase();
+        assertTrue(select.startsWith("select") && select.contains("from tasks_archive"), sql);
+    }
+}
@@ -0,0 +1,165 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.cache.TaskCache;
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.dto.TaskPatchDTO;
+import com.brayden.todolistapi.dto.TaskRequestDTO;
+import com.brayden.todolistapi.dto.TaskStatsDTO;
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.repository.TaskRepository;
+import com.brayden.todolistapi.stats.TaskStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// writers race each other, the write-behind writer and the reconciler on real transactions,
+// the counters must still match a fresh GROUP BY
+@DataJpaTest(properties = "tasks.write-behind.enabled=true")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({TaskServiceImpl.class, TaskCache.class, TaskBatchWriter.class, TaskBulkWriter.class,
+        LocalValidatorFactoryBean.class, TaskStats.class, TaskWriteBehind.class,
+        TaskChangeFeed.class, TaskChangeStream.class})
+class TaskStatsConcurrencyTest {
+    private static final String[] STATUSES = {"PENDING", "IN_PROGRESS", "COMPLETED"};
+    private static final int WRITERS = 4;
+    private static final int OPERATIONS_PER_WRITER = 150;
+
+    @Autowired
+    private TaskServiceImpl taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TaskStats taskStats;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    @AfterEach
+    void clear() {
+        jdbcTemplate.update("DELETE FROM tasks");
+    }
+
+    @Test
+    void countersMatchAGroupByAfterConcurrentWrites() throws Exception {
+        assertTrue(taskStats.reconcile(taskRepository::countStatsGroups));
+        List<String> ids = Collections.synchronizedList(new ArrayList<>());
+        for (int i = 0; i < 20; i++) {
+            ids.add(taskService.createTask(request(i)).getId());
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS + 1);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        try {
+            Future<?> reconciler = executor.submit(() -> {
+                while (writing.get()) {
+                    taskStats.reconcile(taskRepository::countStatsGroups);
+                }
+            });
+            List<Future<?>> writers = new ArrayList<>();
+            for (int w = 0; w < WRITERS; w++) {
+                writers.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < OPERATIONS_PER_WRITER; i++) {
+                        String id = ids.isEmpty() ? null : ids.get(random.nextInt(ids.size()));
+                        switch (id == null ? 0 : random.nextInt(5)) {
+                            case 0 -> ids.add(taskService.createTask(request(random.nextInt(1000))).getId());
+                            case 4 -> ids.add(taskService.enqueueTask(request(random.nextInt(1000))).getId());
+                            case 1 -> {
+                                try {
+                                    taskService.updateTask(id, request(random.nextInt(1000)), null);
+                                } catch (ApiException ex) {
+                                    // lost the race to a patch or delete of the same task
+                                    assertEquals(HttpStatus.CONFLICT, ex.getHttpStatus());
+                                }
+                            }
+                            case 2 -> taskService.patchTask(id, patch(random.nextInt(1000)));
+                            default -> {
+                                if (taskService.deleteTask(id, null)) {
+                                    ids.remove(id);
+                                }
+                            }
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            while (taskService.getWriteBehindStats().getPending() > 0) {
+                Thread.sleep(10);
+            }
+            writing.set(false);
+            reconciler.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+        TaskStats fresh = new TaskStats();
+        assertTrue(fresh.reconcile(taskRepository::countStatsGroups));
+        TaskStatsDTO expected = fresh.snapshot(LocalDate.now());
+        assertEquals(0, taskService.getWriteBehindStats().getFailed());
+        assertEquals(ids.size(), expected.getTotal());
+        // however the race went, counters that don't say they're stale are exact...
+        if (!taskStats.isStale()) {
+            assertSameCounts(expected, taskStats.snapshot(LocalDate.now()));
+        }
+        // ...and the recount a stale flag asks for makes them so; nothing writes any more, so it is exact either way
+        assertTrue(taskStats.reconcile(taskRepository::countStatsGroups));
+        assertFalse(taskStats.isStale());
+        assertSameCounts(expected, taskStats.snapshot(LocalDate.now()));
+    }
+
+    private static void assertSameCounts(TaskStatsDTO expected, TaskStatsDTO counted) {
+        assertEquals(expected.getTotal(), counted.getTotal());
+        assertEquals(expected.getByStatus(), counted.getByStatus());
+        assertEquals(expected.getByPriority(), counted.getByPriority());
+        assertEquals(expected.getCompleted(), counted.getCompleted());
+        assertEquals(expected.getOverdue(), counted.getOverdue());
+    }
+
+    private static TaskRequestDTO request(int seed) {
+        TaskRequestDTO request = new TaskRequestDTO();
+        request.setTitle("Task " + seed);
+        request.setPriorityLevel(seed % 5 + 1);
+        request.setStatus(STATUSES[seed % STATUSES.length]);
+        request.setIsCompleted(seed % 3 == 2);
+        request.setDueDate(seed % 4 == 0 ? null : LocalDate.now().plusDays(seed % 21 - 10));
+        return request;
+    }
+
+    private static TaskPatchDTO patch(int seed) {
+        TaskPatchDTO patch = new TaskPatchDTO();
+        if (seed % 2 == 0) {
+            patch.setStatus(STATUSES[seed % STATUSES.length]);
+            patch.setIsCompleted(seed % 3 == 0);
+        } else {
+            patch.setPriorityLevel(seed % 5 + 1);
+            patch.setDueDate(LocalDate.now().plusDays(seed % 11 - 5));
+        }
+        return patch;
+    }
+}
@@ -0,0 +1,171 @@
+package com.brayden.todolistapi.service.impl;
+
+import com.brayden.todolistapi.cache.TaskCache;
+import com.brayden.todolistapi.changes.TaskChangeStream;
+import com.brayden.todolistapi.exception.ApiException;
+import com.brayden.todolistapi.model.Task;
+import com.brayden.todolistapi.stats.TaskStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TaskWriteBehindTest {
+    @Mock
+    private TaskBatchWriter taskBatchWriter;
+
+    @Mock
+    private TaskChangeStream taskChangeStream;
+
+    private final TaskCache taskCache = new TaskCache(100, Duration.ofMinutes(1), Duration.ofSeconds(5));
+    private final TaskStats taskStats = new TaskStats();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<List<String>> inserted = new ArrayList<>();
+    private TaskWriteBehind writeBehind;
+
+    @AfterEach
+    void stop() {
+        release.countDown();
+        if (writeBehind != null) {
+            writeBehind.stop();
+        }
+    }
+
+    @Test
+    void drainsWhatQueuedUpWhileTheLastChunkWasWritten() {
+        writeBehind = started(10);
+
+        writeBehind.enqueue(task("id-1"));
+        awaitInserts(1);
+        for (int i = 2; i <= 6; i++) {
+            writeBehind.enqueue(task("id-" + i));
+        }
+        assertEquals(TaskWriteBehind.QUEUED, writeBehind.status("id-6").getStatus());
+        release.countDown();
+        writeBehind.stop();
+
+        assertEquals(List.of(List.of("id-1"), List.of("id-2", "id-3"), List.of("id-4", "id-5"), List.of("id-6")),
+                inserted);
+        assertNull(writeBehind.status("id-6"));
+        assertEquals(6, writeBehind.stats().getWritten());
+        assertEquals(0, writeBehind.stats().getPending());
+        assertEquals(6, taskStats.snapshot(LocalDate.now()).getTotal());
+    }
+
+    @Test
+    void rejectsWith429WhenTheQueueIsFull() {
+        writeBehind = started(1);
+        writeBehind.enqueue(task("id-1"));
+        awaitInserts(1);
+        writeBehind.enqueue(task("id-2"));
+
+        ApiException ex = assertThrows(ApiException.class, () -> writeBehind.enqueue(task("id-3")));
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, ex.getHttpStatus());
+        assertNull(writeBehind.status("id-3"));
+        assertEquals(1, writeBehind.stats().getRejected());
+        assertEquals(2, writeBehind.stats().getAccepted());
+    }
+
+    @Test
+    void retriesAFailedChunkOneTaskAtATime() {
+        writeBehind = started(10);
+        writeBehind.enqueue(task("id-1"));
+        awaitInserts(1);
+        Task retried = task("id-2");
+        writeBehind.enqueue(retried);
+        writeBehind.enqueue(task("bad"));
+        writeBehind.enqueue(task("id-3"));
+        release.countDown();
+        writeBehind.stop();
+
+        assertEquals(TaskWriteBehind.FAILED, writeBehind.status("bad").getStatus());
+        assertTrue(writeBehind.status("bad").getError().contains("duplicate"));
+        assertNull(writeBehind.status("id-2"));
+        assertNull(retried.getVersion()); // reset after the failed chunk, so it is persisted rather than merged
+        assertEquals(3, writeBehind.stats().getWritten());
+        assertEquals(1, writeBehind.stats().getFailed());
+    }
+
+    @Test
+    void refusesTasksAfterStopAndWhenNeverStarted() {
+        writeBehind = started(10);
+        writeBehind.stop();
+
+        ApiException ex = assertThrows(ApiException.class, () -> writeBehind.enqueue(task("id-1")));
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getHttpStatus());
+        assertFalse(writeBehind.isRunning());
+
+        TaskWriteBehind disabled = new TaskWriteBehind(taskBatchWriter, taskCache, taskStats, taskChangeStream, false, 10,
+                Duration.ofSeconds(5), Duration.ofMinutes(1));
+        disabled.start();
+        assertFalse(disabled.isRunning());
+    }
+
+    private TaskWriteBehind started(int capacity) {
+        when(taskBatchWriter.getChunkSize()).thenReturn(2);
+        TaskWriteBehind started = new TaskWriteBehind(taskBatchWriter, taskCache, taskStats, taskChangeStream, true, capacity,
+                Duration.ofSeconds(5), Duration.ofMinutes(1));
+        assertTrue(taskStats.reconcile(List::of));
+        blockFirstInsert(); // stubbed before the writer thread exists
+        started.start();
+        assertTrue(started.isRunning());
+        return started;
+    }
+
+    // holds the writer inside its first insert until release, so the test can fill the queue behind it
+    private void blockFirstInsert() {
+        lenient().doAnswer(invocation -> {
+            List<Task> chunk = invocation.getArgument(0);
+            if (chunk.stream().anyMatch(task -> task.getId().equals("bad"))) {
+                chunk.forEach(task -> task.setVersion(0L));
+                throw new IllegalStateException("duplicate key");
+            }
+            synchronized (inserted) {
+                inserted.add(chunk.stream().map(Task::getId).toList());
+                inserted.notifyAll();
+            }
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return null;
+        }).when(taskBatchWriter).insert(anyList());
+    }
+
+    private void awaitInserts(int count) {
+        synchronized (inserted) {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (inserted.size() < count && System.currentTimeMillis() < deadline) {
+                try {
+                    inserted.wait(100);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+        assertEquals(count, inserted.size());
+    }
+
+    private static Task task(String id) {
+        Task task = new Task();
+        task.setId(id);
+        task.setTitle("Task " + id);
+        task.setPriorityLevel(3);
+        return task;
+    }
+}
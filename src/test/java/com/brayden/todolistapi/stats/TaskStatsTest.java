@@ -0,0 +1,172 @@
+package com.brayden.todolistapi.stats;
+
+import com.brayden.todolistapi.dto.TaskStatsDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TaskStatsTest {
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 10);
+
+    @Test
+    void recordAfterCommit_movesTasksBetweenBuckets() {
+        TaskStats stats = reconciled();
+        TaskStatsGroup open = group("PENDING", 2, false, TODAY.minusDays(1));
+        TaskStatsGroup done = group("COMPLETED", 4, true, TODAY.minusDays(1));
+
+        stats.recordAfterCommit(null, open);
+        stats.recordAfterCommit(null, group("IN_PROGRESS", 2, false, null));
+        stats.recordAfterCommit(open, done);
+
+        TaskStatsDTO snapshot = stats.snapshot(TODAY);
+        assertEquals(2, snapshot.getTotal());
+        assertEquals(Map.of("COMPLETED", 1L, "IN_PROGRESS", 1L), snapshot.getByStatus());
+        assertEquals(Map.of(2, 1L, 4, 1L), snapshot.getByPriority());
+        assertEquals(1, snapshot.getCompleted());
+        assertEquals(0, snapshot.getOverdue());
+        assertEquals(0.5, snapshot.getCompletionRate());
+
+        stats.recordAfterCommit(done, null);
+
+        assertEquals(Map.of("IN_PROGRESS", 1L), stats.snapshot(TODAY).getByStatus());
+    }
+
+    @Test
+    void recordAfterCommit_appliesOnlyCommittedTransactions() {
+        TaskStats stats = reconciled();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stats.recordAfterCommit(null, group("PENDING", 1, false, null));
+            assertEquals(0, stats.snapshot(TODAY).getTotal());
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(0, stats.snapshot(TODAY).getTotal());
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            stats.recordAfterCommit(null, group("PENDING", 1, false, null));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(1, stats.snapshot(TODAY).getTotal());
+    }
+
+    @Test
+    void snapshot_keepsOverdueCurrentAcrossWritesAndDays() {
+        TaskStats stats = reconciled();
+        TaskStatsGroup dueYesterday = group("PENDING", 3, false, TODAY.minusDays(1));
+        stats.recordAfterCommit(null, dueYesterday);
+        stats.recordAfterCommit(null, group("PENDING", 3, false, TODAY));
+        stats.recordAfterCommit(null, group("COMPLETED", 3, true, TODAY.minusDays(5)));
+
+        assertEquals(1, stats.snapshot(TODAY).getOverdue());
+
+        stats.recordAfterCommit(null, group("IN_PROGRESS", 3, false, TODAY.minusDays(3)));
+        stats.recordAfterCommit(dueYesterday, group("COMPLETED", 3, true, TODAY.minusDays(1)));
+
+        assertEquals(1, stats.snapshot(TODAY).getOverdue());
+        assertEquals(2, stats.snapshot(TODAY.plusDays(1)).getOverdue());
+    }
+
+    @Test
+    void reconcile_replacesCountersWithTheCount() {
+        TaskStats stats = reconciled();
+        stats.recordAfterCommit(null, group("PENDING", 1, false, null));
+
+        assertTrue(stats.reconcile(() -> List.of(new TaskStatsGroup("COMPLETED", 5, true, null, 3))));
+
+        TaskStatsDTO snapshot = stats.snapshot(TODAY);
+        assertEquals(3, snapshot.getTotal());
+        assertEquals(Map.of("COMPLETED", 3L), snapshot.getByStatus());
+        assertNotNull(snapshot.getReconciledAt());
+        assertFalse(stats.isStale());
+    }
+
+    @Test
+    void reconcile_addsWritesAppliedWhileTheCountRuns() {
+        TaskStats stats = reconciled();
+        TaskStatsGroup done = group("COMPLETED", 5, true, null);
+
+        assertTrue(stats.reconcile(() -> {
+            // both commit after the count read its rows
+            stats.recordAfterCommit(null, group("PENDING", 1, false, null));
+            stats.recordAfterCommit(done, null);
+            return List.of(new TaskStatsGroup("COMPLETED", 5, true, null, 3));
+        }));
+
+        TaskStatsDTO snapshot = stats.snapshot(TODAY);
+        assertEquals(3, snapshot.getTotal());
+        assertEquals(Map.of("COMPLETED", 2L, "PENDING", 1L), snapshot.getByStatus());
+        assertEquals(2, snapshot.getCompleted());
+        // had they committed just before it, the count would hold them too; the next reconcile settles it
+        assertTrue(stats.isStale());
+    }
+
+    @Test
+    void reconcile_isDoubleCountFreeOnlyWhenNoWriteOverlapsIt() {
+        TaskStats stats = reconciled();
+        TaskStatsGroup pending = group("PENDING", 1, false, null);
+
+        // committed before the GROUP BY read its rows, applied only after it ended: in the count, and then once more
+        stats.beginWrite();
+        assertTrue(stats.reconcile(() -> List.of(pending)));
+        stats.endWrite(List.of(pending), false);
+
+        assertEquals(2, stats.snapshot(TODAY).getTotal());
+        assertTrue(stats.isStale());
+        assertTrue(stats.reconcile(() -> List.of(pending)));
+        assertEquals(1, stats.snapshot(TODAY).getTotal());
+        assertFalse(stats.isStale());
+    }
+
+    @Test
+    void reconcile_staysStaleWhenAWriteDuringTheCountDidNotSayWhatItChanged() {
+        TaskStats stats = reconciled();
+
+        assertTrue(stats.reconcile(() -> {
+            stats.beginWrite();
+            stats.endWrite(List.of(), true);
+            return List.of();
+        }));
+
+        assertTrue(stats.isStale());
+        assertTrue(stats.reconcile(List::of));
+        assertFalse(stats.isStale());
+    }
+
+    @Test
+    void reconcile_declinesWhileAnotherCountRuns() {
+        TaskStats stats = new TaskStats();
+
+        assertTrue(stats.reconcile(() -> {
+            assertFalse(stats.reconcile(List::of));
+            return List.of(group("PENDING", 1, false, null));
+        }));
+
+        assertEquals(1, stats.snapshot(TODAY).getTotal());
+        assertNotNull(stats.getReconciledAt());
+    }
+
+    private static TaskStats reconciled() {
+        TaskStats stats = new TaskStats();
+        assertTrue(stats.isStale());
+        assertTrue(stats.reconcile(List::of));
+        return stats;
+    }
+
+    private static TaskStatsGroup group(String status, int priorityLevel, boolean completed, LocalDate dueDate) {
+        return new TaskStatsGroup(status, priorityLevel, completed, dueDate, 1);
+    }
+}
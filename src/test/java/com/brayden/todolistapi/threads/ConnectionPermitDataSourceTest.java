@@ -0,0 +1,74 @@
+package com.brayden.todolistapi.threads;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionPermitDataSourceTest {
+    @Mock
+    private DataSource pool;
+
+    @Mock
+    private Connection connection;
+
+    @Test
+    void closingTheConnectionReturnsThePermitOnce() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 2, Duration.ofMillis(50));
+
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection();
+        assertEquals(0, dataSource.getAvailablePermits());
+
+        first.close();
+        first.close();
+
+        assertEquals(1, dataSource.getAvailablePermits());
+        verify(connection, times(2)).close();
+    }
+
+    @Test
+    void givesUpAfterTheTimeoutWhenEveryPermitIsTaken() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, Duration.ofMillis(50));
+        dataSource.getConnection();
+
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        verify(pool, times(1)).getConnection();
+    }
+
+    @Test
+    void returnsThePermitWhenThePoolFails() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool closed"));
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, Duration.ofMillis(50));
+
+        assertThrows(SQLException.class, dataSource::getConnection);
+
+        assertEquals(1, dataSource.getAvailablePermits());
+    }
+
+    @Test
+    void passesEverythingElseToThePooledConnection() throws SQLException {
+        when(pool.getConnection()).thenReturn(connection);
+        when(connection.getAutoCommit()).thenReturn(false);
+        ConnectionPermitDataSource dataSource = new ConnectionPermitDataSource(pool, 1, Duration.ofMillis(50));
+
+        Connection permitted = dataSource.getConnection();
+
+        assertFalse(permitted.getAutoCommit());
+        assertEquals(permitted, permitted);
+        assertNotEquals(permitted, connection);
+    }
+}